@@ -0,0 +1,103 @@
+package com.virtuslab.gitmachete.backend.api;
+
+import java.util.Objects;
+
+import io.vavr.collection.LinkedHashSet;
+import io.vavr.collection.Set;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.val;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Structural difference between two snapshots, see {@link IGitMacheteRepositorySnapshot#diff}.
+ * Branches are matched by name; the sets of managed branches retain the order of the branches in the machete file.
+ * <br>
+ * If a branch has pending statuses (see {@link IManagedBranchSnapshot#hasPendingStatuses}) in exactly one of the snapshots,
+ * all its statuses are considered changed. If it has pending statuses in both snapshots, none of its statuses is.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString
+public final class GitMacheteRepositorySnapshotDiff {
+  private final Set<String> addedBranchNames;
+  private final Set<String> removedBranchNames;
+  /** Branches managed in both snapshots, but with a different parent (including a change from/to a root branch). */
+  private final Set<String> reparentedBranchNames;
+  private final Set<String> branchNamesWithChangedSyncToParentStatus;
+  private final Set<String> branchNamesWithChangedRelationToRemote;
+  private final Set<String> branchNamesWithChangedPointedCommit;
+  private final Set<String> branchNamesWithChangedStatusHookOutput;
+  /** Branches skipped (see {@link IGitMacheteRepositorySnapshot#getSkippedBranchNames}) just in the current snapshot. */
+  private final Set<String> newlySkippedBranchNames;
+  /** Branches duplicated (see {@link IGitMacheteRepositorySnapshot#getDuplicatedBranchNames}) just in the current snapshot. */
+  private final Set<String> newlyDuplicatedBranchNames;
+
+  public static GitMacheteRepositorySnapshotDiff between(
+      IGitMacheteRepositorySnapshot previous,
+      IGitMacheteRepositorySnapshot current) {
+    Set<String> addedBranchNames = LinkedHashSet.empty();
+    Set<String> reparentedBranchNames = LinkedHashSet.empty();
+    Set<String> branchNamesWithChangedSyncToParentStatus = LinkedHashSet.empty();
+    Set<String> branchNamesWithChangedRelationToRemote = LinkedHashSet.empty();
+    Set<String> branchNamesWithChangedPointedCommit = LinkedHashSet.empty();
+    Set<String> branchNamesWithChangedStatusHookOutput = LinkedHashSet.empty();
+
+    for (val branch : current.getManagedBranches()) {
+      val branchName = branch.getName();
+      val previousBranch = previous.getManagedBranchByName(branchName);
+      if (previousBranch == null) {
+        addedBranchNames = addedBranchNames.add(branchName);
+        continue;
+      }
+
+      if (!Objects.equals(getParentName(previousBranch), getParentName(branch))) {
+        reparentedBranchNames = reparentedBranchNames.add(branchName);
+      }
+      if (!previousBranch.getPointedCommit().getHash().equals(branch.getPointedCommit().getHash())) {
+        branchNamesWithChangedPointedCommit = branchNamesWithChangedPointedCommit.add(branchName);
+      }
+
+      if (previousBranch.hasPendingStatuses() && branch.hasPendingStatuses()) {
+        continue;
+      }
+      boolean hasPendingStatusesChanged = previousBranch.hasPendingStatuses() != branch.hasPendingStatuses();
+      if (hasPendingStatusesChanged || getSyncToParentStatus(previousBranch) != getSyncToParentStatus(branch)) {
+        branchNamesWithChangedSyncToParentStatus = branchNamesWithChangedSyncToParentStatus.add(branchName);
+      }
+      if (hasPendingStatusesChanged || !previousBranch.getRelationToRemote().equals(branch.getRelationToRemote())) {
+        branchNamesWithChangedRelationToRemote = branchNamesWithChangedRelationToRemote.add(branchName);
+      }
+      if (hasPendingStatusesChanged || !Objects.equals(previousBranch.getStatusHookOutput(), branch.getStatusHookOutput())) {
+        branchNamesWithChangedStatusHookOutput = branchNamesWithChangedStatusHookOutput.add(branchName);
+      }
+    }
+
+    Set<String> removedBranchNames = LinkedHashSet.ofAll(previous.getManagedBranches()
+        .map(branch -> branch.getName())
+        .filter(branchName -> current.getManagedBranchByName(branchName) == null));
+
+    return new GitMacheteRepositorySnapshotDiff(addedBranchNames, removedBranchNames, reparentedBranchNames,
+        branchNamesWithChangedSyncToParentStatus, branchNamesWithChangedRelationToRemote, branchNamesWithChangedPointedCommit,
+        branchNamesWithChangedStatusHookOutput,
+        current.getSkippedBranchNames().diff(previous.getSkippedBranchNames()),
+        current.getDuplicatedBranchNames().diff(previous.getDuplicatedBranchNames()));
+  }
+
+  private static @Nullable String getParentName(IManagedBranchSnapshot branch) {
+    return branch.isNonRoot() ? branch.asNonRoot().getParent().getName() : null;
+  }
+
+  private static @Nullable SyncToParentStatus getSyncToParentStatus(IManagedBranchSnapshot branch) {
+    return branch.isNonRoot() ? branch.asNonRoot().getSyncToParentStatus() : null;
+  }
+
+  /** @return true if the managed branches (and their statuses) are the same in both snapshots */
+  public boolean isEmpty() {
+    return addedBranchNames.isEmpty() && removedBranchNames.isEmpty() && reparentedBranchNames.isEmpty()
+        && branchNamesWithChangedSyncToParentStatus.isEmpty() && branchNamesWithChangedRelationToRemote.isEmpty()
+        && branchNamesWithChangedPointedCommit.isEmpty() && branchNamesWithChangedStatusHookOutput.isEmpty();
+  }
+}
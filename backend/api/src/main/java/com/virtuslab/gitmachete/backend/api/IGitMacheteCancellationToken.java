@@ -0,0 +1,11 @@
+package com.virtuslab.gitmachete.backend.api;
+
+/**
+ * Lets the caller stop the creation of a repository snapshot once its result is no longer needed
+ * (e.g. when a newer update has been requested in the meantime).
+ * Polled from the thread that creates the snapshot, hence it must be cheap and thread-safe.
+ */
+@FunctionalInterface
+public interface IGitMacheteCancellationToken {
+  boolean isCancellationRequested();
+}
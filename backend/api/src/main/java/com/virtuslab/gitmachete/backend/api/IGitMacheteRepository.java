@@ -1,6 +1,10 @@
 package com.virtuslab.gitmachete.backend.api;
 
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
 import io.vavr.collection.Set;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.virtuslab.branchlayout.api.BranchLayout;
@@ -10,6 +14,47 @@ public interface IGitMacheteRepository {
   @UIThreadUnsafe
   IGitMacheteRepositorySnapshot createSnapshotForLayout(BranchLayout branchLayout) throws GitMacheteException;
 
+  /**
+   * @param maxLoadedUniqueCommitCount how many of the newest unique commits to load for each branch;
+   *                                   the remaining unique commits of a branch are just counted,
+   *                                   see {@link INonRootManagedBranchSnapshot#getUniqueCommitsCount}
+   * @param branchNamesWithAllUniqueCommitsLoaded branches for which all unique commits should be loaded
+   *                                              regardless of {@code maxLoadedUniqueCommitCount}
+   * @param cancellationToken checked every few commits of each revision walk (and before each git operation);
+   *                          once it requests the cancellation, the creation of the snapshot stops
+   *                          and {@link GitMacheteException} is thrown
+   * @param partialSnapshotConsumer receives (on the calling thread) the partial snapshots
+   *                                (see {@link IGitMacheteRepositorySnapshot#isPartial}): first the one with the statuses
+   *                                of all branches pending, and then, every now and then, the ones with more statuses derived
+   * @return the complete snapshot
+   */
+  @UIThreadUnsafe
+  IGitMacheteRepositorySnapshot createSnapshotForLayout(
+      BranchLayout branchLayout,
+      @NonNegative int maxLoadedUniqueCommitCount,
+      Set<String> branchNamesWithAllUniqueCommitsLoaded,
+      IGitMacheteCancellationToken cancellationToken,
+      Consumer<IGitMacheteRepositorySnapshot> partialSnapshotConsumer) throws GitMacheteException;
+
+  /**
+   * Persists the statuses of the given snapshot in a compact binary file, together with the commits pointed by the refs
+   * these statuses have been derived from, so that the snapshot can be restored (e.g. after an IDE restart)
+   * by {@link #restoreSnapshot} without any revision walks.
+   * Snapshots that haven't been created by this repository are ignored.
+   */
+  @UIThreadUnsafe
+  void persistSnapshot(IGitMacheteRepositorySnapshot snapshot, Path snapshotFilePath) throws GitMacheteException;
+
+  /**
+   * @return the partial snapshot (see {@link IGitMacheteRepositorySnapshot#isPartial}) for the given layout
+   *         with the statuses persisted by {@link #persistSnapshot} (just for the branches whose refs still point
+   *         to the same commits, with the statuses of the other branches pending), or null if there is no valid snapshot file
+   */
+  @UIThreadUnsafe
+  @Nullable
+  IGitMacheteRepositorySnapshot restoreSnapshot(BranchLayout branchLayout, Path snapshotFilePath)
+      throws GitMacheteException;
+
   @UIThreadUnsafe
   @Nullable
   ILocalBranchReference inferParentForLocalBranch(
@@ -18,4 +63,15 @@ public interface IGitMacheteRepository {
 
   @UIThreadUnsafe
   IGitMacheteRepositorySnapshot discoverLayoutAndCreateSnapshot() throws GitMacheteException;
+
+  /** Same as {@link #discoverLayoutAndCreateSnapshot}, but just for the layout, without deriving any branch statuses. */
+  @UIThreadUnsafe
+  BranchLayout discoverLayout() throws GitMacheteException;
+
+  /**
+   * Same as {@code discoverLayout().equals(branchLayout)}, but cheaper whenever the layouts differ,
+   * as the discovery stops as soon as a branch is found whose inferred parent differs from its parent in the given layout.
+   */
+  @UIThreadUnsafe
+  boolean isDiscoveredLayoutEquivalentTo(BranchLayout branchLayout) throws GitMacheteException;
 }
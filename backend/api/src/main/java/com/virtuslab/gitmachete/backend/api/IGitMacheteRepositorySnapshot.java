@@ -43,4 +43,43 @@ public interface IGitMacheteRepositorySnapshot {
   }
 
   OngoingRepositoryOperation getOngoingRepositoryOperation();
+
+  /**
+   * @return true if the statuses of some branches (see {@link IManagedBranchSnapshot#hasPendingStatuses})
+   *         haven't been derived yet, i.e. this snapshot has been published while the complete one was still being created,
+   *         or if this snapshot is provisional, e.g. restored (see {@link IGitMacheteRepository#restoreSnapshot})
+   *         or possibly stale (see {@link #asProvisional})
+   */
+  boolean isPartial();
+
+  /**
+   * @return a snapshot with the same content as this one, but partial (see {@link #isPartial}),
+   *         for a complete snapshot that might already be stale, so that it isn't mistaken for an up-to-date one
+   */
+  IGitMacheteRepositorySnapshot asProvisional();
+
+  /**
+   * @return true if the given managed branch or any managed branch after it in the machete file
+   *         is out of sync (see {@link IManagedBranchSnapshot#isOutOfSync}), i.e. if a traverse from the given branch
+   *         has anything to be done; false if the given branch is not managed
+   */
+  default boolean isAnyBranchOutOfSyncFrom(String branchName) {
+    return getManagedBranchByName(branchName) != null && getManagedBranches()
+        .dropUntil(branch -> branch.getName().equals(branchName))
+        .exists(IManagedBranchSnapshot::isOutOfSync);
+  }
+
+  /** @return true if any managed branch has any unique commits (see {@link INonRootManagedBranchSnapshot#getUniqueCommits}) */
+  default boolean hasAnyUniqueCommits() {
+    return getManagedBranches().exists(branch -> branch.isNonRoot() && branch.asNonRoot().getUniqueCommits().nonEmpty());
+  }
+
+  /**
+   * @return which managed branches have been added, removed or reparented, and which have changed their statuses
+   *         in this snapshot as compared to {@code previous} (typically, the snapshot of the same repository displayed so far),
+   *         so that the consumers of snapshots can update just what has changed
+   */
+  default GitMacheteRepositorySnapshotDiff diff(IGitMacheteRepositorySnapshot previous) {
+    return GitMacheteRepositorySnapshotDiff.between(previous, this);
+  }
 }
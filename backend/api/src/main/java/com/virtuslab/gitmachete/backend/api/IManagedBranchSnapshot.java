@@ -1,6 +1,7 @@
 package com.virtuslab.gitmachete.backend.api;
 
 import io.vavr.collection.List;
+import lombok.val;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.EnsuresQualifierIf;
 import org.checkerframework.framework.qual.RequiresQualifier;
@@ -46,4 +47,23 @@ public interface IManagedBranchSnapshot extends ILocalBranchReference {
 
   @Nullable
   String getStatusHookOutput();
+
+  /**
+   * @return true if this branch comes from a partial snapshot (see {@link IGitMacheteRepositorySnapshot#isPartial})
+   *         and its statuses (relation to remote, status hook output and, for non-root branches, fork point,
+   *         sync to parent status and commits) haven't been derived yet; these statuses are just placeholders then
+   */
+  boolean hasPendingStatuses();
+
+  /**
+   * @return true if this branch is not in sync to its parent (for non-root branches)
+   *         or is not in sync to its remote (for branches that have any remotes at all)
+   */
+  default boolean isOutOfSync() {
+    if (isNonRoot() && asNonRoot().getSyncToParentStatus() != SyncToParentStatus.InSync) {
+      return true;
+    }
+    val syncToRemoteStatus = getRelationToRemote().getSyncToRemoteStatus();
+    return syncToRemoteStatus != SyncToRemoteStatus.InSyncToRemote && syncToRemoteStatus != SyncToRemoteStatus.NoRemotes;
+  }
 }
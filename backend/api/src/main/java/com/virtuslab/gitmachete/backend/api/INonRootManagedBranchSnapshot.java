@@ -2,6 +2,7 @@ package com.virtuslab.gitmachete.backend.api;
 
 import io.vavr.NotImplementedError;
 import io.vavr.collection.List;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public interface INonRootManagedBranchSnapshot extends IManagedBranchSnapshot {
@@ -21,8 +22,28 @@ public interface INonRootManagedBranchSnapshot extends IManagedBranchSnapshot {
     return this;
   }
 
+  /**
+   * @return the unique commits of this branch, newest first; note that only up to the given number of the newest commits
+   *         might be loaded (see {@link IGitMacheteRepository#createSnapshotForLayout}),
+   *         see {@link #getUniqueCommitsCount} for the total number of unique commits
+   */
   List<ICommitOfManagedBranch> getUniqueCommits();
 
+  /**
+   * @return the total number of unique commits of this branch, including the ones that have NOT been loaded
+   *         into {@link #getUniqueCommits}
+   */
+  @NonNegative
+  int getUniqueCommitsCount();
+
+  default boolean hasAllUniqueCommitsLoaded() {
+    return getUniqueCommits().size() == getUniqueCommitsCount();
+  }
+
+  /**
+   * @return the commits of this branch that are not reachable from its parent, newest first;
+   *         subject to the same limit of loaded commits as {@link #getUniqueCommits}
+   */
   List<ICommitOfManagedBranch> getCommitsUntilParent();
 
   IManagedBranchSnapshot getParent();
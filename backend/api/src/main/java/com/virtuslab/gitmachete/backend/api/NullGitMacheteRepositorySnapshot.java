@@ -59,6 +59,17 @@ public final class NullGitMacheteRepositorySnapshot implements IGitMacheteReposi
     return TreeSet.empty();
   }
 
+  @Override
+  public boolean isPartial() {
+    return false;
+  }
+
+  @Override
+  public IGitMacheteRepositorySnapshot asProvisional() {
+    // There's nothing in an empty snapshot that could get stale.
+    return this;
+  }
+
   @Getter
   public final OngoingRepositoryOperation ongoingRepositoryOperation = new OngoingRepositoryOperation(
       OngoingRepositoryOperationType.NO_OPERATION, null);
@@ -27,6 +27,8 @@ public abstract class BaseManagedBranchSnapshot implements IManagedBranchSnapsho
   private final RelationToRemote relationToRemote;
   private final @Nullable String customAnnotation;
   private final @Nullable String statusHookOutput;
+  @Getter(AccessLevel.NONE)
+  private final boolean hasPendingStatuses;
 
   @ToString.Include(name = "children") // avoid recursive `toString` calls on child branches
   private List<String> getChildNames() {
@@ -59,4 +61,9 @@ public abstract class BaseManagedBranchSnapshot implements IManagedBranchSnapsho
   public @Nullable String getStatusHookOutput() {
     return statusHookOutput;
   }
+
+  @Override
+  public boolean hasPendingStatuses() {
+    return hasPendingStatuses;
+  }
 }
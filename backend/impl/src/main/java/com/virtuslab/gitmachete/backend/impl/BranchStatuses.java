@@ -0,0 +1,39 @@
+package com.virtuslab.gitmachete.backend.impl;
+
+import io.vavr.collection.List;
+import lombok.Data;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.virtuslab.gitcore.api.GitCoreCommitRange;
+import com.virtuslab.gitcore.api.IGitCoreCommit;
+import com.virtuslab.gitmachete.backend.api.RelationToRemote;
+import com.virtuslab.gitmachete.backend.api.SyncToParentStatus;
+
+/**
+ * Everything about a managed branch that requires revision walks (or running the status hook) to derive.
+ * For a root branch, only {@code relationToRemote} and {@code statusHookOutput} are relevant.
+ */
+@Data
+// So that Interning Checker doesn't complain about enum comparison (by `equals` and not by `==`) in Lombok-generated `equals`
+@SuppressWarnings("interning:unnecessary.equals")
+public final class BranchStatuses {
+
+  /**
+   * The commits pointed by the refs that the statuses have been derived from.
+   * As long as these refs point to the same commits, the statuses are (almost certainly) still valid.
+   */
+  @Data
+  public static final class RefTips {
+    private final String pointedCommitHash;
+    private final @Nullable String parentPointedCommitHash;
+    private final @Nullable String remoteTrackingBranchPointedCommitHash;
+  }
+
+  private final RefTips refTips;
+  private final RelationToRemote relationToRemote;
+  private final @Nullable String statusHookOutput;
+  private final @Nullable ForkPointCommitOfManagedBranch forkPoint;
+  private final SyncToParentStatus syncToParentStatus;
+  private final GitCoreCommitRange uniqueCommits;
+  private final List<IGitCoreCommit> commitsUntilParent;
+}
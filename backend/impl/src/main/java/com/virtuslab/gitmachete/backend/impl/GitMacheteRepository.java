@@ -1,19 +1,29 @@
 package com.virtuslab.gitmachete.backend.impl;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import io.vavr.collection.Map;
 import io.vavr.collection.Set;
 import lombok.val;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.virtuslab.branchlayout.api.BranchLayout;
 import com.virtuslab.gitcore.api.GitCoreException;
 import com.virtuslab.gitcore.api.IGitCoreRepository;
 import com.virtuslab.gitmachete.backend.api.GitMacheteException;
+import com.virtuslab.gitmachete.backend.api.IGitMacheteCancellationToken;
 import com.virtuslab.gitmachete.backend.api.IGitMacheteRepository;
 import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositorySnapshot;
 import com.virtuslab.gitmachete.backend.api.ILocalBranchReference;
+import com.virtuslab.gitmachete.backend.impl.SnapshotFile.PersistedBranchStatuses;
 import com.virtuslab.gitmachete.backend.impl.aux.Aux;
 import com.virtuslab.gitmachete.backend.impl.aux.CreateGitMacheteRepositoryAux;
 import com.virtuslab.gitmachete.backend.impl.aux.DiscoverGitMacheteRepositoryAux;
+import com.virtuslab.gitmachete.backend.impl.aux.ParentInferenceIndex;
 import com.virtuslab.qual.guieffect.UIThreadUnsafe;
 
 public class GitMacheteRepository implements IGitMacheteRepository {
@@ -21,6 +31,9 @@ public class GitMacheteRepository implements IGitMacheteRepository {
   private final IGitCoreRepository gitCoreRepository;
   private final StatusBranchHookExecutor statusHookExecutor;
 
+  // Derived along with the most recent complete snapshot, so that parent inference doesn't need to read all reflogs again.
+  private final AtomicReference<@Nullable ParentInferenceIndex> parentInferenceIndex = new AtomicReference<>(null);
+
   private static final int NUMBER_OF_MOST_RECENTLY_CHECKED_OUT_BRANCHES_FOR_DISCOVER = 10;
 
   @UIThreadUnsafe
@@ -34,7 +47,65 @@ public class GitMacheteRepository implements IGitMacheteRepository {
   public IGitMacheteRepositorySnapshot createSnapshotForLayout(BranchLayout branchLayout) throws GitMacheteException {
     try {
       val aux = new CreateGitMacheteRepositoryAux(gitCoreRepository, statusHookExecutor);
-      return aux.createSnapshot(branchLayout);
+      val snapshot = aux.createSnapshot(branchLayout);
+      parentInferenceIndex.set(aux.deriveParentInferenceIndex());
+      return snapshot;
+    } catch (GitCoreException e) {
+      throw new GitMacheteException(e);
+    }
+  }
+
+  @Override
+  @UIThreadUnsafe
+  public IGitMacheteRepositorySnapshot createSnapshotForLayout(
+      BranchLayout branchLayout,
+      @NonNegative int maxLoadedUniqueCommitCount,
+      Set<String> branchNamesWithAllUniqueCommitsLoaded,
+      IGitMacheteCancellationToken cancellationToken,
+      Consumer<IGitMacheteRepositorySnapshot> partialSnapshotConsumer) throws GitMacheteException {
+    try {
+      val cancellableGitCoreRepository = gitCoreRepository
+          .withCancellationToken(cancellationToken::isCancellationRequested);
+      val aux = new CreateGitMacheteRepositoryAux(cancellableGitCoreRepository, statusHookExecutor,
+          maxLoadedUniqueCommitCount, branchNamesWithAllUniqueCommitsLoaded);
+      val snapshot = aux.createSnapshot(branchLayout, partialSnapshotConsumer);
+      parentInferenceIndex.set(aux.deriveParentInferenceIndex());
+      return snapshot;
+    } catch (GitCoreException e) {
+      throw new GitMacheteException(e);
+    }
+  }
+
+  @Override
+  @UIThreadUnsafe
+  public void persistSnapshot(IGitMacheteRepositorySnapshot snapshot, Path snapshotFilePath) throws GitMacheteException {
+    if (!(snapshot instanceof GitMacheteRepositorySnapshot gitMacheteRepositorySnapshot)) {
+      return;
+    }
+    try {
+      SnapshotFile.write(snapshotFilePath, gitMacheteRepositorySnapshot.getStatusesByBranchName());
+    } catch (IOException e) {
+      throw new GitMacheteException("Can't persist the snapshot to ${snapshotFilePath}", e);
+    }
+  }
+
+  @Override
+  @UIThreadUnsafe
+  public @Nullable IGitMacheteRepositorySnapshot restoreSnapshot(BranchLayout branchLayout, Path snapshotFilePath)
+      throws GitMacheteException {
+    @Nullable Map<String, PersistedBranchStatuses> persistedStatusesByBranchName;
+    try {
+      persistedStatusesByBranchName = SnapshotFile.read(snapshotFilePath);
+    } catch (IOException e) {
+      throw new GitMacheteException("Can't read the persisted snapshot from ${snapshotFilePath}", e);
+    }
+    if (persistedStatusesByBranchName == null) {
+      return null;
+    }
+
+    try {
+      val aux = new CreateGitMacheteRepositoryAux(gitCoreRepository, statusHookExecutor);
+      return aux.restoreSnapshot(branchLayout, persistedStatusesByBranchName);
     } catch (GitCoreException e) {
       throw new GitMacheteException(e);
     }
@@ -46,6 +117,10 @@ public class GitMacheteRepository implements IGitMacheteRepository {
       Set<String> eligibleLocalBranchNames,
       String localBranchName) throws GitMacheteException {
     try {
+      val index = parentInferenceIndex.get();
+      if (index != null) {
+        return index.inferParentForLocalBranch(gitCoreRepository, eligibleLocalBranchNames, localBranchName);
+      }
       val aux = new Aux(gitCoreRepository);
       return aux.inferParentForLocalBranch(eligibleLocalBranchNames, localBranchName);
     } catch (GitCoreException e) {
@@ -64,4 +139,26 @@ public class GitMacheteRepository implements IGitMacheteRepository {
     }
   }
 
+  @Override
+  @UIThreadUnsafe
+  public BranchLayout discoverLayout() throws GitMacheteException {
+    try {
+      val aux = new DiscoverGitMacheteRepositoryAux(gitCoreRepository, statusHookExecutor);
+      return aux.discoverLayout(NUMBER_OF_MOST_RECENTLY_CHECKED_OUT_BRANCHES_FOR_DISCOVER);
+    } catch (GitCoreException e) {
+      throw new GitMacheteException(e);
+    }
+  }
+
+  @Override
+  @UIThreadUnsafe
+  public boolean isDiscoveredLayoutEquivalentTo(BranchLayout branchLayout) throws GitMacheteException {
+    try {
+      val aux = new DiscoverGitMacheteRepositoryAux(gitCoreRepository, statusHookExecutor);
+      return aux.isDiscoveredLayoutEquivalentTo(branchLayout, NUMBER_OF_MOST_RECENTLY_CHECKED_OUT_BRANCHES_FOR_DISCOVER);
+    } catch (GitCoreException e) {
+      throw new GitMacheteException(e);
+    }
+  }
+
 }
@@ -40,6 +40,9 @@ public class GitMacheteRepositoryCache implements IGitMacheteRepositoryCache {
   public IGitMacheteRepository getInstance(Path rootDirectoryPath, Path mainGitDirectoryPath,
       Path worktreeGitDirectoryPath)
       throws GitMacheteException {
+    // Keyed per worktree, since HEAD and repository state differ between worktrees.
+    // Objects, refs and their caches are nevertheless shared between all worktrees of the same main git directory
+    // on the level of `IGitCoreRepository` implementation.
     val key = Tuple.of(rootDirectoryPath, worktreeGitDirectoryPath);
     val valueReference = gitMacheteRepositoryCache.get(key).getOrNull();
 
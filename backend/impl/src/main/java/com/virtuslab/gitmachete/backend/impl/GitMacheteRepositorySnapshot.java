@@ -2,11 +2,16 @@ package com.virtuslab.gitmachete.backend.impl;
 
 import java.nio.file.Path;
 
+import io.vavr.collection.HashSet;
 import io.vavr.collection.LinkedHashMap;
 import io.vavr.collection.List;
+import io.vavr.collection.Map;
 import io.vavr.collection.Set;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.virtuslab.branchlayout.api.BranchLayout;
@@ -39,6 +44,20 @@ public class GitMacheteRepositorySnapshot implements IGitMacheteRepositorySnapsh
   @Getter
   private final OngoingRepositoryOperation ongoingRepositoryOperation;
 
+  @Getter
+  private final boolean partial;
+
+  // Not a part of the API, just so that the snapshot can be persisted, see `SnapshotFile`.
+  @Getter(AccessLevel.PACKAGE)
+  private final Map<String, BranchStatuses> statusesByBranchName;
+
+  // Derived on the first call to `isAnyBranchOutOfSyncFrom`, which happens on each update of the traverse actions.
+  // In case of a race, the set might get derived more than once, which is harmless (as the snapshot is immutable).
+  private volatile @MonotonicNonNull Set<String> branchNamesWithAnyBranchOutOfSyncFromThem = null;
+
+  // Derived on the first call to `hasAnyUniqueCommits`, for the same reason and in the same way as the above.
+  private volatile @MonotonicNonNull Boolean anyUniqueCommits = null;
+
   @Override
   public BranchLayout getBranchLayout() {
     return branchLayout;
@@ -58,4 +77,50 @@ public class GitMacheteRepositorySnapshot implements IGitMacheteRepositorySnapsh
   public @Nullable IManagedBranchSnapshot getManagedBranchByName(String branchName) {
     return managedBranchByName.get(branchName).getOrNull();
   }
+
+  @Override
+  public IGitMacheteRepositorySnapshot asProvisional() {
+    return partial
+        ? this
+        : new GitMacheteRepositorySnapshot(mainGitDirectoryPath, rootBranches, branchLayout, currentBranchIfManaged,
+            managedBranchByName, duplicatedBranchNames, skippedBranchNames, ongoingRepositoryOperation, /* partial */ true,
+            statusesByBranchName);
+  }
+
+  @Override
+  public boolean isAnyBranchOutOfSyncFrom(String branchName) {
+    var branchNames = branchNamesWithAnyBranchOutOfSyncFromThem;
+    if (branchNames == null) {
+      branchNames = deriveBranchNamesWithAnyBranchOutOfSyncFromThem();
+      branchNamesWithAnyBranchOutOfSyncFromThem = branchNames;
+    }
+    return branchNames.contains(branchName);
+  }
+
+  @Override
+  public boolean hasAnyUniqueCommits() {
+    var result = anyUniqueCommits;
+    if (result == null) {
+      result = managedBranchByName.values()
+          .exists(branch -> branch.isNonRoot() && branch.asNonRoot().getUniqueCommits().nonEmpty());
+      anyUniqueCommits = result;
+    }
+    return result;
+  }
+
+  /**
+   * A single pass over the managed branches in the reverse order, so that each lookup is O(1)
+   * rather than a walk from the given branch till the end of the layout.
+   */
+  private Set<String> deriveBranchNamesWithAnyBranchOutOfSyncFromThem() {
+    Set<String> result = HashSet.empty();
+    boolean isAnyBranchOutOfSyncSoFar = false;
+    for (val branch : managedBranchByName.values().toList().reverse()) {
+      isAnyBranchOutOfSyncSoFar = isAnyBranchOutOfSyncSoFar || branch.isOutOfSync();
+      if (isAnyBranchOutOfSyncSoFar) {
+        result = result.add(branch.getName());
+      }
+    }
+    return result;
+  }
 }
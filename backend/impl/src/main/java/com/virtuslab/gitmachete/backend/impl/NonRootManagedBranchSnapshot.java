@@ -1,10 +1,12 @@
 package com.virtuslab.gitmachete.backend.impl;
 
 import io.vavr.collection.List;
+import lombok.AccessLevel;
 import lombok.CustomLog;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.val;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -26,6 +28,10 @@ public final class NonRootManagedBranchSnapshot extends BaseManagedBranchSnapsho
   private @MonotonicNonNull IManagedBranchSnapshot parent = null;
   private final @Nullable IForkPointCommitOfManagedBranch forkPoint;
   private final List<ICommitOfManagedBranch> uniqueCommits;
+  private final @NonNegative int uniqueCommitsCount;
+  // Derived once per snapshot, as `uniqueCommits.size()` is linear and this is checked on each update of the squash actions.
+  @Getter(AccessLevel.NONE)
+  private final boolean allUniqueCommitsLoaded;
 
   private final List<ICommitOfManagedBranch> commitsUntilParent;
   private final SyncToParentStatus syncToParentStatus;
@@ -46,12 +52,17 @@ public final class NonRootManagedBranchSnapshot extends BaseManagedBranchSnapsho
       @Nullable String statusHookOutput,
       @Nullable IForkPointCommitOfManagedBranch forkPoint,
       List<ICommitOfManagedBranch> uniqueCommits,
+      @NonNegative int uniqueCommitsCount,
       List<ICommitOfManagedBranch> commitsUntilParent,
-      SyncToParentStatus syncToParentStatus) {
-    super(name, fullName, children, pointedCommit, remoteTrackingBranch, relationToRemote, customAnnotation, statusHookOutput);
+      SyncToParentStatus syncToParentStatus,
+      boolean hasPendingStatuses) {
+    super(name, fullName, children, pointedCommit, remoteTrackingBranch, relationToRemote, customAnnotation, statusHookOutput,
+        hasPendingStatuses);
 
     this.forkPoint = forkPoint;
     this.uniqueCommits = uniqueCommits;
+    this.uniqueCommitsCount = uniqueCommitsCount;
+    this.allUniqueCommitsLoaded = uniqueCommits.size() == uniqueCommitsCount;
     this.commitsUntilParent = commitsUntilParent;
     this.syncToParentStatus = syncToParentStatus;
 
@@ -72,6 +83,11 @@ public final class NonRootManagedBranchSnapshot extends BaseManagedBranchSnapsho
     parent = givenParentBranch;
   }
 
+  @Override
+  public boolean hasAllUniqueCommitsLoaded() {
+    return allUniqueCommitsLoaded;
+  }
+
   @Override
   public @Nullable IForkPointCommitOfManagedBranch getForkPoint() {
     return forkPoint;
@@ -22,8 +22,10 @@ public final class RootManagedBranchSnapshot extends BaseManagedBranchSnapshot i
       @Nullable IRemoteTrackingBranchReference remoteTrackingBranch,
       RelationToRemote relationToRemote,
       @Nullable String customAnnotation,
-      @Nullable String statusHookOutput) {
-    super(name, fullName, children, pointedCommit, remoteTrackingBranch, relationToRemote, customAnnotation, statusHookOutput);
+      @Nullable String statusHookOutput,
+      boolean hasPendingStatuses) {
+    super(name, fullName, children, pointedCommit, remoteTrackingBranch, relationToRemote, customAnnotation, statusHookOutput,
+        hasPendingStatuses);
 
     LOG.debug("Creating ${this}");
 
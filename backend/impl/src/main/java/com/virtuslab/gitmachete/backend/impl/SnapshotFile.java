@@ -0,0 +1,269 @@
+package com.virtuslab.gitmachete.backend.impl;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import io.vavr.collection.HashMap;
+import io.vavr.collection.List;
+import io.vavr.collection.Map;
+import lombok.CustomLog;
+import lombok.Data;
+import lombok.val;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.virtuslab.gitmachete.backend.api.RelationToRemote;
+import com.virtuslab.gitmachete.backend.api.SyncToParentStatus;
+import com.virtuslab.gitmachete.backend.api.SyncToRemoteStatus;
+
+/**
+ * Compact binary representation of the {@link BranchStatuses} of a snapshot, so that the snapshot can be restored
+ * (after an IDE restart) without any revision walks. Commits are stored just as (binary) hashes.
+ * <br>
+ * Any change of the format requires bumping {@link #FORMAT_VERSION}; files in other versions are ignored.
+ */
+@CustomLog
+public final class SnapshotFile {
+
+  private static final int MAGIC = 0x474D534E; // "GMSN"
+  private static final int FORMAT_VERSION = 1;
+  private static final int HASH_BYTE_COUNT = 20;
+
+  private SnapshotFile() {}
+
+  /** Same as {@link BranchStatuses}, but with commits and branches just referred to by hashes and names. */
+  @Data
+  // So that Interning Checker doesn't complain about enum comparison (by `equals` and not by `==`) in Lombok-generated `equals`
+  @SuppressWarnings("interning:unnecessary.equals")
+  public static final class PersistedBranchStatuses {
+    private final BranchStatuses.RefTips refTips;
+    private final RelationToRemote relationToRemote;
+    private final @Nullable String statusHookOutput;
+    private final @Nullable String forkPointHash;
+    private final boolean isForkPointOverridden;
+    private final List<PersistedBranchReference> branchesContainingForkPointInReflog;
+    private final SyncToParentStatus syncToParentStatus;
+    private final List<String> loadedUniqueCommitHashes;
+    private final @NonNegative int uniqueCommitCount;
+    private final List<String> commitsUntilParentHashes;
+  }
+
+  /**
+   * A local branch, or the remote tracking branch of a local branch
+   * (as only these remote branches are ever considered for fork point inference).
+   */
+  @Data
+  public static final class PersistedBranchReference {
+    private final String localBranchName;
+    private final boolean isRemoteTrackingBranch;
+  }
+
+  /**
+   * Leaves the file intact if it already has the same content (as is typically the case when nothing has changed
+   * in the repository since the previous update), so that the file isn't needlessly rewritten on every update.
+   */
+  public static void write(Path filePath, Map<String, BranchStatuses> statusesByBranchName) throws IOException {
+    val byteArrayOutputStream = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(byteArrayOutputStream)) {
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      out.writeInt(statusesByBranchName.size());
+      for (val nameAndStatuses : statusesByBranchName) {
+        writeString(out, nameAndStatuses._1);
+        writeBranchStatuses(out, nameAndStatuses._2);
+      }
+    }
+    byte[] content = byteArrayOutputStream.toByteArray();
+    if (hasContent(filePath, content)) {
+      LOG.debug(() -> "Statuses persisted in ${filePath} are up to date, skipping the write");
+      return;
+    }
+
+    val parentDirectoryPath = filePath.getParent();
+    if (parentDirectoryPath != null) {
+      Files.createDirectories(parentDirectoryPath);
+    }
+    // Writing to a temporary file first, so that a crash in the middle of writing never leaves a truncated file behind.
+    val temporaryFilePath = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+    Files.write(temporaryFilePath, content);
+    Files.move(temporaryFilePath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    LOG.debug(() -> "Written statuses of ${statusesByBranchName.size()} branch(es) to ${filePath}");
+  }
+
+  private static boolean hasContent(Path filePath, byte[] content) throws IOException {
+    try {
+      return Files.size(filePath) == content.length && Arrays.equals(Files.readAllBytes(filePath), content);
+    } catch (NoSuchFileException e) {
+      return false;
+    }
+  }
+
+  /**
+   * @return the persisted statuses by branch name, or null if the file doesn't exist or comes from another format version
+   */
+  public static @Nullable Map<String, PersistedBranchStatuses> read(Path filePath) throws IOException {
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(filePath)))) {
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+        LOG.debug(() -> "${filePath} is not a snapshot file in version ${FORMAT_VERSION}, ignoring");
+        return null;
+      }
+      int branchCount = in.readInt();
+      Map<String, PersistedBranchStatuses> result = HashMap.empty();
+      for (int i = 0; i < branchCount; i++) {
+        val branchName = readString(in);
+        result = result.put(branchName, readBranchStatuses(in));
+      }
+      return result;
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  private static void writeBranchStatuses(DataOutputStream out, BranchStatuses statuses) throws IOException {
+    val refTips = statuses.getRefTips();
+    writeHash(out, refTips.getPointedCommitHash());
+    writeNullableHash(out, refTips.getParentPointedCommitHash());
+    writeNullableHash(out, refTips.getRemoteTrackingBranchPointedCommitHash());
+
+    writeString(out, statuses.getRelationToRemote().getSyncToRemoteStatus().name());
+    writeNullableString(out, statuses.getRelationToRemote().getRemoteName());
+    writeNullableString(out, statuses.getStatusHookOutput());
+
+    val forkPoint = statuses.getForkPoint();
+    out.writeBoolean(forkPoint != null);
+    if (forkPoint != null) {
+      writeHash(out, forkPoint.getHash());
+      out.writeBoolean(forkPoint.isOverridden());
+      val branchesContainingInReflog = forkPoint.getBranchesContainingInReflog();
+      out.writeInt(branchesContainingInReflog.size());
+      for (val branch : branchesContainingInReflog) {
+        val isRemote = branch.isRemote();
+        writeString(out, isRemote ? branch.asRemote().getTrackedLocalBranch().getName() : branch.getName());
+        out.writeBoolean(isRemote);
+      }
+    }
+
+    writeString(out, statuses.getSyncToParentStatus().name());
+    writeHashes(out, statuses.getUniqueCommits().getLoadedCommits().map(commit -> commit.getHash().getHashString()));
+    out.writeInt(statuses.getUniqueCommits().getTotalCommitCount());
+    writeHashes(out, statuses.getCommitsUntilParent().map(commit -> commit.getHash().getHashString()));
+  }
+
+  private static PersistedBranchStatuses readBranchStatuses(DataInputStream in) throws IOException {
+    val refTips = new BranchStatuses.RefTips(readHash(in), readNullableHash(in), readNullableHash(in));
+
+    val syncToRemoteStatus = readEnum(in, SyncToRemoteStatus.class);
+    val relationToRemote = RelationToRemote.of(syncToRemoteStatus, readNullableString(in));
+    val statusHookOutput = readNullableString(in);
+
+    String forkPointHash = null;
+    boolean isForkPointOverridden = false;
+    List<PersistedBranchReference> branchesContainingForkPointInReflog = List.empty();
+    if (in.readBoolean()) {
+      forkPointHash = readHash(in);
+      isForkPointOverridden = in.readBoolean();
+      int branchCount = in.readInt();
+      for (int i = 0; i < branchCount; i++) {
+        branchesContainingForkPointInReflog = branchesContainingForkPointInReflog
+            .append(new PersistedBranchReference(readString(in), in.readBoolean()));
+      }
+    }
+
+    val syncToParentStatus = readEnum(in, SyncToParentStatus.class);
+    val loadedUniqueCommitHashes = readHashes(in);
+    int uniqueCommitCount = in.readInt();
+    if (uniqueCommitCount < 0) {
+      throw new IOException("Negative unique commit count: ${uniqueCommitCount}");
+    }
+    val commitsUntilParentHashes = readHashes(in);
+
+    return new PersistedBranchStatuses(refTips, relationToRemote, statusHookOutput, forkPointHash, isForkPointOverridden,
+        branchesContainingForkPointInReflog, syncToParentStatus, loadedUniqueCommitHashes, uniqueCommitCount,
+        commitsUntilParentHashes);
+  }
+
+  // Enums are stored by name (rather than by ordinal), so that reordering their values doesn't silently break the format.
+  private static <E extends Enum<E>> E readEnum(DataInputStream in, Class<E> enumClass) throws IOException {
+    val name = readString(in);
+    try {
+      return Enum.valueOf(enumClass, name);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Unknown ${enumClass.getSimpleName()} value '${name}'", e);
+    }
+  }
+
+  private static void writeHash(DataOutputStream out, String hash) throws IOException {
+    out.write(HexFormat.of().parseHex(hash));
+  }
+
+  private static String readHash(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[HASH_BYTE_COUNT];
+    in.readFully(bytes);
+    return HexFormat.of().formatHex(bytes);
+  }
+
+  private static void writeNullableHash(DataOutputStream out, @Nullable String hash) throws IOException {
+    out.writeBoolean(hash != null);
+    if (hash != null) {
+      writeHash(out, hash);
+    }
+  }
+
+  private static @Nullable String readNullableHash(DataInputStream in) throws IOException {
+    return in.readBoolean() ? readHash(in) : null;
+  }
+
+  private static void writeHashes(DataOutputStream out, List<String> hashes) throws IOException {
+    out.writeInt(hashes.size());
+    for (val hash : hashes) {
+      writeHash(out, hash);
+    }
+  }
+
+  private static List<String> readHashes(DataInputStream in) throws IOException {
+    int hashCount = in.readInt();
+    List<String> result = List.empty();
+    for (int i = 0; i < hashCount; i++) {
+      result = result.append(readHash(in));
+    }
+    return result;
+  }
+
+  // Unlike `DataOutputStream#writeUTF`, not limited to 64 KiB (which status hook output could possibly exceed).
+  private static void writeString(DataOutputStream out, String string) throws IOException {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      throw new IOException("Negative string length: ${length}");
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeNullableString(DataOutputStream out, @Nullable String string) throws IOException {
+    out.writeBoolean(string != null);
+    if (string != null) {
+      writeString(out, string);
+    }
+  }
+
+  private static @Nullable String readNullableString(DataInputStream in) throws IOException {
+    return in.readBoolean() ? readString(in) : null;
+  }
+}
@@ -35,6 +35,7 @@ public class Aux {
 
   private final java.util.Map<IGitCoreBranchSnapshot, List<IGitCoreReflogEntry>> filteredReflogByBranch = new java.util.HashMap<>();
   private @MonotonicNonNull Map<IGitCoreCommitHash, Seq<IBranchReference>> branchesContainingGivenCommitInReflog;
+  private @MonotonicNonNull ParentInferenceIndex parentInferenceIndex;
 
   @UIThreadUnsafe
   public Aux(IGitCoreRepository gitCoreRepository) throws GitCoreException {
@@ -164,49 +165,22 @@ public class Aux {
     return result;
   }
 
+  /**
+   * @return the index that lets infer the parent of a local branch without this aux,
+   *         reusing the reflogs read by this aux (or reading them if they haven't been read yet)
+   */
+  public ParentInferenceIndex deriveParentInferenceIndex() {
+    if (parentInferenceIndex == null) {
+      parentInferenceIndex = new ParentInferenceIndex(deriveBranchesContainingGivenCommitInReflog());
+    }
+    return parentInferenceIndex;
+  }
+
   @UIThreadUnsafe
-  @Nullable
-  public ILocalBranchReference inferParentForLocalBranch(
+  public @Nullable ILocalBranchReference inferParentForLocalBranch(
       Set<String> eligibleLocalBranchNames,
       String localBranchName) throws GitCoreException {
-
-    val localBranch = localBranchByName.get(localBranchName).getOrNull();
-    if (localBranch == null) {
-      return null;
-    }
-
-    LOG.debug(() -> "Branch(es) eligible for becoming the parent of ${localBranchName}: " +
-        "${eligibleLocalBranchNames.mkString(\", \")}");
-
-    val commitAndContainingBranches = gitCoreRepository
-        .ancestorsOf(localBranch.getPointedCommit())
-        .map(commit -> {
-          Seq<ILocalBranchReference> eligibleContainingBranches = deriveBranchesContainingGivenCommitInReflog()
-              .getOrElse(commit.getHash(), List.empty())
-              .map(candidateBranch -> candidateBranch.isLocal()
-                  ? candidateBranch.asLocal()
-                  : candidateBranch.asRemote().getTrackedLocalBranch())
-              .filter(correspondingLocalBranch -> !correspondingLocalBranch.getName().equals(localBranch.getName())
-                  && eligibleLocalBranchNames.contains(correspondingLocalBranch.getName()));
-          return Tuple.of(commit, eligibleContainingBranches);
-        })
-        .find(ccbs -> ccbs._2.nonEmpty())
-        .getOrNull();
-
-    if (commitAndContainingBranches != null) {
-      val commit = commitAndContainingBranches._1;
-      val containingBranches = commitAndContainingBranches._2.toList();
-      assert containingBranches.nonEmpty() : "containingBranches is empty";
-
-      val firstContainingBranch = containingBranches.head();
-      val containingBranchNames = containingBranches.map(IBranchReference::getName);
-      LOG.debug(() -> "Commit ${commit} found in filtered reflog(s) " +
-          "of managed branch(es) ${containingBranchNames.mkString(\", \")}; " +
-          "returning ${firstContainingBranch.getName()} as the inferred parent for branch '${localBranchName}'");
-      return firstContainingBranch;
-    } else {
-      LOG.debug(() -> "Could not infer parent for branch '${localBranchName}'");
-      return null;
-    }
+    return deriveParentInferenceIndex().inferParentForLocalBranch(gitCoreRepository, eligibleLocalBranchNames,
+        localBranchName);
   }
 }
@@ -8,18 +8,24 @@ import static com.virtuslab.gitmachete.backend.api.SyncToRemoteStatus.InSyncToRe
 
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.function.Consumer;
 
 import io.vavr.Tuple;
+import io.vavr.collection.HashMap;
+import io.vavr.collection.HashSet;
 import io.vavr.collection.LinkedHashMap;
 import io.vavr.collection.List;
+import io.vavr.collection.Map;
 import io.vavr.collection.Seq;
-import io.vavr.control.Try;
+import io.vavr.collection.Set;
 import lombok.CustomLog;
 import lombok.val;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.virtuslab.branchlayout.api.BranchLayout;
 import com.virtuslab.branchlayout.api.BranchLayoutEntry;
+import com.virtuslab.gitcore.api.GitCoreCommitRange;
 import com.virtuslab.gitcore.api.GitCoreException;
 import com.virtuslab.gitcore.api.GitCoreRelativeCommitCount;
 import com.virtuslab.gitcore.api.IGitCoreCommit;
@@ -36,46 +42,77 @@ import com.virtuslab.gitmachete.backend.api.IRemoteTrackingBranchReference;
 import com.virtuslab.gitmachete.backend.api.OngoingRepositoryOperationType;
 import com.virtuslab.gitmachete.backend.api.RelationToRemote;
 import com.virtuslab.gitmachete.backend.api.SyncToParentStatus;
+import com.virtuslab.gitmachete.backend.impl.BranchStatuses;
 import com.virtuslab.gitmachete.backend.impl.CommitOfManagedBranch;
 import com.virtuslab.gitmachete.backend.impl.CreatedAndDuplicatedAndSkippedBranches;
 import com.virtuslab.gitmachete.backend.impl.ForkPointCommitOfManagedBranch;
 import com.virtuslab.gitmachete.backend.impl.GitMacheteRepositorySnapshot;
+import com.virtuslab.gitmachete.backend.impl.LocalBranchReference;
 import com.virtuslab.gitmachete.backend.impl.NonRootManagedBranchSnapshot;
 import com.virtuslab.gitmachete.backend.impl.RemoteTrackingBranchReference;
 import com.virtuslab.gitmachete.backend.impl.RootManagedBranchSnapshot;
+import com.virtuslab.gitmachete.backend.impl.SnapshotFile;
+import com.virtuslab.gitmachete.backend.impl.SnapshotFile.PersistedBranchReference;
+import com.virtuslab.gitmachete.backend.impl.SnapshotFile.PersistedBranchStatuses;
 import com.virtuslab.gitmachete.backend.impl.StatusBranchHookExecutor;
 import com.virtuslab.qual.guieffect.UIThreadUnsafe;
 
 @CustomLog
 public class CreateGitMacheteRepositoryAux extends Aux {
 
+  private static final long PARTIAL_SNAPSHOT_INTERVAL_MILLIS = 100;
+
+  // Stands in for the actual relation to remote of a branch with pending statuses; the closest to "no information".
+  private static final RelationToRemote PENDING_RELATION_TO_REMOTE = RelationToRemote.noRemotes();
+
   private final StatusBranchHookExecutor statusHookExecutor;
   private final List<String> remoteNames;
   private final java.util.Set<String> createdBranches = new java.util.HashSet<>();
+  private final java.util.Map<String, BranchStatuses> statusesByBranchName = new java.util.HashMap<>();
   private final Path mainGitDirectoryPath;
+  private final @NonNegative int maxLoadedUniqueCommitCount;
+  private final Set<String> branchNamesWithAllUniqueCommitsLoaded;
 
   @UIThreadUnsafe
   public CreateGitMacheteRepositoryAux(
       IGitCoreRepository gitCoreRepository,
       StatusBranchHookExecutor statusHookExecutor) throws GitCoreException {
+    this(gitCoreRepository, statusHookExecutor, /* maxLoadedUniqueCommitCount */ Integer.MAX_VALUE,
+        /* branchNamesWithAllUniqueCommitsLoaded */ HashSet.empty());
+  }
+
+  @UIThreadUnsafe
+  public CreateGitMacheteRepositoryAux(
+      IGitCoreRepository gitCoreRepository,
+      StatusBranchHookExecutor statusHookExecutor,
+      @NonNegative int maxLoadedUniqueCommitCount,
+      Set<String> branchNamesWithAllUniqueCommitsLoaded) throws GitCoreException {
     super(gitCoreRepository);
 
     this.statusHookExecutor = statusHookExecutor;
+    this.maxLoadedUniqueCommitCount = maxLoadedUniqueCommitCount;
+    this.branchNamesWithAllUniqueCommitsLoaded = branchNamesWithAllUniqueCommitsLoaded;
     this.remoteNames = gitCoreRepository.deriveAllRemoteNames();
     this.mainGitDirectoryPath = gitCoreRepository.getMainGitDirectoryPath();
   }
 
   @UIThreadUnsafe
   public IGitMacheteRepositorySnapshot createSnapshot(BranchLayout branchLayout) throws GitMacheteException {
-    val rootBranchTries = branchLayout.getRootEntries().map(entry -> Try.of(() -> createGitMacheteRootBranch(entry)));
-    val rootBranchCreationResults = Try.sequence(rootBranchTries).getOrElseThrow(GitMacheteException::getOrWrap).toList();
-    val rootBranches = rootBranchCreationResults.flatMap(creationResult -> creationResult.getCreatedBranches());
-    val skippedBranchNames = rootBranchCreationResults.flatMap(creationResult -> creationResult.getSkippedBranchNames())
-        .toSet();
-    val duplicatedBranchNames = rootBranchCreationResults
-        .flatMap(creationResult -> creationResult.getDuplicatedBranchNames()).toSet();
+    return createSnapshot(branchLayout, /* partialSnapshotConsumer */ partialSnapshot -> {});
+  }
 
-    val managedBranchByName = createManagedBranchByNameMap(rootBranches);
+  /**
+   * Creates the snapshot in two stages. First, the skeleton of the snapshot (with just the layout, the current branch
+   * and the pointed commits) is assembled, which takes no revision walks at all.
+   * Then, the statuses (fork points, syncs to parent and remote, unique commits, hook outputs) are derived branch by branch,
+   * in the order of the machete file. In the meantime, {@code partialSnapshotConsumer} receives the skeleton
+   * and then (at most every {@link #PARTIAL_SNAPSHOT_INTERVAL_MILLIS}) the snapshots with the statuses derived so far,
+   * see {@link IGitMacheteRepositorySnapshot#isPartial}.
+   */
+  @UIThreadUnsafe
+  public IGitMacheteRepositorySnapshot createSnapshot(
+      BranchLayout branchLayout,
+      Consumer<IGitMacheteRepositorySnapshot> partialSnapshotConsumer) throws GitMacheteException {
 
     IGitCoreLocalBranchSnapshot coreCurrentBranch = deriveCoreCurrentBranch();
 
@@ -83,6 +120,167 @@ public class CreateGitMacheteRepositoryAux extends Aux {
         ? coreCurrentBranch.getName()
         : "<none> (detached HEAD)"));
 
+    val ongoingOperation = deriveOngoingOperation();
+
+    val skeletonSnapshot = assembleSnapshot(branchLayout, coreCurrentBranch, ongoingOperation, /* isPartial */ true);
+    partialSnapshotConsumer.accept(skeletonSnapshot);
+    long lastPublishTimeMillis = System.currentTimeMillis();
+
+    val managedBranches = skeletonSnapshot.getManagedBranches();
+    int remainingBranchCount = managedBranches.size();
+    for (val branch : managedBranches) {
+      try {
+        statusesByBranchName.put(branch.getName(), deriveStatuses(branch));
+      } catch (GitCoreException e) {
+        throw new GitMacheteException(e);
+      }
+      remainingBranchCount--;
+
+      // No point in publishing a partial snapshot right before the complete one.
+      if (remainingBranchCount > 0
+          && System.currentTimeMillis() - lastPublishTimeMillis >= PARTIAL_SNAPSHOT_INTERVAL_MILLIS) {
+        partialSnapshotConsumer.accept(assembleSnapshot(branchLayout, coreCurrentBranch, ongoingOperation,
+            /* isPartial */ true));
+        lastPublishTimeMillis = System.currentTimeMillis();
+      }
+    }
+
+    return assembleSnapshot(branchLayout, coreCurrentBranch, ongoingOperation, /* isPartial */ false);
+  }
+
+  /**
+   * Restores the snapshot out of the statuses persisted in a {@link SnapshotFile}, without any revision walks.
+   * The persisted statuses of a branch are only restored if the refs they have been derived from
+   * (see {@link BranchStatuses.RefTips}) still point to the same commits, and all the commits they refer to still exist.
+   * The statuses of the remaining branches are pending.
+   * Even if the statuses of all branches have been restored, the snapshot is still partial
+   * (see {@link IGitMacheteRepositorySnapshot#isPartial}), since it's only provisional until the statuses are derived anew
+   * (e.g. the status hook or the fork point overrides might have changed without any ref being moved).
+   */
+  @UIThreadUnsafe
+  public IGitMacheteRepositorySnapshot restoreSnapshot(
+      BranchLayout branchLayout,
+      Map<String, PersistedBranchStatuses> persistedStatusesByBranchName) throws GitMacheteException {
+
+    IGitCoreLocalBranchSnapshot coreCurrentBranch = deriveCoreCurrentBranch();
+    val ongoingOperation = deriveOngoingOperation();
+
+    val skeletonSnapshot = assembleSnapshot(branchLayout, coreCurrentBranch, ongoingOperation, /* isPartial */ true);
+    val managedBranches = skeletonSnapshot.getManagedBranches();
+    for (val branch : managedBranches) {
+      val branchName = branch.getName();
+      val persistedStatuses = persistedStatusesByBranchName.get(branchName).getOrNull();
+      if (persistedStatuses == null || !persistedStatuses.getRefTips().equals(deriveRefTips(branch))) {
+        LOG.debug(() -> "Persisted statuses of branch '${branchName}' are missing or stale");
+        continue;
+      }
+      try {
+        val statuses = resolveStatuses(persistedStatuses);
+        if (statuses != null) {
+          statusesByBranchName.put(branchName, statuses);
+        } else {
+          LOG.debug(() -> "Persisted statuses of branch '${branchName}' refer to commits or branches that no longer exist");
+        }
+      } catch (GitCoreException e) {
+        throw new GitMacheteException(e);
+      }
+    }
+
+    LOG.debug(() -> "Restored statuses of ${statusesByBranchName.size()} out of ${managedBranches.size()} branch(es)");
+    return assembleSnapshot(branchLayout, coreCurrentBranch, ongoingOperation, /* isPartial */ true);
+  }
+
+  @UIThreadUnsafe
+  private @Nullable BranchStatuses resolveStatuses(PersistedBranchStatuses persistedStatuses) throws GitCoreException {
+    val loadedUniqueCommits = resolveCommits(persistedStatuses.getLoadedUniqueCommitHashes());
+    val commitsUntilParent = resolveCommits(persistedStatuses.getCommitsUntilParentHashes());
+    if (loadedUniqueCommits == null || commitsUntilParent == null) {
+      return null;
+    }
+
+    ForkPointCommitOfManagedBranch forkPoint = null;
+    val forkPointHash = persistedStatuses.getForkPointHash();
+    if (forkPointHash != null) {
+      val forkPointCoreCommit = gitCoreRepository.parseRevision(forkPointHash);
+      val branchesContainingInReflog = resolveBranchReferences(persistedStatuses.getBranchesContainingForkPointInReflog());
+      if (forkPointCoreCommit == null || branchesContainingInReflog == null) {
+        return null;
+      }
+      forkPoint = persistedStatuses.isForkPointOverridden()
+          ? ForkPointCommitOfManagedBranch.overridden(forkPointCoreCommit)
+          : ForkPointCommitOfManagedBranch.inferred(forkPointCoreCommit, branchesContainingInReflog);
+    }
+
+    return new BranchStatuses(persistedStatuses.getRefTips(), persistedStatuses.getRelationToRemote(),
+        persistedStatuses.getStatusHookOutput(), forkPoint, persistedStatuses.getSyncToParentStatus(),
+        GitCoreCommitRange.of(loadedUniqueCommits, persistedStatuses.getUniqueCommitCount()), commitsUntilParent);
+  }
+
+  @UIThreadUnsafe
+  private @Nullable List<IGitCoreCommit> resolveCommits(List<String> hashes) throws GitCoreException {
+    List<IGitCoreCommit> result = List.empty();
+    for (val hash : hashes) {
+      val commit = gitCoreRepository.parseRevision(hash);
+      if (commit == null) {
+        return null;
+      }
+      result = result.append(commit);
+    }
+    return result;
+  }
+
+  private @Nullable List<IBranchReference> resolveBranchReferences(List<PersistedBranchReference> persistedReferences) {
+    List<IBranchReference> result = List.empty();
+    for (val persistedReference : persistedReferences) {
+      val coreLocalBranch = localBranchByName.get(persistedReference.getLocalBranchName()).getOrNull();
+      if (coreLocalBranch == null) {
+        return null;
+      }
+      if (persistedReference.isRemoteTrackingBranch()) {
+        val coreRemoteTrackingBranch = coreLocalBranch.getRemoteTrackingBranch();
+        if (coreRemoteTrackingBranch == null) {
+          return null;
+        }
+        result = result.append(RemoteTrackingBranchReference.of(coreRemoteTrackingBranch, coreLocalBranch));
+      } else {
+        result = result.append(LocalBranchReference.toLocalBranchReference(coreLocalBranch));
+      }
+    }
+    return result;
+  }
+
+  private BranchStatuses.RefTips deriveRefTips(IManagedBranchSnapshot branch) {
+    val branchName = branch.getName();
+    IGitCoreLocalBranchSnapshot coreLocalBranch = localBranchByName.get(branchName).getOrNull();
+    // Only the branches that exist locally are ever managed.
+    assert coreLocalBranch != null : "Local branch '${branchName}' not found";
+
+    val coreRemoteTrackingBranch = coreLocalBranch.getRemoteTrackingBranch();
+    return new BranchStatuses.RefTips(
+        branch.getPointedCommit().getHash(),
+        branch.isNonRoot() ? branch.asNonRoot().getParent().getPointedCommit().getHash() : null,
+        coreRemoteTrackingBranch != null ? coreRemoteTrackingBranch.getPointedCommit().getHash().getHashString() : null);
+  }
+
+  /**
+   * Assembles the snapshot out of the layout and the statuses derived so far (see {@link #statusesByBranchName}).
+   * Doesn't access the repository, so that it's cheap enough to be executed many times per snapshot creation.
+   */
+  private IGitMacheteRepositorySnapshot assembleSnapshot(
+      BranchLayout branchLayout,
+      @Nullable IGitCoreLocalBranchSnapshot coreCurrentBranch,
+      IGitMacheteRepositorySnapshot.OngoingRepositoryOperation ongoingOperation,
+      boolean isPartial) {
+    createdBranches.clear();
+    val rootBranchCreationResults = branchLayout.getRootEntries().map(entry -> createGitMacheteRootBranch(entry));
+    val rootBranches = rootBranchCreationResults.flatMap(creationResult -> creationResult.getCreatedBranches());
+    val skippedBranchNames = rootBranchCreationResults.flatMap(creationResult -> creationResult.getSkippedBranchNames())
+        .toSet();
+    val duplicatedBranchNames = rootBranchCreationResults
+        .flatMap(creationResult -> creationResult.getDuplicatedBranchNames()).toSet();
+
+    val managedBranchByName = createManagedBranchByNameMap(rootBranches);
+
     IManagedBranchSnapshot currentBranchIfManaged = coreCurrentBranch != null
         ? managedBranchByName.get(coreCurrentBranch.getName()).getOrNull()
         : null;
@@ -90,6 +288,68 @@ public class CreateGitMacheteRepositoryAux extends Aux {
         ? currentBranchIfManaged.getName()
         : "<none> (unmanaged branch or detached HEAD)"));
 
+    return new GitMacheteRepositorySnapshot(mainGitDirectoryPath, List.narrow(rootBranches), branchLayout,
+        currentBranchIfManaged, managedBranchByName, duplicatedBranchNames, skippedBranchNames, ongoingOperation,
+        isPartial, HashMap.ofAll(statusesByBranchName));
+  }
+
+  @UIThreadUnsafe
+  private BranchStatuses deriveStatuses(IManagedBranchSnapshot branch) throws GitCoreException {
+    val branchName = branch.getName();
+    IGitCoreLocalBranchSnapshot coreLocalBranch = localBranchByName.get(branchName).getOrNull();
+    // Only the branches that exist locally are ever managed.
+    assert coreLocalBranch != null : "Local branch '${branchName}' not found";
+
+    IGitCoreCommit corePointedCommit = coreLocalBranch.getPointedCommit();
+    val relationToRemote = deriveRelationToRemote(coreLocalBranch);
+    val statusHookOutput = statusHookExecutor.deriveHookOutputFor(branchName, new CommitOfManagedBranch(corePointedCommit));
+
+    val refTips = deriveRefTips(branch);
+
+    if (branch.isRoot()) {
+      return new BranchStatuses(refTips, relationToRemote, statusHookOutput, /* forkPoint */ null, SyncToParentStatus.InSync,
+          GitCoreCommitRange.of(List.empty(), 0), /* commitsUntilParent */ List.empty());
+    }
+
+    val parentBranchName = branch.asNonRoot().getParent().getName();
+    IGitCoreLocalBranchSnapshot parentCoreLocalBranch = localBranchByName.get(parentBranchName).getOrNull();
+    assert parentCoreLocalBranch != null : "Local branch '${parentBranchName}' not found";
+
+    ForkPointCommitOfManagedBranch forkPoint = deriveParentAwareForkPoint(coreLocalBranch, parentCoreLocalBranch);
+
+    val syncToParentStatus = deriveSyncToParentStatus(coreLocalBranch, parentCoreLocalBranch, forkPoint);
+
+    // A branch with a wrong parent or a stale fork point can easily have thousands of "unique" commits,
+    // so unless explicitly requested for the given branch, only the newest ones are loaded, and the rest is just counted.
+    int maxLoadedCommitCount = branchNamesWithAllUniqueCommitsLoaded.contains(branchName)
+        ? Integer.MAX_VALUE
+        : maxLoadedUniqueCommitCount;
+
+    GitCoreCommitRange uniqueCommits;
+    if (forkPoint == null) {
+      // That's a rare case in practice, mostly happens due to reflog expiry.
+      uniqueCommits = GitCoreCommitRange.of(List.empty(), 0);
+    } else if (syncToParentStatus == SyncToParentStatus.MergedToParent) {
+      uniqueCommits = GitCoreCommitRange.of(List.empty(), 0);
+    } else if (syncToParentStatus == SyncToParentStatus.InSyncButForkPointOff) {
+      // In case of yellow edge, we include the entire range from the commit pointed by the branch until its parent,
+      // and not until just its fork point. This makes it possible to highlight the fork point candidate on the commit listing.
+      uniqueCommits = gitCoreRepository.deriveCommitRange(corePointedCommit, parentCoreLocalBranch.getPointedCommit(),
+          maxLoadedCommitCount);
+    } else {
+      // We're handling the cases of green and red edges here.
+      uniqueCommits = gitCoreRepository.deriveCommitRange(corePointedCommit, forkPoint.getCoreCommit(), maxLoadedCommitCount);
+    }
+
+    val commitsUntilParent = gitCoreRepository.deriveCommitRange(corePointedCommit, parentCoreLocalBranch.getPointedCommit(),
+        maxLoadedCommitCount).getLoadedCommits();
+
+    return new BranchStatuses(refTips, relationToRemote, statusHookOutput, forkPoint, syncToParentStatus, uniqueCommits,
+        commitsUntilParent);
+  }
+
+  @UIThreadUnsafe
+  private IGitMacheteRepositorySnapshot.OngoingRepositoryOperation deriveOngoingOperation() throws GitMacheteException {
     val ongoingOperationType = switch (gitCoreRepository.deriveRepositoryState()) {
       case CHERRY_PICKING -> OngoingRepositoryOperationType.CHERRY_PICKING;
       case MERGING -> OngoingRepositoryOperationType.MERGING;
@@ -101,10 +361,7 @@ public class CreateGitMacheteRepositoryAux extends Aux {
     };
 
     val operationsBaseBranchName = deriveOngoingOperationsBaseBranchName(ongoingOperationType);
-
-    return new GitMacheteRepositorySnapshot(mainGitDirectoryPath, List.narrow(rootBranches), branchLayout,
-        currentBranchIfManaged, managedBranchByName, duplicatedBranchNames, skippedBranchNames,
-        new IGitMacheteRepositorySnapshot.OngoingRepositoryOperation(ongoingOperationType, operationsBaseBranchName));
+    return new IGitMacheteRepositorySnapshot.OngoingRepositoryOperation(ongoingOperationType, operationsBaseBranchName);
   }
 
   @UIThreadUnsafe
@@ -146,26 +403,21 @@ public class CreateGitMacheteRepositoryAux extends Aux {
     return branchByName;
   }
 
-  @UIThreadUnsafe
   private CreatedAndDuplicatedAndSkippedBranches<RootManagedBranchSnapshot> createGitMacheteRootBranch(
-      BranchLayoutEntry entry) throws GitCoreException {
+      BranchLayoutEntry entry) {
 
     val branchName = entry.getName();
     IGitCoreLocalBranchSnapshot coreLocalBranch = localBranchByName.get(branchName).getOrNull();
     if (coreLocalBranch == null) {
-      val childBranchTries = entry.getChildren()
-          .map(childEntry -> Try.of(() -> createGitMacheteRootBranch(childEntry)));
-      val newRoots = Try.sequence(childBranchTries)
-          .getOrElseThrow(GitCoreException::getOrWrap)
+      val newRoots = entry.getChildren()
+          .map(childEntry -> createGitMacheteRootBranch(childEntry))
           .fold(CreatedAndDuplicatedAndSkippedBranches.empty(), CreatedAndDuplicatedAndSkippedBranches::merge);
       return newRoots.withExtraSkippedBranch(branchName);
     }
 
     if (!createdBranches.add(branchName)) {
-      val childBranchTries = entry.getChildren()
-          .map(childEntry -> Try.of(() -> createGitMacheteRootBranch(childEntry)));
-      val newRoots = Try.sequence(childBranchTries)
-          .getOrElseThrow(GitCoreException::getOrWrap)
+      val newRoots = entry.getChildren()
+          .map(childEntry -> createGitMacheteRootBranch(childEntry))
           .fold(CreatedAndDuplicatedAndSkippedBranches.empty(), CreatedAndDuplicatedAndSkippedBranches::merge);
       return newRoots.withExtraDuplicatedBranch(branchName);
     }
@@ -175,23 +427,25 @@ public class CreateGitMacheteRepositoryAux extends Aux {
     IGitCoreCommit corePointedCommit = coreLocalBranch.getPointedCommit();
 
     val pointedCommit = new CommitOfManagedBranch(corePointedCommit);
-    val relationToRemote = deriveRelationToRemote(coreLocalBranch);
     val customAnnotation = entry.getCustomAnnotation();
     val childBranches = deriveChildBranches(coreLocalBranch, entry.getChildren());
     val remoteTrackingBranch = getRemoteTrackingBranchForCoreLocalBranch(coreLocalBranch);
-    val statusHookOutput = statusHookExecutor.deriveHookOutputFor(branchName, pointedCommit);
-
-    val createdRootBranch = new RootManagedBranchSnapshot(branchName, branchFullName,
-        childBranches.getCreatedBranches(), pointedCommit, remoteTrackingBranch, relationToRemote, customAnnotation,
-        statusHookOutput);
+    val statuses = statusesByBranchName.get(branchName);
+
+    val createdRootBranch = statuses != null
+        ? new RootManagedBranchSnapshot(branchName, branchFullName, childBranches.getCreatedBranches(), pointedCommit,
+            remoteTrackingBranch, statuses.getRelationToRemote(), customAnnotation, statuses.getStatusHookOutput(),
+            /* hasPendingStatuses */ false)
+        : new RootManagedBranchSnapshot(branchName, branchFullName, childBranches.getCreatedBranches(), pointedCommit,
+            remoteTrackingBranch, PENDING_RELATION_TO_REMOTE, customAnnotation, /* statusHookOutput */ null,
+            /* hasPendingStatuses */ true);
     return CreatedAndDuplicatedAndSkippedBranches.of(List.of(createdRootBranch),
         childBranches.getDuplicatedBranchNames(), childBranches.getSkippedBranchNames());
   }
 
-  @UIThreadUnsafe
   private CreatedAndDuplicatedAndSkippedBranches<NonRootManagedBranchSnapshot> createGitMacheteNonRootBranch(
       IGitCoreLocalBranchSnapshot parentCoreLocalBranch,
-      BranchLayoutEntry entry) throws GitCoreException {
+      BranchLayoutEntry entry) {
 
     val branchName = entry.getName();
     IGitCoreLocalBranchSnapshot coreLocalBranch = localBranchByName.get(branchName).getOrNull();
@@ -213,37 +467,26 @@ public class CreateGitMacheteRepositoryAux extends Aux {
 
     IGitCoreCommit corePointedCommit = coreLocalBranch.getPointedCommit();
 
-    ForkPointCommitOfManagedBranch forkPoint = deriveParentAwareForkPoint(coreLocalBranch, parentCoreLocalBranch);
-
-    val syncToParentStatus = deriveSyncToParentStatus(coreLocalBranch, parentCoreLocalBranch, forkPoint);
-
-    List<IGitCoreCommit> uniqueCommits;
-    if (forkPoint == null) {
-      // That's a rare case in practice, mostly happens due to reflog expiry.
-      uniqueCommits = List.empty();
-    } else if (syncToParentStatus == SyncToParentStatus.MergedToParent) {
-      uniqueCommits = List.empty();
-    } else if (syncToParentStatus == SyncToParentStatus.InSyncButForkPointOff) {
-      // In case of yellow edge, we include the entire range from the commit pointed by the branch until its parent,
-      // and not until just its fork point. This makes it possible to highlight the fork point candidate on the commit listing.
-      uniqueCommits = gitCoreRepository.deriveCommitRange(corePointedCommit, parentCoreLocalBranch.getPointedCommit());
-    } else {
-      // We're handling the cases of green and red edges here.
-      uniqueCommits = gitCoreRepository.deriveCommitRange(corePointedCommit, forkPoint.getCoreCommit());
-    }
-
     val pointedCommit = new CommitOfManagedBranch(corePointedCommit);
-    val relationToRemote = deriveRelationToRemote(coreLocalBranch);
     val customAnnotation = entry.getCustomAnnotation();
     val childBranches = deriveChildBranches(coreLocalBranch, entry.getChildren());
     val remoteTrackingBranch = getRemoteTrackingBranchForCoreLocalBranch(coreLocalBranch);
-    val statusHookOutput = statusHookExecutor.deriveHookOutputFor(branchName, pointedCommit);
-    val commitsUntilParent = gitCoreRepository.deriveCommitRange(corePointedCommit, parentCoreLocalBranch.getPointedCommit());
-
-    val result = new NonRootManagedBranchSnapshot(branchName, branchFullName, childBranches.getCreatedBranches(),
-        pointedCommit, remoteTrackingBranch, relationToRemote, customAnnotation, statusHookOutput, forkPoint,
-        uniqueCommits.map(CommitOfManagedBranch::new), commitsUntilParent.map(CommitOfManagedBranch::new),
-        syncToParentStatus);
+    val statuses = statusesByBranchName.get(branchName);
+
+    // Note that the values standing in for the statuses of a pending branch are never meant to be interpreted,
+    // see `IManagedBranchSnapshot#hasPendingStatuses`.
+    val result = statuses != null
+        ? new NonRootManagedBranchSnapshot(branchName, branchFullName, childBranches.getCreatedBranches(),
+            pointedCommit, remoteTrackingBranch, statuses.getRelationToRemote(), customAnnotation,
+            statuses.getStatusHookOutput(), statuses.getForkPoint(),
+            statuses.getUniqueCommits().getLoadedCommits().map(CommitOfManagedBranch::new),
+            statuses.getUniqueCommits().getTotalCommitCount(),
+            statuses.getCommitsUntilParent().map(CommitOfManagedBranch::new),
+            statuses.getSyncToParentStatus(), /* hasPendingStatuses */ false)
+        : new NonRootManagedBranchSnapshot(branchName, branchFullName, childBranches.getCreatedBranches(),
+            pointedCommit, remoteTrackingBranch, PENDING_RELATION_TO_REMOTE, customAnnotation, /* statusHookOutput */ null,
+            /* forkPoint */ null, /* uniqueCommits */ List.empty(), /* uniqueCommitsCount */ 0,
+            /* commitsUntilParent */ List.empty(), SyncToParentStatus.InSync, /* hasPendingStatuses */ true);
     return CreatedAndDuplicatedAndSkippedBranches.of(List.of(result),
         childBranches.getDuplicatedBranchNames(), childBranches.getSkippedBranchNames());
   }
@@ -419,15 +662,12 @@ public class CreateGitMacheteRepositoryAux extends Aux {
     }
   }
 
-  @UIThreadUnsafe
   private CreatedAndDuplicatedAndSkippedBranches<NonRootManagedBranchSnapshot> deriveChildBranches(
       IGitCoreLocalBranchSnapshot parentCoreLocalBranch,
-      List<BranchLayoutEntry> entries) throws GitCoreException {
+      List<BranchLayoutEntry> entries) {
 
-    val childBranchTries = entries.map(entry -> Try.of(
-        () -> createGitMacheteNonRootBranch(parentCoreLocalBranch, entry)));
-    return Try.sequence(childBranchTries)
-        .getOrElseThrow(GitCoreException::getOrWrap)
+    return entries
+        .map(entry -> createGitMacheteNonRootBranch(parentCoreLocalBranch, entry))
         .fold(CreatedAndDuplicatedAndSkippedBranches.empty(), CreatedAndDuplicatedAndSkippedBranches::merge);
   }
 
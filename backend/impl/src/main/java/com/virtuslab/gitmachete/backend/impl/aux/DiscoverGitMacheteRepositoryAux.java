@@ -126,6 +126,35 @@ public class DiscoverGitMacheteRepositoryAux extends CreateGitMacheteRepositoryA
   @UIThreadUnsafe
   public IGitMacheteRepositorySnapshot discoverLayoutAndCreateSnapshot(int mostRecentlyCheckedOutBranchesCount)
       throws GitMacheteException, GitCoreException {
+    return createSnapshot(discoverLayout(mostRecentlyCheckedOutBranchesCount));
+  }
+
+  /** Same as {@link #discoverLayoutAndCreateSnapshot}, but without deriving any statuses (or running the status hook). */
+  @UIThreadUnsafe
+  public BranchLayout discoverLayout(int mostRecentlyCheckedOutBranchesCount) throws GitCoreException {
+    val branchLayout = discoverLayout(mostRecentlyCheckedOutBranchesCount, /* layoutToCompareWith */ null);
+    assert branchLayout != null : "discovered branch layout is null despite no layout to compare with";
+    return branchLayout;
+  }
+
+  /**
+   * Same as {@code discoverLayout(mostRecentlyCheckedOutBranchesCount).equals(branchLayout)},
+   * but stops the discovery as soon as it's clear that the layouts differ (typically after inferring just a few parents).
+   */
+  @UIThreadUnsafe
+  public boolean isDiscoveredLayoutEquivalentTo(BranchLayout branchLayout, int mostRecentlyCheckedOutBranchesCount)
+      throws GitCoreException {
+    val discoveredBranchLayout = discoverLayout(mostRecentlyCheckedOutBranchesCount, branchLayout);
+    return discoveredBranchLayout != null && discoveredBranchLayout.equals(branchLayout);
+  }
+
+  /**
+   * @param layoutToCompareWith if non-null, the discovery is abandoned (and null is returned) as soon as it turns out
+   *                            that the discovered layout can't be equal to this one
+   */
+  @UIThreadUnsafe
+  private @Nullable BranchLayout discoverLayout(int mostRecentlyCheckedOutBranchesCount,
+      @Nullable BranchLayout layoutToCompareWith) throws GitCoreException {
 
     List<String> localBranchNames = localBranches.map(lb -> lb.getName());
     List<String> fixedRootBranchNames = List.empty();
@@ -168,6 +197,13 @@ public class DiscoverGitMacheteRepositoryAux extends CreateGitMacheteRepositoryA
         .merge(nodeByFreshNonFixedRootBranch);
     LOG.debug(() -> "Branches included in the discovered layout: " + nodeByIncludedBranchName.keySet().mkString(", "));
 
+    // Branches are only ever removed from the discovered layout (and never added) after this point.
+    if (layoutToCompareWith != null
+        && !layoutToCompareWith.getRootEntries().forAll(entry -> areAllIncluded(entry, nodeByIncludedBranchName))) {
+      LOG.debug("Some branches of the layout to compare with are not included in the discovered layout");
+      return null;
+    }
+
     // `roots` may be an empty list in the rare case there's no master/main/develop branch in the repository.
     List<CompressablePathTreeNode> roots = nodeByFixedRootBranchNames.values().toList();
 
@@ -181,6 +217,11 @@ public class DiscoverGitMacheteRepositoryAux extends CreateGitMacheteRepositoryA
 
       IBranchReference parent = inferParentForLocalBranch(parentCandidateNames.toSet(), branchNode.getName());
 
+      if (layoutToCompareWith != null && isParentDifferent(layoutToCompareWith, branchNode.getName(), parent)) {
+        LOG.debug(() -> "Parent inferred for ${branchNode.getName()} differs from the one in the layout to compare with");
+        return null;
+      }
+
       if (parent != null) {
         String parentName = parent.getName();
         LOG.debug(() -> "Parent inferred for ${branchNode.getName()} is ${parentName}");
@@ -232,7 +273,26 @@ public class DiscoverGitMacheteRepositoryAux extends CreateGitMacheteRepositoryA
         parentNode.removeChild(branchNode);
       }
     }
-    return createSnapshot(new BranchLayout(roots.map(r -> r.toBranchLayoutEntry())));
+    return new BranchLayout(roots.map(r -> r.toBranchLayoutEntry()));
+  }
+
+  private static boolean areAllIncluded(BranchLayoutEntry entry, Map<String, CompressablePathTreeNode> nodeByBranchName) {
+    return nodeByBranchName.containsKey(entry.getName())
+        && entry.getChildren().forAll(child -> areAllIncluded(child, nodeByBranchName));
+  }
+
+  /**
+   * @return true if the discovered layout is bound to differ from the given layout, given the parent inferred for the branch.
+   *         Note that the branch might still get removed from the discovered layout (as merged to its parent),
+   *         which makes the layouts differ as well, unless the branch is absent from the given layout.
+   */
+  private static boolean isParentDifferent(BranchLayout branchLayout, String branchName, @Nullable IBranchReference parent) {
+    if (!branchLayout.hasEntry(branchName)) {
+      // The branch is only going to be absent from the discovered layout if it has a parent (and is merged to it).
+      return parent == null;
+    }
+    val parentEntry = branchLayout.findParentEntry(branchName);
+    return parent == null ? parentEntry != null : parentEntry == null || !parentEntry.getName().equals(parent.getName());
   }
 
 }
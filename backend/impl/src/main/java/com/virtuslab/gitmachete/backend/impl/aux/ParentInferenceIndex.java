@@ -0,0 +1,86 @@
+package com.virtuslab.gitmachete.backend.impl.aux;
+
+import io.vavr.Tuple;
+import io.vavr.collection.List;
+import io.vavr.collection.Map;
+import io.vavr.collection.Seq;
+import io.vavr.collection.Set;
+import lombok.CustomLog;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.virtuslab.gitcore.api.GitCoreException;
+import com.virtuslab.gitcore.api.IGitCoreCommitHash;
+import com.virtuslab.gitcore.api.IGitCoreRepository;
+import com.virtuslab.gitmachete.backend.api.IBranchReference;
+import com.virtuslab.gitmachete.backend.api.ILocalBranchReference;
+import com.virtuslab.qual.guieffect.UIThreadUnsafe;
+
+/**
+ * Everything that parent inference needs (apart from the walk over the ancestors of the given branch),
+ * as derived by an {@link Aux}: the branches containing each commit in their (filtered) reflogs.
+ * Deriving it requires reading the reflogs of all local and remote tracking branches,
+ * so the index is meant to outlive the aux that has derived it (see {@link Aux#deriveParentInferenceIndex}).
+ * <br>
+ * The given branch itself, on the other hand, is always resolved anew (which is just a cheap ref lookup),
+ * as it might have moved since the index has been derived (e.g. reset or fast-forwarded elsewhere and then checked out).
+ * The index doesn't get stale in any way that matters as long as the other branches don't move:
+ * the commits that the given branch has gained since the index has been derived aren't in the reflog of any other branch
+ * anyway (or otherwise, these branches must have moved).
+ */
+@CustomLog
+@RequiredArgsConstructor
+public final class ParentInferenceIndex {
+  private final Map<IGitCoreCommitHash, Seq<IBranchReference>> branchesContainingGivenCommitInReflog;
+
+  /**
+   * @param gitCoreRepository the repository to resolve the given branch and to walk its ancestors in
+   */
+  @UIThreadUnsafe
+  public @Nullable ILocalBranchReference inferParentForLocalBranch(
+      IGitCoreRepository gitCoreRepository,
+      Set<String> eligibleLocalBranchNames,
+      String localBranchName) throws GitCoreException {
+
+    val pointedCommit = gitCoreRepository.parseRevision("refs/heads/" + localBranchName);
+    if (pointedCommit == null) {
+      LOG.debug(() -> "Branch '${localBranchName}' does not exist");
+      return null;
+    }
+
+    LOG.debug(() -> "Branch(es) eligible for becoming the parent of ${localBranchName}: " +
+        "${eligibleLocalBranchNames.mkString(\", \")}");
+
+    val commitAndContainingBranches = gitCoreRepository
+        .ancestorsOf(pointedCommit)
+        .map(commit -> {
+          Seq<ILocalBranchReference> eligibleContainingBranches = branchesContainingGivenCommitInReflog
+              .getOrElse(commit.getHash(), List.empty())
+              .map(candidateBranch -> candidateBranch.isLocal()
+                  ? candidateBranch.asLocal()
+                  : candidateBranch.asRemote().getTrackedLocalBranch())
+              .filter(correspondingLocalBranch -> !correspondingLocalBranch.getName().equals(localBranchName)
+                  && eligibleLocalBranchNames.contains(correspondingLocalBranch.getName()));
+          return Tuple.of(commit, eligibleContainingBranches);
+        })
+        .find(ccbs -> ccbs._2.nonEmpty())
+        .getOrNull();
+
+    if (commitAndContainingBranches != null) {
+      val commit = commitAndContainingBranches._1;
+      val containingBranches = commitAndContainingBranches._2.toList();
+      assert containingBranches.nonEmpty() : "containingBranches is empty";
+
+      val firstContainingBranch = containingBranches.head();
+      val containingBranchNames = containingBranches.map(IBranchReference::getName);
+      LOG.debug(() -> "Commit ${commit} found in filtered reflog(s) " +
+          "of managed branch(es) ${containingBranchNames.mkString(\", \")}; " +
+          "returning ${firstContainingBranch.getName()} as the inferred parent for branch '${localBranchName}'");
+      return firstContainingBranch;
+    } else {
+      LOG.debug(() -> "Could not infer parent for branch '${localBranchName}'");
+      return null;
+    }
+  }
+}
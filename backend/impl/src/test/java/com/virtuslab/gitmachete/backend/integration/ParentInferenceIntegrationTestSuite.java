@@ -4,14 +4,19 @@ import static com.virtuslab.gitmachete.testcommon.SetupScripts.SETUP_FOR_OVERRID
 import static com.virtuslab.gitmachete.testcommon.SetupScripts.SETUP_FOR_YELLOW_EDGES;
 import static com.virtuslab.gitmachete.testcommon.SetupScripts.SETUP_WITH_SINGLE_REMOTE;
 import static com.virtuslab.gitmachete.testcommon.TestFileUtils.cleanUpDir;
+import static com.virtuslab.gitmachete.testcommon.TestProcessUtils.runProcessAndReturnStdout;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import io.vavr.collection.List;
+import io.vavr.collection.Set;
 import lombok.SneakyThrows;
 import lombok.val;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import com.virtuslab.branchlayout.api.BranchLayoutEntry;
 import com.virtuslab.gitmachete.backend.api.IManagedBranchSnapshot;
 
 public class ParentInferenceIntegrationTestSuite extends BaseIntegrationTestSuite {
@@ -43,4 +48,44 @@ public class ParentInferenceIntegrationTestSuite extends BaseIntegrationTestSuit
     cleanUpDir(repo.parentDirectoryPath);
   }
 
+  @ParameterizedTest
+  @MethodSource("getTestData")
+  @SneakyThrows
+  public void parentIsCorrectlyInferredWithoutPriorSnapshot(String scriptName, String forBranch, String expectedParent) {
+    setUp(scriptName);
+
+    // No snapshot has been created for this repository yet, so the parent inference index isn't available.
+    val managedBranchNames = getAllEntryNames(branchLayout.getRootEntries());
+    val result = gitMacheteRepository.inferParentForLocalBranch(managedBranchNames, forBranch);
+    assertNotNull(result);
+    assertEquals(expectedParent, result.getName());
+
+    // Deliberately done in the test and in not an @After method, so that the directory is retained in case of test failure.
+    cleanUpDir(repo.parentDirectoryPath);
+  }
+
+  @Test
+  @SneakyThrows
+  public void parentIsCorrectlyInferredForBranchMovedAfterSnapshot() {
+    setUp(SETUP_FOR_YELLOW_EDGES);
+
+    val gitMacheteRepositorySnapshot = gitMacheteRepository.createSnapshotForLayout(branchLayout);
+
+    // Once moved onto the tip of master, drop-constraint no longer has anything to do with call-ws.
+    runProcessAndReturnStdout(repo.rootDirectoryPath, /* timeoutSeconds */ 60,
+        "git", "branch", "--force", "drop-constraint", "master");
+
+    val managedBranchNames = gitMacheteRepositorySnapshot.getManagedBranches().map(IManagedBranchSnapshot::getName).toSet();
+    val result = gitMacheteRepository.inferParentForLocalBranch(managedBranchNames, "drop-constraint");
+    assertNotNull(result);
+    assertEquals("master", result.getName());
+
+    // Deliberately done in the test and in not an @After method, so that the directory is retained in case of test failure.
+    cleanUpDir(repo.parentDirectoryPath);
+  }
+
+  private static Set<String> getAllEntryNames(List<BranchLayoutEntry> entries) {
+    return entries.flatMap(entry -> getAllEntryNames(entry.getChildren()).add(entry.getName())).toSet();
+  }
+
 }
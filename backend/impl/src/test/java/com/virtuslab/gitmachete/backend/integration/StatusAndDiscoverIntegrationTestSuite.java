@@ -10,8 +10,13 @@ import static com.virtuslab.gitmachete.backend.api.SyncToRemoteStatus.Untracked;
 import static com.virtuslab.gitmachete.testcommon.SetupScripts.ALL_SETUP_SCRIPTS;
 import static com.virtuslab.gitmachete.testcommon.TestFileUtils.cleanUpDir;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
 
 import io.vavr.collection.List;
 import lombok.SneakyThrows;
@@ -51,6 +56,102 @@ public class StatusAndDiscoverIntegrationTestSuite extends BaseIntegrationTestSu
     cleanUpDir(repo.parentDirectoryPath);
   }
 
+  @ParameterizedTest
+  @MethodSource("getScriptNames")
+  @SneakyThrows
+  public void restoresSameStatusFromPersistedSnapshot(String scriptName) {
+    setUp(scriptName);
+
+    val gitMacheteRepositorySnapshot = gitMacheteRepository.createSnapshotForLayout(branchLayout);
+    val snapshotFilePath = repo.parentDirectoryPath.resolve("snapshot.bin");
+    gitMacheteRepository.persistSnapshot(gitMacheteRepositorySnapshot, snapshotFilePath);
+    val restoredSnapshot = gitMacheteRepository.restoreSnapshot(branchLayout, snapshotFilePath);
+
+    assertNotNull(restoredSnapshot, "in " + repo.rootDirectoryPath + ", set up using " + scriptName);
+    // The restored snapshot is only provisional until the statuses are derived anew, even if none of them is pending.
+    assertTrue(restoredSnapshot.isPartial(), "in " + repo.rootDirectoryPath + ", set up using " + scriptName);
+    assertFalse(restoredSnapshot.getManagedBranches().exists(IManagedBranchSnapshot::hasPendingStatuses),
+        "in " + repo.rootDirectoryPath + ", set up using " + scriptName);
+    assertEquals(ourGitMacheteRepositorySnapshotAsString(gitMacheteRepositorySnapshot),
+        ourGitMacheteRepositorySnapshotAsString(restoredSnapshot),
+        "in " + repo.rootDirectoryPath + ", set up using " + scriptName);
+
+    // Persisting the same statuses again doesn't replace the file.
+    val fileKey = Files.readAttributes(snapshotFilePath, BasicFileAttributes.class).fileKey();
+    gitMacheteRepository.persistSnapshot(gitMacheteRepository.createSnapshotForLayout(branchLayout), snapshotFilePath);
+    assertEquals(fileKey, Files.readAttributes(snapshotFilePath, BasicFileAttributes.class).fileKey(),
+        "in " + repo.rootDirectoryPath + ", set up using " + scriptName);
+
+    // Deliberately done in the test and in not an @After method, so that the directory is retained in case of test failure.
+    cleanUpDir(repo.parentDirectoryPath);
+  }
+
+  @ParameterizedTest
+  @MethodSource("getScriptNames")
+  @SneakyThrows
+  public void diffsSnapshotAgainstPreviousOne(String scriptName) {
+    setUp(scriptName);
+
+    val gitMacheteRepositorySnapshot = gitMacheteRepository.createSnapshotForLayout(branchLayout);
+    val managedBranchNames = gitMacheteRepositorySnapshot.getManagedBranches().map(IManagedBranchSnapshot::getName);
+
+    val diffAgainstNull = gitMacheteRepositorySnapshot.diff(NullGitMacheteRepositorySnapshot.getInstance());
+    assertEquals(managedBranchNames, diffAgainstNull.getAddedBranchNames().toList());
+    assertEquals(gitMacheteRepositorySnapshot.getSkippedBranchNames(), diffAgainstNull.getNewlySkippedBranchNames());
+
+    val diffAgainstItself = gitMacheteRepositorySnapshot.diff(gitMacheteRepositorySnapshot);
+    assertTrue(diffAgainstItself.isEmpty(), diffAgainstItself.toString());
+    assertTrue(diffAgainstItself.getNewlySkippedBranchNames().isEmpty(), diffAgainstItself.toString());
+
+    val diffOfNull = NullGitMacheteRepositorySnapshot.getInstance().diff(gitMacheteRepositorySnapshot);
+    assertEquals(managedBranchNames, diffOfNull.getRemovedBranchNames().toList());
+
+    // Deliberately done in the test and in not an @After method, so that the directory is retained in case of test failure.
+    cleanUpDir(repo.parentDirectoryPath);
+  }
+
+  @ParameterizedTest
+  @MethodSource("getScriptNames")
+  @SneakyThrows
+  public void tellsWhetherAnyBranchIsOutOfSyncFromGivenBranch(String scriptName) {
+    setUp(scriptName);
+
+    val gitMacheteRepositorySnapshot = gitMacheteRepository.createSnapshotForLayout(branchLayout);
+    val managedBranches = gitMacheteRepositorySnapshot.getManagedBranches();
+    for (val branch : managedBranches) {
+      boolean expected = managedBranches.dropUntil(b -> b.getName().equals(branch.getName()))
+          .exists(IManagedBranchSnapshot::isOutOfSync);
+      assertEquals(expected, gitMacheteRepositorySnapshot.isAnyBranchOutOfSyncFrom(branch.getName()),
+          "for ${branch.getName()} in " + repo.rootDirectoryPath + ", set up using " + scriptName);
+    }
+    assertFalse(gitMacheteRepositorySnapshot.isAnyBranchOutOfSyncFrom("no-such-branch"));
+
+    // Deliberately done in the test and in not an @After method, so that the directory is retained in case of test failure.
+    cleanUpDir(repo.parentDirectoryPath);
+  }
+
+  @ParameterizedTest
+  @MethodSource("getScriptNames")
+  @SneakyThrows
+  public void tellsWhetherUniqueCommitsAreLoaded(String scriptName) {
+    setUp(scriptName);
+
+    val gitMacheteRepositorySnapshot = gitMacheteRepository.createSnapshotForLayout(branchLayout);
+    val nonRootBranches = gitMacheteRepositorySnapshot.getManagedBranches().flatMap(branch -> branch.isNonRoot()
+        ? List.of(branch.asNonRoot())
+        : List.<INonRootManagedBranchSnapshot>empty());
+    for (val branch : nonRootBranches) {
+      assertEquals(branch.getUniqueCommits().size() == branch.getUniqueCommitsCount(), branch.hasAllUniqueCommitsLoaded(),
+          "for ${branch.getName()} in " + repo.rootDirectoryPath + ", set up using " + scriptName);
+    }
+    assertEquals(nonRootBranches.exists(branch -> branch.getUniqueCommits().nonEmpty()),
+        gitMacheteRepositorySnapshot.hasAnyUniqueCommits(),
+        "in " + repo.rootDirectoryPath + ", set up using " + scriptName);
+
+    // Deliberately done in the test and in not an @After method, so that the directory is retained in case of test failure.
+    cleanUpDir(repo.parentDirectoryPath);
+  }
+
   @ParameterizedTest
   @MethodSource("getScriptNames")
   @SneakyThrows
@@ -75,6 +176,23 @@ public class StatusAndDiscoverIntegrationTestSuite extends BaseIntegrationTestSu
     cleanUpDir(repo.parentDirectoryPath);
   }
 
+  @ParameterizedTest
+  @MethodSource("getScriptNames")
+  @SneakyThrows
+  public void discoversLayoutWithoutSnapshot(String scriptName) {
+    setUp(scriptName);
+
+    val discoveredBranchLayout = gitMacheteRepository.discoverLayout();
+    assertEquals(gitMacheteRepository.discoverLayoutAndCreateSnapshot().getBranchLayout(), discoveredBranchLayout);
+
+    assertTrue(gitMacheteRepository.isDiscoveredLayoutEquivalentTo(discoveredBranchLayout));
+    assertEquals(discoveredBranchLayout.equals(branchLayout),
+        gitMacheteRepository.isDiscoveredLayoutEquivalentTo(branchLayout));
+
+    // Deliberately done in the test and in not an @After method, so that the directory is retained in case of test failure.
+    cleanUpDir(repo.parentDirectoryPath);
+  }
+
   @SneakyThrows
   private String gitMacheteCliStatusOutput(String scriptName) {
     return IOUtils.resourceToString("/${scriptName}-status.txt", StandardCharsets.UTF_8);
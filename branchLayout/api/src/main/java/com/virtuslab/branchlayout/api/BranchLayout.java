@@ -4,10 +4,15 @@ import java.util.Comparator;
 import java.util.Objects;
 
 import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.collection.Array;
+import io.vavr.collection.HashMap;
 import io.vavr.collection.List;
 import io.vavr.collection.Map;
+import io.vavr.collection.Vector;
 import lombok.Getter;
 import lombok.val;
+import org.checkerframework.checker.index.qual.GTENegativeOne;
 import org.checkerframework.checker.index.qual.LTLengthOf;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -21,18 +26,60 @@ public class BranchLayout {
   @Getter
   private final List<BranchLayoutEntry> rootEntries;
 
-  private final List<BranchLayoutEntry> allEntries;
+  // All entries in pre-order, i.e. in the order in which they appear in the machete file.
+  // All the indices below refer to the positions in this array.
+  private final Array<BranchLayoutEntry> allEntries;
+
+  // Index of the parent of the given entry, or -1 for root entries.
+  private final int[] parentIndices;
+
+  // Index just past the last descendant of the given entry, so that the descendants of entry `i`
+  // are exactly the entries at indices from `i + 1` (inclusive) to `subtreeEndIndices[i]` (exclusive).
+  private final int[] subtreeEndIndices;
+
+  // Indices of all entries with the given name, in ascending order; more than one index only for duplicated entries.
+  private final Map<String, List<Integer>> indicesByName;
 
   private final Map<String, BranchLayoutEntry> entryByName;
 
   public BranchLayout(List<BranchLayoutEntry> rootEntries) {
     this.rootEntries = rootEntries;
-    this.allEntries = rootEntries.flatMap(BranchLayout::collectEntriesRecursively);
-    this.entryByName = allEntries.toMap(entry -> Tuple.of(entry.getName(), entry));
-  }
 
-  private static List<BranchLayoutEntry> collectEntriesRecursively(BranchLayoutEntry entry) {
-    return entry.getChildren().flatMap(BranchLayout::collectEntriesRecursively).prepend(entry);
+    Vector<BranchLayoutEntry> entries = Vector.empty();
+    Vector<Integer> parentIndexVector = Vector.empty();
+    List<Tuple2<BranchLayoutEntry, Integer>> stack = rootEntries.map(e -> Tuple.of(e, -1));
+    // A non-recursive DFS over all entries, so that even very deep layouts don't overflow the call stack
+    while (stack.nonEmpty()) {
+      val entryAndParentIndex = stack.head();
+      val entry = entryAndParentIndex._1;
+      int index = entries.size();
+      entries = entries.append(entry);
+      parentIndexVector = parentIndexVector.append(entryAndParentIndex._2);
+      stack = stack.tail().prependAll(entry.getChildren().map(child -> Tuple.of(child, index)));
+    }
+
+    val allEntriesArray = Array.ofAll(entries);
+    this.allEntries = allEntriesArray;
+    int size = allEntriesArray.size();
+    this.parentIndices = new int[size];
+    this.subtreeEndIndices = new int[size];
+    Map<String, List<Integer>> indicesByNameMap = HashMap.empty();
+    for (int i = 0; i < size; i++) {
+      parentIndices[i] = parentIndexVector.get(i);
+      subtreeEndIndices[i] = i + 1;
+      indicesByNameMap = indicesByNameMap.put(allEntriesArray.get(i).getName(), List.of(i), List::appendAll);
+    }
+    // Descendants always come after their ancestors in pre-order, so by iterating backwards,
+    // each entry's subtree is already complete by the time it's propagated to the parent.
+    for (int i = size - 1; i >= 0; i--) {
+      int parentIndex = parentIndices[i];
+      if (parentIndex >= 0 && subtreeEndIndices[parentIndex] < subtreeEndIndices[i]) {
+        subtreeEndIndices[parentIndex] = subtreeEndIndices[i];
+      }
+    }
+    this.indicesByName = indicesByNameMap;
+    // In case of duplicated entries, the last one wins (as it always did).
+    this.entryByName = indicesByNameMap.mapValues(indices -> allEntriesArray.get(indices.last()));
   }
 
   public @Nullable BranchLayoutEntry getEntryByName(String branchName) {
@@ -44,17 +91,22 @@ public class BranchLayout {
   }
 
   public boolean isEntryDuplicated(String branchName) {
-    val numberOfEntriesForBranchName = allEntries
-        .count(entry -> entry.getName().equals(branchName));
-    return numberOfEntriesForBranchName > 1;
+    return indicesByName.get(branchName).map(indices -> indices.size() > 1).getOrElse(false);
+  }
+
+  private @GTENegativeOne int findFirstIndex(String branchName) {
+    return indicesByName.get(branchName).map(indices -> indices.head()).getOrElse(-1);
+  }
+
+  private @GTENegativeOne int findLastIndex(String branchName) {
+    return indicesByName.get(branchName).map(indices -> indices.last()).getOrElse(-1);
   }
 
   public @Nullable BranchLayoutEntry findNextEntry(String branchName) {
-    val entriesOrderedList = allEntries.map(BranchLayoutEntry::getName);
-    val currentIndex = entriesOrderedList.indexOf(branchName);
-    if (currentIndex > -1 && currentIndex + 1 < entriesOrderedList.length()) {
-      @LTLengthOf("entriesOrderedList") int nextIndex = currentIndex + 1;
-      return getEntryByName(entriesOrderedList.get(nextIndex));
+    val currentIndex = findFirstIndex(branchName);
+    if (currentIndex > -1 && currentIndex + 1 < allEntries.length()) {
+      @LTLengthOf("allEntries") int nextIndex = currentIndex + 1;
+      return getEntryByName(allEntries.get(nextIndex).getName());
     }
     return null;
   }
@@ -65,95 +117,59 @@ public class BranchLayout {
   }
 
   public @Nullable BranchLayoutEntry findPreviousEntry(String branchName) {
-    val entriesOrderedList = allEntries.map(BranchLayoutEntry::getName);
-    val currentIndex = entriesOrderedList.indexOf(branchName);
-    if (currentIndex > 0 && currentIndex < entriesOrderedList.length()) {
-      @LTLengthOf("entriesOrderedList") int previousIndex = currentIndex - 1;
-      return getEntryByName(entriesOrderedList.get(previousIndex));
+    val currentIndex = findFirstIndex(branchName);
+    if (currentIndex > 0 && currentIndex < allEntries.length()) {
+      @LTLengthOf("allEntries") int previousIndex = currentIndex - 1;
+      return getEntryByName(allEntries.get(previousIndex).getName());
     }
     return null;
   }
 
-  public BranchLayout rename(String currentBranchName, String newBranchName) {
-    if (currentBranchName.equals(newBranchName)) {
-      return new BranchLayout(rootEntries);
-    }
-    return new BranchLayout(rootEntries.flatMap(rootEntry -> rename(rootEntry, currentBranchName, newBranchName)));
-  }
-
-  private List<BranchLayoutEntry> rename(BranchLayoutEntry entry, String currentBranchName, String newBranchName) {
-    val newChildren = entry.getChildren().flatMap(child -> rename(child, currentBranchName, newBranchName));
-    if (entry.getName().equals(currentBranchName)) {
-      return List.of(entry.withName(newBranchName));
-    } else {
-      return List.of(entry.withChildren(newChildren));
+  /**
+   * @return the parent of the last entry with the given name (just like {@link #getEntryByName} returns the last one),
+   *         or null if the entry does not exist or is a root entry
+   */
+  @SuppressWarnings({"index:array.access.unsafe.high", "index:array.access.unsafe.low"})
+  public @Nullable BranchLayoutEntry findParentEntry(String branchName) {
+    val currentIndex = findLastIndex(branchName);
+    if (currentIndex < 0) {
+      return null;
     }
+    int parentIndex = parentIndices[currentIndex];
+    return parentIndex >= 0 ? allEntries.get(parentIndex) : null;
   }
 
-  public BranchLayout slideOut(String branchName) {
-    return new BranchLayout(rootEntries.flatMap(rootEntry -> slideOut(rootEntry, branchName)));
+  /**
+   * @return true if any entry named {@code presumedDescendantName}
+   *         lies in the subtree of any entry named {@code presumedAncestorName} (excluding the entry itself)
+   */
+  @SuppressWarnings({"index:array.access.unsafe.high", "index:array.access.unsafe.low"})
+  public boolean isDescendant(String presumedAncestorName, String presumedDescendantName) {
+    val ancestorIndices = indicesByName.get(presumedAncestorName).getOrElse(List.empty());
+    val descendantIndices = indicesByName.get(presumedDescendantName).getOrElse(List.empty());
+    return ancestorIndices.exists(ancestorIndex -> descendantIndices
+        .exists(descendantIndex -> ancestorIndex < descendantIndex && descendantIndex < subtreeEndIndices[ancestorIndex]));
   }
 
-  private List<BranchLayoutEntry> slideOut(BranchLayoutEntry entry, String entryNameToSlideOut) {
-    val newChildren = entry.getChildren().flatMap(child -> slideOut(child, entryNameToSlideOut));
-    if (entry.getName().equals(entryNameToSlideOut)) {
-      return newChildren;
-    } else {
-      return List.of(entry.withChildren(newChildren));
-    }
+  /**
+   * @return an editor that applies any number of operations on this layout with a single rebuild of the entry tree;
+   *         preferable over the one-off operations below whenever more than one operation is to be performed
+   */
+  public BranchLayoutEditor edit() {
+    return new BranchLayoutEditor(rootEntries);
   }
 
-  public BranchLayout slideIn(String parentBranchName, BranchLayoutEntry entryToSlideIn)
-      throws EntryDoesNotExistException, EntryIsDescendantOfException {
-    val parentEntry = getEntryByName(parentBranchName);
-    if (parentEntry == null) {
-      throw new EntryDoesNotExistException("Parent branch entry '${parentBranchName}' does not exist");
-    }
-    val entry = getEntryByName(entryToSlideIn.getName());
-    val entryAlreadyExists = entry != null;
-
-    if (entry != null && isDescendant(/* presumedAncestor */ entry, /* presumedDescendant */ parentEntry)) {
-      throw new EntryIsDescendantOfException(
-          "Entry '${parentEntry.getName()}' is a descendant of entry '${entryToSlideIn.getName()}'");
-    }
-
-    val newRootEntries = entryAlreadyExists
-        ? removeEntry(/* branchLayout */ this, entryToSlideIn.getName())
-        : rootEntries;
-    return new BranchLayout(newRootEntries.map(rootEntry -> slideIn(rootEntry, entryToSlideIn, parentEntry)));
-  }
-
-  private static boolean isDescendant(BranchLayoutEntry presumedAncestor, BranchLayoutEntry presumedDescendant) {
-    if (presumedAncestor.getChildren().contains(presumedDescendant)) {
-      return true;
-    }
-    return presumedAncestor.getChildren().exists(e -> isDescendant(e, presumedDescendant));
-  }
-
-  private static List<BranchLayoutEntry> removeEntry(BranchLayout branchLayout, String branchName) {
-    val rootEntries = branchLayout.getRootEntries();
-    if (rootEntries.map(e -> e.getName()).exists(name -> name.equals(branchName))) {
-      return rootEntries.reject(e -> e.getName().equals(branchName));
-    } else {
-      return removeEntry(rootEntries, branchName);
-    }
+  public BranchLayout rename(String currentBranchName, String newBranchName) {
+    return edit().rename(currentBranchName, newBranchName).build();
   }
 
-  private static List<BranchLayoutEntry> removeEntry(List<BranchLayoutEntry> entries, String branchName) {
-    return entries.reject(e -> e.getName().equals(branchName))
-        .map(e -> e.withChildren(removeEntry(e.getChildren(), branchName)));
+  public BranchLayout slideOut(String branchName) {
+    return edit().slideOut(branchName).build();
   }
 
-  private static BranchLayoutEntry slideIn(
-      BranchLayoutEntry entry,
-      BranchLayoutEntry entryToSlideIn,
-      BranchLayoutEntry parent) {
-    val children = entry.getChildren();
-    if (entry.getName().equals(parent.getName())) {
-      return entry.withChildren(children.append(entryToSlideIn));
-    } else {
-      return entry.withChildren(children.map(child -> slideIn(child, entryToSlideIn, parent)));
-    }
+  public BranchLayout slideIn(String parentBranchName, BranchLayoutEntry entryToSlideIn)
+      throws EntryDoesNotExistException, EntryIsDescendantOfException {
+    return edit().slideIn(parentBranchName, entryToSlideIn).build();
   }
 
   @Override
@@ -0,0 +1,194 @@
+package com.virtuslab.branchlayout.api;
+
+import io.vavr.collection.HashMap;
+import io.vavr.collection.List;
+import io.vavr.collection.Map;
+import io.vavr.collection.Vector;
+import lombok.val;
+import org.checkerframework.checker.interning.qual.UsesObjectEquals;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ *  Accumulates any number of slide-out, slide-in, rename and reorder operations on a {@link BranchLayout},
+ *  and then applies them all with a single rebuild of the entry tree in {@link #build}.
+ *  Each operation costs time proportional to the number of entries it actually touches
+ *  (rather than to the size of the entire layout, as with the respective one-off methods of {@link BranchLayout}).
+ *  <br>
+ *  Instances are obtained via {@link BranchLayout#edit} and are not meant to be reused after {@link #build} is called.
+ */
+public final class BranchLayoutEditor {
+
+  /** A mutable counterpart of {@link BranchLayoutEntry}, valid only until {@link #build} is called. */
+  @UsesObjectEquals
+  private static final class Node {
+    private String name;
+    private @Nullable String customAnnotation;
+    private @Nullable Node parent;
+    private Vector<Node> children = Vector.empty();
+
+    // Slid out nodes are only physically removed from the tree on `build`, with their children taking their place.
+    private boolean isSlidOut;
+    // Removed nodes are only physically removed from the tree on `build`, together with their entire subtrees.
+    private boolean isRemoved;
+
+    Node(String name, @Nullable String customAnnotation, @Nullable Node parent) {
+      this.name = name;
+      this.customAnnotation = customAnnotation;
+      this.parent = parent;
+    }
+  }
+
+  // Artificial node (never registered in `nodesByName`) whose children are the root entries.
+  private final Node rootsHolder = new Node(/* name */ "", /* customAnnotation */ null, /* parent */ null);
+
+  // All nodes that are neither slid out nor removed, by name; more than one node per name only for duplicated entries.
+  private Map<String, List<Node>> nodesByName = HashMap.empty();
+
+  BranchLayoutEditor(List<BranchLayoutEntry> rootEntries) {
+    for (val rootEntry : rootEntries) {
+      rootsHolder.children = rootsHolder.children.append(createSubtree(rootEntry, rootsHolder));
+    }
+  }
+
+  private Node createSubtree(BranchLayoutEntry entry, Node parent) {
+    val node = new Node(entry.getName(), entry.getCustomAnnotation(), parent);
+    register(node);
+    for (val child : entry.getChildren()) {
+      node.children = node.children.append(createSubtree(child, node));
+    }
+    return node;
+  }
+
+  private void register(Node node) {
+    nodesByName = nodesByName.put(node.name, List.of(node), List::appendAll);
+  }
+
+  private void unregister(Node node) {
+    val remainingNodes = getNodesByName(node.name).remove(node);
+    nodesByName = remainingNodes.isEmpty() ? nodesByName.remove(node.name) : nodesByName.put(node.name, remainingNodes);
+  }
+
+  private List<Node> getNodesByName(String branchName) {
+    return nodesByName.get(branchName).getOrElse(List.empty());
+  }
+
+  /** Equivalent of {@link BranchLayout#slideOut}: all entries with the given name are replaced with their children. */
+  public BranchLayoutEditor slideOut(String branchName) {
+    for (val node : getNodesByName(branchName)) {
+      node.isSlidOut = true;
+      unregister(node);
+    }
+    return this;
+  }
+
+  /** Equivalent of {@link BranchLayout#rename}: all entries with the given name are renamed. */
+  public BranchLayoutEditor rename(String currentBranchName, String newBranchName) {
+    if (currentBranchName.equals(newBranchName)) {
+      return this;
+    }
+    for (val node : getNodesByName(currentBranchName)) {
+      unregister(node);
+      node.name = newBranchName;
+      register(node);
+    }
+    return this;
+  }
+
+  /**
+   * Equivalent of {@link BranchLayout#slideIn}: any existing entries with the name of {@code entryToSlideIn}
+   * are removed (together with their subtrees), and then {@code entryToSlideIn} is appended
+   * as the last child of each entry named {@code parentBranchName}.
+   */
+  public BranchLayoutEditor slideIn(String parentBranchName, BranchLayoutEntry entryToSlideIn)
+      throws EntryDoesNotExistException, EntryIsDescendantOfException {
+    val parentNodes = getNodesByName(parentBranchName);
+    if (parentNodes.isEmpty()) {
+      throw new EntryDoesNotExistException("Parent branch entry '${parentBranchName}' does not exist");
+    }
+
+    val entryName = entryToSlideIn.getName();
+    if (parentNodes.exists(parentNode -> hasAncestorNamed(parentNode, entryName))) {
+      throw new EntryIsDescendantOfException(
+          "Entry '${parentBranchName}' is a descendant of entry '${entryName}'");
+    }
+
+    for (val existingNode : getNodesByName(entryName)) {
+      existingNode.isRemoved = true;
+      unregisterSubtree(existingNode);
+    }
+
+    for (val parentNode : parentNodes) {
+      // Parent node might have just been removed in the rare case when it's the same as the entry to slide in.
+      if (!parentNode.isRemoved) {
+        parentNode.children = parentNode.children.append(createSubtree(entryToSlideIn, parentNode));
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Reorders the children of each entry named {@code parentBranchName}
+   * (or the root entries, if {@code parentBranchName} is null).
+   * Children listed in {@code childBranchNamesInNewOrder} go first, in the given order;
+   * all other children follow, retaining their original relative order.
+   */
+  public BranchLayoutEditor reorderChildren(@Nullable String parentBranchName, List<String> childBranchNamesInNewOrder) {
+    Map<String, Integer> positionByName = HashMap.ofEntries(childBranchNamesInNewOrder.distinct().zipWithIndex());
+
+    val parentNodes = parentBranchName != null ? getNodesByName(parentBranchName) : List.of(rootsHolder);
+    for (val parentNode : parentNodes) {
+      // `sortBy` is stable, so the unlisted children retain their relative order.
+      parentNode.children = getEffectiveChildren(parentNode)
+          .sortBy(child -> positionByName.get(child.name).getOrElse(Integer.MAX_VALUE));
+    }
+    return this;
+  }
+
+  public BranchLayout build() {
+    return new BranchLayout(buildEntries(rootsHolder));
+  }
+
+  private List<BranchLayoutEntry> buildEntries(Node parent) {
+    return getEffectiveChildren(parent)
+        .map(node -> new BranchLayoutEntry(node.name, node.customAnnotation, buildEntries(node)))
+        .toList();
+  }
+
+  /**
+   * @return the children of the given node as they would appear after {@link #build},
+   *         i.e. with removed nodes dropped and slid out nodes replaced with their (effective) children
+   */
+  private Vector<Node> getEffectiveChildren(Node node) {
+    Vector<Node> result = Vector.empty();
+    for (val child : node.children) {
+      if (child.isRemoved) {
+        continue;
+      }
+      if (child.isSlidOut) {
+        for (val grandchild : getEffectiveChildren(child)) {
+          grandchild.parent = node;
+          result = result.append(grandchild);
+        }
+      } else {
+        result = result.append(child);
+      }
+    }
+    return result;
+  }
+
+  private boolean hasAncestorNamed(Node node, String ancestorName) {
+    for (Node ancestor = node.parent; ancestor != null; ancestor = ancestor.parent) {
+      if (!ancestor.isSlidOut && !ancestor.isRemoved && ancestor != rootsHolder && ancestor.name.equals(ancestorName)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void unregisterSubtree(Node node) {
+    unregister(node);
+    for (val child : node.children) {
+      unregisterSubtree(child);
+    }
+  }
+}
@@ -1,10 +1,13 @@
 package com.virtuslab.branchlayout.api.readwrite;
 
 import java.io.InputStream;
+import java.io.Reader;
 
 import com.virtuslab.branchlayout.api.BranchLayout;
 import com.virtuslab.branchlayout.api.BranchLayoutException;
 
 public interface IBranchLayoutReader {
   BranchLayout read(InputStream inputStream) throws BranchLayoutException;
+
+  BranchLayout read(Reader reader) throws BranchLayoutException;
 }
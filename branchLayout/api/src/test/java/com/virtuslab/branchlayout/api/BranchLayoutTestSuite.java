@@ -1,8 +1,11 @@
 package com.virtuslab.branchlayout.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.vavr.collection.List;
@@ -84,6 +87,53 @@ public class BranchLayoutTestSuite {
     assertEquals(rootName1, branchLayout.findPreviousEntry(rootName2).getName());
   }
 
+  @Test
+  public void shouldBeAbleToFindParentsDescendantsAndDuplicates() {
+    // given
+
+    /*-
+        root
+          parent0
+            child0
+            child1
+          parent1
+            child0
+        other
+    */
+
+    val parent0 = new BranchLayoutEntry("parent0", /* customAnnotation */ null, List.of(
+        new BranchLayoutEntry("child0", /* customAnnotation */ null, List.empty()),
+        new BranchLayoutEntry("child1", /* customAnnotation */ null, List.empty())));
+    val parent1 = new BranchLayoutEntry("parent1", /* customAnnotation */ null, List.of(
+        new BranchLayoutEntry("child0", /* customAnnotation */ null, List.empty())));
+    val rootEntry = new BranchLayoutEntry("root", /* customAnnotation */ null, List.of(parent0, parent1));
+    val otherEntry = new BranchLayoutEntry("other", /* customAnnotation */ null, List.empty());
+    val branchLayout = new BranchLayout(List.of(rootEntry, otherEntry));
+
+    // then
+    assertEquals("parent0", branchLayout.findParentEntry("child1").getName());
+    // In case of duplicated entries, the last one counts.
+    assertEquals("parent1", branchLayout.findParentEntry("child0").getName());
+    assertEquals("root", branchLayout.findParentEntry("parent1").getName());
+    assertNull(branchLayout.findParentEntry("root"));
+    assertNull(branchLayout.findParentEntry("nonexistent"));
+
+    assertTrue(branchLayout.isDescendant("root", "child1"));
+    assertTrue(branchLayout.isDescendant("parent1", "child0"));
+    assertFalse(branchLayout.isDescendant("parent1", "child1"));
+    assertFalse(branchLayout.isDescendant("child1", "parent0"));
+    assertFalse(branchLayout.isDescendant("root", "root"));
+    assertFalse(branchLayout.isDescendant("root", "other"));
+
+    assertTrue(branchLayout.isEntryDuplicated("child0"));
+    assertFalse(branchLayout.isEntryDuplicated("child1"));
+    assertFalse(branchLayout.isEntryDuplicated("nonexistent"));
+
+    assertEquals("parent1", branchLayout.findNextEntryName("child1"));
+    assertEquals("child0", branchLayout.findNextEntryName("parent1"));
+    assertEquals("child0", branchLayout.findPreviousEntry("other").getName());
+  }
+
   @Test
   public void withBranchSlideOut_givenNonRootExistingBranch_slidesOut() {
     // given
@@ -392,6 +442,95 @@ public class BranchLayoutTestSuite {
             List.of(new BranchLayoutEntry("BA", /* customAnnotation */ null, List.empty())))));
   }
 
+  @Test
+  public void withBranchLayoutEditor_givenMultipleOperations_appliesAllOfThem() throws BranchLayoutException {
+    // given
+
+    /*-
+            root                                          root
+              parent0         slide out parent0            child00
+                child00       rename child01 -> renamed     renamed
+                child01       slide in new under root       child10
+              parent1         slide out parent1             new
+                child10         ----->
+    */
+
+    val branchLayout = new BranchLayout(List.of(
+        new BranchLayoutEntry("root", /* customAnnotation */ null, List.of(
+            new BranchLayoutEntry("parent0", /* customAnnotation */ null, List.of(
+                new BranchLayoutEntry("child00", /* customAnnotation */ null, List.empty()),
+                new BranchLayoutEntry("child01", "ANNOTATION", List.empty()))),
+            new BranchLayoutEntry("parent1", /* customAnnotation */ null, List.of(
+                new BranchLayoutEntry("child10", /* customAnnotation */ null, List.empty())))))));
+
+    // when
+    BranchLayout result = branchLayout.edit()
+        .slideOut("parent0")
+        .rename("child01", "renamed")
+        .slideIn("root", new BranchLayoutEntry("new", /* customAnnotation */ null, List.empty()))
+        .slideOut("parent1")
+        .build();
+
+    // then
+    val expected = new BranchLayout(List.of(
+        new BranchLayoutEntry("root", /* customAnnotation */ null, List.of(
+            new BranchLayoutEntry("child00", /* customAnnotation */ null, List.empty()),
+            new BranchLayoutEntry("renamed", "ANNOTATION", List.empty()),
+            new BranchLayoutEntry("child10", /* customAnnotation */ null, List.empty()),
+            new BranchLayoutEntry("new", /* customAnnotation */ null, List.empty())))));
+    assertEquals(expected, result);
+    assertEquals(List.of("child00", "renamed", "child10", "new"),
+        result.getRootEntries().get(0).getChildren().map(BranchLayoutEntry::getName));
+    assertEquals("root", result.findParentEntry("renamed").getName());
+  }
+
+  @Test
+  public void withBranchLayoutEditor_givenSlideInOfExistingBranch_movesItWithItsSubtree() throws BranchLayoutException {
+    // given
+    val branchLayout = new BranchLayout(List.of(
+        new BranchLayoutEntry("root", /* customAnnotation */ null, List.of(
+            new BranchLayoutEntry("parent", /* customAnnotation */ null, List.of(
+                new BranchLayoutEntry("child", /* customAnnotation */ null, List.empty()))),
+            new BranchLayoutEntry("other", /* customAnnotation */ null, List.empty())))));
+
+    // when
+    val entryToSlideIn = branchLayout.getEntryByName("parent");
+    assertNotNull(entryToSlideIn);
+    BranchLayout result = branchLayout.edit().slideIn("other", entryToSlideIn).build();
+
+    // then
+    assertEquals("other", result.findParentEntry("parent").getName());
+    assertEquals("parent", result.findParentEntry("child").getName());
+    assertFalse(result.isEntryDuplicated("parent"));
+    assertThrows(EntryIsDescendantOfException.class,
+        () -> result.edit().slideIn("child", new BranchLayoutEntry("other", /* customAnnotation */ null, List.empty())));
+    assertThrows(EntryDoesNotExistException.class,
+        () -> result.edit().slideIn("nonexistent", new BranchLayoutEntry("new", /* customAnnotation */ null, List.empty())));
+  }
+
+  @Test
+  public void withBranchLayoutEditor_givenReorderOfChildren_reordersThem() {
+    // given
+    val branchLayout = new BranchLayout(List.of(
+        new BranchLayoutEntry("root0", /* customAnnotation */ null, List.of(
+            new BranchLayoutEntry("a", /* customAnnotation */ null, List.empty()),
+            new BranchLayoutEntry("slid-out", /* customAnnotation */ null, List.of(
+                new BranchLayoutEntry("b", /* customAnnotation */ null, List.empty()))),
+            new BranchLayoutEntry("c", /* customAnnotation */ null, List.empty()))),
+        new BranchLayoutEntry("root1", /* customAnnotation */ null, List.empty())));
+
+    // when
+    BranchLayout result = branchLayout.edit()
+        .slideOut("slid-out")
+        .reorderChildren("root0", List.of("c", "b"))
+        .reorderChildren(/* parentBranchName */ null, List.of("root1"))
+        .build();
+
+    // then
+    assertEquals(List.of("root1", "root0"), result.getRootEntries().map(BranchLayoutEntry::getName));
+    assertEquals(List.of("c", "b", "a"), result.getRootEntries().get(1).getChildren().map(BranchLayoutEntry::getName));
+  }
+
   @Test
   public void withBranchLayouts_givenTheyAreEquivalent_shouldBeConsideredEqual() {
     assertEquals(getExampleBranchLayout(), getExampleBranchLayout());
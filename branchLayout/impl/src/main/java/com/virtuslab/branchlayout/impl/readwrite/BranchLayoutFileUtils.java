@@ -4,7 +4,6 @@ import static com.virtuslab.branchlayout.api.readwrite.IndentSpec.SPACE;
 import static com.virtuslab.branchlayout.api.readwrite.IndentSpec.TAB;
 
 import io.vavr.collection.List;
-import io.vavr.collection.Stream;
 import lombok.CustomLog;
 import lombok.val;
 import org.checkerframework.checker.index.qual.NonNegative;
@@ -21,7 +20,11 @@ public final class BranchLayoutFileUtils {
   private static final IndentSpec DEFAULT_SPEC = new IndentSpec(DEFAULT_INDENT_CHARACTER, DEFAULT_INDENT_WIDTH);
 
   public static @NonNegative int getIndentWidth(String line, char indentCharacter) {
-    return Stream.ofAll(line.chars().boxed()).takeWhile(c -> c == indentCharacter).size();
+    int indentWidth = 0;
+    while (indentWidth < line.length() && line.charAt(indentWidth) == indentCharacter) {
+      indentWidth++;
+    }
+    return indentWidth;
   }
 
   public static IndentSpec deriveIndentSpec(List<String> lines) {
@@ -53,10 +56,9 @@ public final class BranchLayoutFileUtils {
     char unexpectedIndentationCharacter = expectedIndentationCharacter == SPACE
         ? TAB
         : SPACE;
-    return Stream.ofAll(line.toCharArray())
-        .takeWhile(c -> c != expectedIndentationCharacter)
-        .headOption()
-        .map(c -> c != unexpectedIndentationCharacter)
-        .getOrElse(true);
+    // Only the very first character can be checked here: if it's not the expected indentation character,
+    // then it must not be the unexpected one either.
+    return line.isEmpty() || line.charAt(0) == expectedIndentationCharacter
+        || line.charAt(0) != unexpectedIndentationCharacter;
   }
 }
@@ -1,16 +1,23 @@
 package com.virtuslab.branchlayout.impl.readwrite;
 
+import static com.virtuslab.branchlayout.api.readwrite.IndentSpec.SPACE;
+import static com.virtuslab.branchlayout.api.readwrite.IndentSpec.TAB;
+
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 
-import io.vavr.Tuple2;
-import io.vavr.collection.Array;
 import io.vavr.collection.List;
 import lombok.CustomLog;
+import lombok.RequiredArgsConstructor;
 import lombok.experimental.ExtensionMethod;
 import lombok.val;
-import org.checkerframework.checker.index.qual.GTENegativeOne;
 import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.index.qual.Positive;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.common.value.qual.MinLen;
 
 import com.virtuslab.branchlayout.api.BranchLayout;
 import com.virtuslab.branchlayout.api.BranchLayoutEntry;
@@ -23,59 +30,117 @@ import com.virtuslab.qual.guieffect.IgnoreUIThreadUnsafeCalls;
 @CustomLog
 public class BranchLayoutReader implements IBranchLayoutReader {
 
-  @IgnoreUIThreadUnsafeCalls("java.io.InputStream.readAllBytes()")
+  @IgnoreUIThreadUnsafeCalls("java.io.InputStreamReader.<init>(java.io.InputStream)")
   @Override
   public BranchLayout read(InputStream inputStream) throws BranchLayoutException {
-    List<BranchLayoutEntry> roots = List.empty();
+    // Platform default charset, just as `new String(inputStream.readAllBytes())` used to do.
+    return read(new InputStreamReader(inputStream));
+  }
 
+  /**
+   * Parses the branch layout in a single pass over the lines, without ever keeping the entire file in memory.
+   * Every line is visited exactly once, and every entry is pushed to and popped from {@code stack} exactly once,
+   * so the whole parse is linear in the size of the input.
+   */
+  @IgnoreUIThreadUnsafeCalls({
+      "java.io.BufferedReader.<init>(java.io.Reader)",
+      "java.io.BufferedReader.readLine()",
+  })
+  @Override
+  public BranchLayout read(Reader reader) throws BranchLayoutException {
+    val bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+
+    // Unlike in the case of the writer, the indent spec can be derived lazily:
+    // all lines preceding the first indented line are roots, so they don't depend on the indent spec at all.
+    @Nullable IndentSpec indentSpec = null;
+    // Entries whose children are still being read, from the root (at the bottom) to the most recent one (at the top).
+    // Index in the stack always corresponds to the indent level of the given entry.
+    java.util.List<PendingEntry> stack = new java.util.ArrayList<>();
+    java.util.List<BranchLayoutEntry> roots = new java.util.ArrayList<>();
+
+    int lineNumber = 0;
+    int nonBlankLineCount = 0;
     try {
-      List<String> lines = List.ofAll(new String(inputStream.readAllBytes()).lines());
-      IndentSpec indentSpec = lines.deriveIndentSpec();
-      LOG.debug(() -> "Entering: Reading branch layout with indent character ASCII " +
-          "code = ${(int)indentSpec.getIndentCharacter()} and indent width = ${indentSpec.getIndentWidth()}");
-
-      LOG.debug(() -> "${lines.length()} line(s) found");
-
-      List<String> linesWithoutBlank = lines.reject(String::isBlank);
-
-      if (!linesWithoutBlank.isEmpty()) {
-        Array<Tuple2<Integer, Integer>> lineIndexToIndentLevelAndParentLineIndex = parseToArrayRepresentation(indentSpec,
-            lines);
-        LOG.debug(() -> "lineIndexToIndentLevelAndParentLineIndex = ${lineIndexToIndentLevelAndParentLineIndex}");
-
-        roots = buildEntriesStructure(linesWithoutBlank, lineIndexToIndentLevelAndParentLineIndex, /* parentLineIndex */ -1);
-      } else {
-        LOG.debug("Branch layout file is empty");
+      String line;
+      while ((line = bufferedReader.readLine()) != null) {
+        lineNumber++;
+        // Redundant emptiness check to satisfy IndexChecker
+        if (line.isEmpty() || line.isBlank()) {
+          // Can't use lambda because `lineNumber` is not effectively final
+          LOG.debug("Line no ${lineNumber} is blank. Skipping");
+          continue;
+        }
+
+        if (indentSpec == null && (line.charAt(0) == SPACE || line.charAt(0) == TAB)) {
+          if (nonBlankLineCount == 0) {
+            throw new BranchLayoutException(lineNumber, "The initial line of branch layout file must not be indented");
+          }
+          indentSpec = deriveIndentSpec(line);
+        }
+        nonBlankLineCount++;
+
+        char indentCharacter = indentSpec != null
+            ? indentSpec.getIndentCharacter()
+            : BranchLayoutFileUtils.DEFAULT_INDENT_CHARACTER;
+        if (!line.hasProperIndentationCharacter(indentCharacter)) {
+          LOG.error("Line no ${lineNumber} has unexpected indentation character inconsistent with previous one");
+          throw new BranchLayoutException(lineNumber,
+              "Line no ${lineNumber} in branch layout file has unexpected indentation "
+                  + "character inconsistent with previous one");
+        }
+
+        int lineIndentWidth = line.getIndentWidth(indentCharacter);
+        int level = indentSpec != null ? getIndentLevel(indentSpec, line, lineIndentWidth, lineNumber) : 0;
+
+        // The stack holds exactly one entry per level of the previous line (hence, its size is the previous level + 1).
+        if (level > stack.size()) {
+          throw new BranchLayoutException(lineNumber,
+              "One of branches in branch layout file has incorrect level in relation to its parent branch");
+        }
+
+        popEntriesDownToLevel(stack, roots, level);
+        stack.add(new PendingEntry(line));
       }
+      popEntriesDownToLevel(stack, roots, /* level */ 0);
     } catch (IOException e) {
       throw new BranchLayoutException("Unable to read branch layout file", e);
     }
 
-    return new BranchLayout(roots);
+    val finalNonBlankLineCount = nonBlankLineCount;
+    LOG.debug(() -> "${finalNonBlankLineCount} non-blank line(s) found, ${roots.size()} root entries read");
+
+    return new BranchLayout(List.ofAll(roots));
   }
 
   /**
-   * @param lines
-   *          list of lines read from branch layout file
-   * @param lineIndexToParentLineIndex
-   *          as it says ({@code lines} metadata containing structure, see {@link #parseToArrayRepresentation})
-   * @param parentLineIndex
-   *          index of the line whose children are to be built
-   *
-   * @return list of entries with recursively built lists of children
+   * Completes all the entries at the given {@code level} or deeper, from the deepest one,
+   * attaching each of them as the last child of the entry below it in the {@code stack} (or as the last root).
    */
-  @SuppressWarnings("index:argument")
-  private List<BranchLayoutEntry> buildEntriesStructure(
-      List<String> lines,
-      Array<Tuple2<Integer, Integer>> lineIndexToParentLineIndex,
-      @GTENegativeOne int parentLineIndex) {
-
-    return lineIndexToParentLineIndex
-        .zipWithIndex()
-        .filter(t -> t._1()._2() == parentLineIndex)
-        .map(t -> createEntry(lines.get(t._2()),
-            buildEntriesStructure(lines, lineIndexToParentLineIndex, t._2())))
-        .toList();
+  private void popEntriesDownToLevel(
+      java.util.List<PendingEntry> stack,
+      java.util.List<BranchLayoutEntry> roots,
+      @NonNegative int level) {
+    while (stack.size() > level) {
+      val pendingEntry = stack.remove(stack.size() - 1);
+      val entry = createEntry(pendingEntry.line, List.ofAll(pendingEntry.children));
+      if (stack.isEmpty()) {
+        roots.add(entry);
+      } else {
+        stack.get(stack.size() - 1).children.add(entry);
+      }
+    }
+  }
+
+  private static IndentSpec deriveIndentSpec(@MinLen(1) String firstIndentedLine) {
+    char indentCharacter = firstIndentedLine.charAt(0);
+    int indentWidth = firstIndentedLine.getIndentWidth(indentCharacter);
+    // we are processing a line satisfying `line.startsWith(" ") || line.startsWith("\t")`
+    assert indentWidth > 0 : "indent width is ${indentWidth} <= 0";
+
+    LOG.debug(() -> "Indent character is ${indentCharacter == '\\t' ? \"TAB\" :" +
+        " indentCharacter == ' ' ? \"SPACE\" : \"'\" + indentCharacter + \"'\"}");
+    LOG.debug(() -> "Indent width is ${indentWidth}");
+    return new IndentSpec(indentCharacter, indentWidth);
   }
 
   /**
@@ -102,80 +167,26 @@ public class BranchLayoutReader implements IBranchLayoutReader {
     return result;
   }
 
-  /**
-   * @return an array containing the indent level and parent entry describing line index which indices correspond to
-   *         provided {@code lines} indices. It may be understood as a helper metadata needed to build entries structure
-   */
-  private Array<Tuple2<Integer, Integer>> parseToArrayRepresentation(IndentSpec indentSpec, List<String> lines)
-      throws BranchLayoutException {
-
-    List<String> linesWithoutBlank = lines.reject(String::isBlank);
-
-    if (linesWithoutBlank.nonEmpty() && linesWithoutBlank.head().getIndentWidth(indentSpec.getIndentCharacter()) > 0) {
-      int firstNonEmptyLineIndex = lines.indexOf(linesWithoutBlank.head());
-      assert firstNonEmptyLineIndex >= 0 : "Non-empty line not found";
-      throw new BranchLayoutException(firstNonEmptyLineIndex + 1,
-          "The initial line of branch layout file must not be indented");
-    }
-
-    Array<Tuple2<Integer, Integer>> lineIndexToIndentLevelAndParentLineIndex = Array.fill(linesWithoutBlank.size(),
-        new Tuple2<>(-1, -1));
-    Array<Integer> levelToPresentParent = Array.fill(linesWithoutBlank.size(), -1);
-
-    int previousLevel = 0;
-    int lineIndex = 0;
-    for (int realLineNumber = 0; realLineNumber < lines.length(); ++realLineNumber) {
-      String line = lines.get(realLineNumber);
-      if (line.isBlank()) {
-        // Can't use lambda because `realLineNumber` is not effectively final
-        LOG.debug("Line no ${realLineNumber + 1} is blank. Skipping");
-        continue;
-      }
-
-      if (!line.hasProperIndentationCharacter(indentSpec.getIndentCharacter())) {
-        LOG.error("Line no ${realLineNumber + 1} has unexpected indentation character inconsistent with previous one");
-        throw new BranchLayoutException(realLineNumber + 1,
-            "Line no ${realLineNumber + 1} in branch layout file has unexpected indentation "
-                + "character inconsistent with previous one");
-      }
-
-      int lineIndentWidth = line.getIndentWidth(indentSpec.getIndentCharacter());
-      int level = getIndentLevel(indentSpec, line, lineIndentWidth, realLineNumber);
-
-      if (level - previousLevel > 1) {
-        throw new BranchLayoutException(realLineNumber + 1,
-            "One of branches in branch layout file has incorrect level in relation to its parent branch");
-      }
-
-      @SuppressWarnings("index:argument") Integer parentLineIndex = level <= 0
-          ? -1
-          : levelToPresentParent.get(level - 1);
-      Tuple2<Integer, Integer> levelAndParentLineIndex = new Tuple2<>(level, parentLineIndex);
-
-      lineIndexToIndentLevelAndParentLineIndex = lineIndexToIndentLevelAndParentLineIndex.update(lineIndex,
-          levelAndParentLineIndex);
-      levelToPresentParent = levelToPresentParent.update(level, lineIndex);
-
-      previousLevel = level;
-      lineIndex++;
-    }
-
-    return lineIndexToIndentLevelAndParentLineIndex;
-  }
-
   private @NonNegative int getIndentLevel(IndentSpec indentSpec, String line, @NonNegative int indent,
-      @NonNegative int lineNumber)
+      @Positive int lineNumber)
       throws BranchLayoutException {
     if (indent == 0) {
       return 0;
     }
 
     if (indent % indentSpec.getIndentWidth() != 0) {
-      throw new BranchLayoutException(lineNumber + 1,
+      throw new BranchLayoutException(lineNumber,
           "Levels of indentation are not matching in branch layout file: " +
               "line `${line}` has ${indent} indent characters, but expected a multiply of ${indentSpec.getIndentWidth()}");
     }
 
     return indent / indentSpec.getIndentWidth();
   }
+
+  /** An entry whose line has already been read, but whose children are still being read. */
+  @RequiredArgsConstructor
+  private static final class PendingEntry {
+    private final String line;
+    private final java.util.List<BranchLayoutEntry> children = new java.util.ArrayList<>();
+  }
 }
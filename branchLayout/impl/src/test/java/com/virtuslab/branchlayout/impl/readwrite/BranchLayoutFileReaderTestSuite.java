@@ -8,9 +8,11 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.util.stream.Collectors;
 
 import io.vavr.collection.List;
+import io.vavr.collection.Stream;
 import lombok.SneakyThrows;
 import lombok.val;
 import org.junit.jupiter.api.Test;
@@ -140,4 +142,45 @@ public class BranchLayoutFileReaderTestSuite {
     int i = exception.getErrorLine();
     assertEquals(3, i);
   }
+
+  @Test
+  @SneakyThrows
+  public void read_givenReaderWithBlankLinesInBetween_readsNestedStructure() {
+    // given
+    val reader = new StringReader(String.join(System.lineSeparator(),
+        "A", "\tB", "", "\t\tC annotation", "\tD", "E"));
+
+    // when
+    BranchLayout branchLayout = new BranchLayoutReader().read(reader);
+
+    // then
+    assertEquals(List.of("A", "E"), branchLayout.getRootEntries().map(e -> e.getName()));
+    val a = branchLayout.getRootEntries().get(0);
+    assertEquals(List.of("B", "D"), a.getChildren().map(e -> e.getName()));
+    val c = a.getChildren().get(0).getChildren().get(0);
+    assertEquals("C", c.getName());
+    assertEquals("annotation", c.getCustomAnnotation());
+    assertSame(a.getChildren().get(0), c.getParent());
+  }
+
+  @Test
+  @SneakyThrows
+  public void read_givenTenThousandLines_readsAllEntries() {
+    // given
+    int entriesCount = 10_000;
+    // Levels follow the pattern 0, 1, 2, 3, 1, 2, 3, 1, ... so that the layout is both deep and wide.
+    val lines = Stream.range(0, entriesCount)
+        .map(i -> (i == 0 ? "" : "  ".repeat((i - 1) % 3 + 1)) + "branch-" + i + " annotation-" + i)
+        .toList();
+    val linesStream = getInputStreamFromLines(lines);
+
+    // when
+    BranchLayout branchLayout = new BranchLayoutReader().read(linesStream);
+
+    // then
+    assertEquals(1, branchLayout.getRootEntries().size());
+    assertEquals((entriesCount - 1) / 3, branchLayout.getRootEntries().get(0).getChildren().size());
+    assertNotNull(branchLayout.getEntryByName("branch-" + (entriesCount - 1)));
+    assertEquals("annotation-42", branchLayout.getEntryByName("branch-42").getCustomAnnotation());
+  }
 }
@@ -65,7 +65,7 @@ public abstract class BaseSquashAction extends BaseGitMacheteRepositoryReadyActi
         presentation.setEnabled(false);
 
       } else {
-        val numberOfCommits = nonRootBranch.getUniqueCommits().length();
+        val numberOfCommits = nonRootBranch.getUniqueCommitsCount();
 
         val description = getNonHtmlString("action.GitMachete.BaseSquashAction.not-enough-commits")
             .fmt(branchName, numberOfCommits + "", numberOfCommits == 1 ? "" : "s");
@@ -77,6 +77,11 @@ public abstract class BaseSquashAction extends BaseGitMacheteRepositoryReadyActi
           presentation.setEnabled(false);
           presentation.setDescription(getNonHtmlString("action.GitMachete.BaseSquashAction.fork-point-off")
               .fmt(branchName));
+        } else if (!nonRootBranch.hasAllUniqueCommitsLoaded()) {
+          // Squashing needs the messages of all the commits.
+          presentation.setEnabled(false);
+          presentation.setDescription(getNonHtmlString("action.GitMachete.BaseSquashAction.not-all-commits-loaded")
+              .fmt(branchName, numberOfCommits + ""));
         } else {
           val currentBranchIfManaged = getCurrentBranchNameIfManaged(anActionEvent);
           val isSquashingCurrentBranch = currentBranchIfManaged != null && currentBranchIfManaged.equals(branchName);
@@ -104,7 +109,7 @@ public abstract class BaseSquashAction extends BaseGitMacheteRepositoryReadyActi
       val gitRepository = getSelectedGitRepository(anActionEvent);
 
       if (commits != null && gitRepository != null && parent != null && branchName != null
-          && syncToParentStatus != InSyncButForkPointOff) {
+          && syncToParentStatus != InSyncButForkPointOff && nonRootBranch.hasAllUniqueCommitsLoaded()) {
         val currentBranch = gitRepository.getCurrentBranch();
         val isSquashingCurrentBranch = currentBranch != null && branchName.equals(currentBranch.getName());
         doSquash(gitRepository, parent, commits, branchName, isSquashingCurrentBranch);
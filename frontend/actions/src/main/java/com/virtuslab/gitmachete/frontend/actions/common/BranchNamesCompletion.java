@@ -12,19 +12,28 @@ import com.intellij.openapi.project.DumbAware;
 import com.intellij.util.textCompletion.DefaultTextCompletionValueDescriptor;
 import com.intellij.util.textCompletion.TextCompletionProvider;
 import com.intellij.util.textCompletion.TextCompletionValueDescriptor;
+import io.vavr.Function1;
 import io.vavr.collection.List;
 import lombok.val;
 
 // TODO (#1604): remove this class and replace with com.intellij.util.textCompletion.TextCompletionProviderBase
 public final class BranchNamesCompletion implements TextCompletionProvider, DumbAware {
   private final List<String> localDirectories;
-  private final List<String> allSuggestions;
+  // All suggestions other than local branch names, i.e. remote branch names and local/remote directories.
+  private final List<String> nonLocalBranchSuggestions;
+  // Local branch names are rather queried by prefix (see `BranchNameIndex#getLocalBranchNamesWithPrefix`),
+  // so that only the matching ones (and not all of them) are retrieved.
+  private final Function1<String, List<String>> localBranchNamesWithPrefix;
   private final TextCompletionValueDescriptor<String> myDescriptor = new DefaultTextCompletionValueDescriptor.StringValueDescriptor();
   private final InsertHandler<LookupElement> myInsertHandler = new CompletionCharInsertHandler();
 
-  public BranchNamesCompletion(List<String> localDirectories, List<String> allSuggestions) {
+  public BranchNamesCompletion(
+      List<String> localDirectories,
+      List<String> nonLocalBranchSuggestions,
+      Function1<String, List<String>> localBranchNamesWithPrefix) {
     this.localDirectories = localDirectories;
-    this.allSuggestions = allSuggestions;
+    this.nonLocalBranchSuggestions = nonLocalBranchSuggestions;
+    this.localBranchNamesWithPrefix = localBranchNamesWithPrefix;
   }
 
   @Override
@@ -52,7 +61,7 @@ public final class BranchNamesCompletion implements TextCompletionProvider, Dumb
 
   @Override
   public void fillCompletionVariants(CompletionParameters parameters, String prefix, CompletionResultSet result) {
-    val values = getValues(parameters).sorted(myDescriptor);
+    val values = getValues(parameters, prefix).sorted(myDescriptor);
 
     for (String completionVariant : values) {
       result.addElement(installInsertHandler(myDescriptor.createLookupBuilder(completionVariant)));
@@ -75,11 +84,11 @@ public final class BranchNamesCompletion implements TextCompletionProvider, Dumb
     });
   }
 
-  private List<String> getValues(CompletionParameters parameters) {
+  private List<String> getValues(CompletionParameters parameters, String prefix) {
     if (parameters.isAutoPopup()) {
       return localDirectories;
     } else {
-      return allSuggestions;
+      return nonLocalBranchSuggestions.appendAll(localBranchNamesWithPrefix.apply(prefix)).distinct();
     }
   }
 
@@ -41,9 +41,9 @@ public class SquashCurrentAction extends BaseSquashAction {
         presentation.setVisible(false);
 
       } else {
-        val numberOfCommits = nonRootBranch.getUniqueCommits().length();
+        val numberOfCommits = nonRootBranch.getUniqueCommitsCount();
 
-        if (numberOfCommits < 2 || syncToParentStatus == InSyncButForkPointOff) {
+        if (numberOfCommits < 2 || syncToParentStatus == InSyncButForkPointOff || !nonRootBranch.hasAllUniqueCommitsLoaded()) {
           presentation.setVisible(false);
         } else {
           presentation.setText(getString("action.GitMachete.BaseSquashAction.text"));
@@ -52,12 +52,7 @@ public class ToggleListingCommitsAction extends BaseGitMacheteRepositoryReadyAct
 
     val gitMacheteRepositorySnapshot = getGitMacheteRepositorySnapshot(anActionEvent);
 
-    val managedBranches = gitMacheteRepositorySnapshot != null
-        ? gitMacheteRepositorySnapshot.getManagedBranches()
-        : null;
-
-    val anyCommitExists = managedBranches != null &&
-        managedBranches.exists(b -> b.isNonRoot() && b.asNonRoot().getUniqueCommits().nonEmpty());
+    val anyCommitExists = gitMacheteRepositorySnapshot != null && gitMacheteRepositorySnapshot.hasAnyUniqueCommits();
 
     if (anyCommitExists) {
       presentation.setEnabled(true);
@@ -13,8 +13,6 @@ import lombok.experimental.ExtensionMethod;
 import lombok.val;
 import org.checkerframework.checker.guieffect.qual.UIEffect;
 
-import com.virtuslab.gitmachete.backend.api.SyncToParentStatus;
-import com.virtuslab.gitmachete.backend.api.SyncToRemoteStatus;
 import com.virtuslab.gitmachete.frontend.actions.base.BaseGitMacheteRepositoryReadyAction;
 import com.virtuslab.gitmachete.frontend.actions.base.IBranchNameProvider;
 import com.virtuslab.gitmachete.frontend.actions.dialogs.DoNotAskOption;
@@ -60,23 +58,7 @@ public abstract class BaseTraverseAction extends BaseGitMacheteRepositoryReadyAc
       return;
     }
 
-    boolean anythingToBeDone = false;
-    for (var branch = branchUnderAction; branch != null; branch = branchLayout.findNextEntryName(branch)) {
-      val managedBranch = repositorySnapshot.getManagedBranchByName(branch);
-      if (managedBranch == null) {
-        continue;
-      }
-      if (managedBranch.isNonRoot() && managedBranch.asNonRoot().getSyncToParentStatus() != SyncToParentStatus.InSync) {
-        anythingToBeDone = true;
-        break;
-      }
-      val syncToRemoteStatus = managedBranch.getRelationToRemote().getSyncToRemoteStatus();
-      if (syncToRemoteStatus != SyncToRemoteStatus.InSyncToRemote && syncToRemoteStatus != SyncToRemoteStatus.NoRemotes) {
-        anythingToBeDone = true;
-        break;
-      }
-    }
-    if (!anythingToBeDone) {
+    if (!repositorySnapshot.isAnyBranchOutOfSyncFrom(branchUnderAction)) {
       presentation.setEnabled(false);
       presentation.setDescription(
           getNonHtmlString("action.GitMachete.BaseTraverseAction.description.nothing-to-be-done").fmt(branchUnderAction));
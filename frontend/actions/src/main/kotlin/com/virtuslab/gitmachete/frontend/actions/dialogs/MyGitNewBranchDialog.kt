@@ -13,6 +13,7 @@ import com.virtuslab.gitmachete.frontend.actions.common.BranchNamesCompletion
 import com.virtuslab.gitmachete.frontend.actions.compat.rowCompat
 import com.virtuslab.gitmachete.frontend.actions.dialogs.GitNewBranchDialogCompat.WHEN_TEXT_FIELD_TEXT_CHANGED
 import com.virtuslab.gitmachete.frontend.actions.dialogs.GitNewBranchDialogCompat.conflictsWithLocalBranchDirectory
+import com.virtuslab.gitmachete.frontend.file.BranchNameIndex
 import com.virtuslab.gitmachete.frontend.resourcebundles.GitMacheteBundle.getString
 import git4idea.branch.GitBranchOperationType
 import git4idea.branch.GitNewBranchOptions
@@ -59,6 +60,7 @@ class MyGitNewBranchDialog @JvmOverloads constructor(
   private var remote = true
   private var branchName = initialName.orEmpty()
   private val validator = GitRefNameValidator.getInstance()
+  private val branchNameIndex = BranchNameIndex.getInstance(project)
 
   private val localBranchDirectories = collectDirectories(collectLocalBranchNames().asIterable(), /* withTrailingSlash */false).toSet()
 
@@ -132,15 +134,18 @@ class MyGitNewBranchDialog @JvmOverloads constructor(
     val localDirectories = collectDirectories(localBranches.asIterable(), /* withTrailingSlash */ true)
     val remoteDirectories = collectDirectories(remoteBranches.asIterable(), /* withTrailingSlash */ true)
 
-    val allSuggestions = mutableSetOf<String>()
-    allSuggestions += localBranches
-    allSuggestions += remoteBranches
-    allSuggestions += localDirectories
-    allSuggestions += remoteDirectories
-    return BranchNamesCompletion(List.ofAll(localDirectories), List.ofAll(allSuggestions))
+    val nonLocalBranchSuggestions = mutableSetOf<String>()
+    nonLocalBranchSuggestions += remoteBranches
+    nonLocalBranchSuggestions += localDirectories
+    nonLocalBranchSuggestions += remoteDirectories
+    return BranchNamesCompletion(List.ofAll(localDirectories), List.ofAll(nonLocalBranchSuggestions)) { prefix ->
+      List.ofAll(repositories).flatMap { branchNameIndex.getLocalBranchNamesWithPrefix(it, prefix) }
+    }
   }
 
-  private fun collectLocalBranchNames() = repositories.asSequence().flatMap { it.branches.localBranches }.map { it.name }
+  // The local branch names are shared with the machete file completion and annotations rather than collected anew
+  private fun collectLocalBranchNames() =
+    repositories.asSequence().flatMap { branchNameIndex.getLocalBranchNames(it) }
 
   private fun collectRemoteBranchNames() = repositories.asSequence().flatMap { it.branches.remoteBranches }.map { it.nameForRemoteOperations }
 
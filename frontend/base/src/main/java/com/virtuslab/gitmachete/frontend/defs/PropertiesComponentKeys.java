@@ -2,6 +2,7 @@ package com.virtuslab.gitmachete.frontend.defs;
 
 public final class PropertiesComponentKeys {
   private PropertiesComponentKeys() {}
+  public static final String MAX_LOADED_UNIQUE_COMMIT_COUNT = "git-machete.commits.max-loaded-per-branch";
   public static final String SHOW_MERGE_WARNING = "git-machete.merge.warning.show";
   public static final String SHOW_RESET_INFO = "git-machete.reset.info.show";
   public static final String SHOW_TRAVERSE_INFO = "git-machete.traverse.approval.show";
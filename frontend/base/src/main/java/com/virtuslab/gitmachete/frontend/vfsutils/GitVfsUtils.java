@@ -7,6 +7,7 @@ import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
 
+import com.intellij.openapi.application.PathManager;
 import com.intellij.openapi.vfs.VirtualFile;
 import git4idea.GitUtil;
 import git4idea.repo.GitRepository;
@@ -16,6 +17,8 @@ public final class GitVfsUtils {
 
   private static final String MACHETE_FILE_NAME = "machete";
 
+  private static final String SNAPSHOT_FILES_DIRECTORY_NAME = "git-machete-snapshots";
+
   private GitVfsUtils() {}
 
   public static VirtualFile getMainGitDirectory(GitRepository gitRepository) {
@@ -79,6 +82,21 @@ public final class GitVfsUtils {
     return getMainGitDirectoryPath(gitRepository).resolve(MACHETE_FILE_NAME);
   }
 
+  /**
+   * The snapshot file (see {@code IGitMacheteRepository#persistSnapshot}) is kept in the system directory of the IDE
+   * rather than in the git directory, as it's just a cache, and it's specific to this plugin.
+   * Since HEAD differs between worktrees, each worktree has a separate snapshot file.
+   *
+   * @param gitRepository {@link GitRepository} to resolve the path for
+   * @return {@link Path} representing the snapshot file, which might not exist
+   */
+  public static Path getSnapshotFilePath(GitRepository gitRepository) {
+    Path worktreeGitDirectoryPath = getWorktreeGitDirectoryPath(gitRepository);
+    String fileName = getRootDirectory(gitRepository).getName() + "-"
+        + Integer.toHexString(worktreeGitDirectoryPath.toString().hashCode()) + ".bin";
+    return PathManager.getSystemDir().resolve(SNAPSHOT_FILES_DIRECTORY_NAME).resolve(fileName);
+  }
+
   /**
    * @param filePath {@link Path} to file
    * @return {@link Long} stating for time of last modification in milliseconds since the Unix epoch start if attributes were read successfully; otherwise, null
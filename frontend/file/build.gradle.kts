@@ -14,7 +14,9 @@ dependencies {
 }
 
 addIntellijToCompileClasspath(withGit4Idea = true)
+junit()
 lombok()
+mockito()
 slf4jLambdaApi()
 vavr()
 
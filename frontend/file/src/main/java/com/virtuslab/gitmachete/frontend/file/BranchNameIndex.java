@@ -0,0 +1,179 @@
+package com.virtuslab.gitmachete.frontend.file;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import git4idea.GitLocalBranch;
+import git4idea.GitUtil;
+import git4idea.repo.GitRepoInfo;
+import git4idea.repo.GitRepository;
+import io.vavr.collection.HashMap;
+import io.vavr.collection.HashSet;
+import io.vavr.collection.List;
+import io.vavr.collection.Map;
+import io.vavr.collection.Set;
+import lombok.CustomLog;
+import lombok.Data;
+import lombok.experimental.ExtensionMethod;
+import lombok.val;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.virtuslab.gitmachete.frontend.vfsutils.GitVfsUtils;
+
+/**
+ * Keeps the local branch names of each repository of the project, both as a hash set (for membership checks)
+ * and as a {@link BranchNameTrie} (for prefix queries, as in completion), together with the machete file of each repository.
+ * <br>
+ * The names are indexed lazily on the first query for the given repository,
+ * and then updated incrementally (via {@link #update}) whenever the repository changes:
+ * only the branches that have actually been created or deleted since the previous update
+ * are added to or removed from both the set and the trie.
+ */
+@CustomLog
+@ExtensionMethod(GitVfsUtils.class)
+@SuppressWarnings("regexp") // to allow for `synchronized`
+public final class BranchNameIndex {
+
+  @Data
+  private static class IndexedBranchNames {
+    // The repository info that the names have been indexed from; a new one is created on each repository update.
+    private final GitRepoInfo repoInfo;
+    private final Set<String> names;
+    private final BranchNameTrie trie;
+  }
+
+  private final Project project;
+
+  private Map<GitRepository, IndexedBranchNames> indexedBranchNamesByRepository = HashMap.empty();
+
+  private Map<VirtualFile, GitRepository> repositoryByMacheteFile = HashMap.empty();
+
+  public BranchNameIndex(Project project) {
+    this.project = project;
+  }
+
+  public static BranchNameIndex getInstance(Project project) {
+    return project.getService(BranchNameIndex.class);
+  }
+
+  /**
+   * @return the repository whose machete file is {@code psiFile}, or null if there is no such repository
+   */
+  public @Nullable GitRepository findRepositoryForMacheteFile(PsiFile psiFile) {
+    val macheteFile = psiFile.getVirtualFile();
+    if (macheteFile == null) {
+      return null;
+    }
+
+    val cachedRepository = getCachedRepositoryForMacheteFile(macheteFile);
+    if (cachedRepository != null && !cachedRepository.isDisposed()) {
+      return cachedRepository;
+    }
+
+    val repository = List.ofAll(GitUtil.getRepositories(project))
+        .find(r -> macheteFile.equals(r.getMacheteFile())).getOrNull();
+    if (repository != null) {
+      cacheRepositoryForMacheteFile(macheteFile, repository);
+    }
+    return repository;
+  }
+
+  private synchronized @Nullable GitRepository getCachedRepositoryForMacheteFile(VirtualFile macheteFile) {
+    return repositoryByMacheteFile.get(macheteFile).getOrNull();
+  }
+
+  private synchronized void cacheRepositoryForMacheteFile(VirtualFile macheteFile, GitRepository repository) {
+    repositoryByMacheteFile = repositoryByMacheteFile.put(macheteFile, repository);
+  }
+
+  public Set<String> getLocalBranchNames(GitRepository repository) {
+    return getOrIndex(repository).names;
+  }
+
+  /**
+   * @param prefix prefix to match case-insensitively
+   * @return local branch names starting with {@code prefix}, found in time proportional to the length of the prefix
+   *         and the number of results (rather than to the number of all branches)
+   */
+  public List<String> getLocalBranchNamesWithPrefix(GitRepository repository, String prefix) {
+    return getOrIndex(repository).trie.getNamesWithPrefix(prefix);
+  }
+
+  private IndexedBranchNames getOrIndex(GitRepository repository) {
+    val indexedBranchNames = getIndexedBranchNames(repository);
+    if (indexedBranchNames != null) {
+      return indexedBranchNames;
+    }
+    update(repository);
+    val updatedIndexedBranchNames = getIndexedBranchNames(repository);
+    assert updatedIndexedBranchNames != null : "Branch names of ${repository} have not been indexed";
+    return updatedIndexedBranchNames;
+  }
+
+  private synchronized @Nullable IndexedBranchNames getIndexedBranchNames(GitRepository repository) {
+    return indexedBranchNamesByRepository.get(repository).getOrNull();
+  }
+
+  /**
+   * Brings the index for the given repository in line with its current local branches.
+   * Meant to be called whenever the repository changes.
+   *
+   * @return true if the set of local branch names has changed since the previous update
+   *         (or the branch names of the given repository have just been indexed for the first time), false otherwise
+   */
+  @SuppressWarnings("interning:not.interned") // to allow for `==` comparison of repository infos
+  public synchronized boolean update(GitRepository repository) {
+    // Let's drop the repositories that have been closed in the meantime, so that they can be garbage-collected.
+    indexedBranchNamesByRepository = indexedBranchNamesByRepository.filterKeys(r -> !r.isDisposed());
+    repositoryByMacheteFile = repositoryByMacheteFile.filterValues(r -> !r.isDisposed());
+
+    val repoInfo = repository.getInfo();
+    val localBranches = repoInfo.getLocalBranchesWithHashes().keySet();
+    val previous = indexedBranchNamesByRepository.get(repository).getOrNull();
+    if (previous == null) {
+      val names = HashSet.ofAll(localBranches).map(GitLocalBranch::getName);
+      LOG.debug(() -> "Indexing ${names.size()} local branch name(s) of ${repository}");
+      indexedBranchNamesByRepository = indexedBranchNamesByRepository.put(repository,
+          new IndexedBranchNames(repoInfo, names, BranchNameTrie.ofAll(names)));
+      return true;
+    }
+    if (previous.repoInfo == repoInfo) {
+      return false;
+    }
+
+    java.util.Set<String> currentNames = new java.util.HashSet<>();
+    List<String> addedNames = List.empty();
+    for (val localBranch : localBranches) {
+      val name = localBranch.getName();
+      currentNames.add(name);
+      if (!previous.names.contains(name)) {
+        addedNames = addedNames.prepend(name);
+      }
+    }
+    // Unless any branch has been added, there's a branch removed iff the number of branches has changed.
+    val removedNames = addedNames.isEmpty() && currentNames.size() == previous.names.size()
+        ? List.<String>empty()
+        : previous.names.filter(name -> !currentNames.contains(name)).toList();
+    if (removedNames.isEmpty() && addedNames.isEmpty()) {
+      indexedBranchNamesByRepository = indexedBranchNamesByRepository.put(repository,
+          new IndexedBranchNames(repoInfo, previous.names, previous.trie));
+      return false;
+    }
+
+    val finalAddedNames = addedNames;
+    LOG.debug(() -> "Updating local branch names of ${repository}: removed ${removedNames}, added ${finalAddedNames}");
+    Set<String> names = previous.names;
+    BranchNameTrie trie = previous.trie;
+    for (val removedName : removedNames) {
+      names = names.remove(removedName);
+      trie = trie.remove(removedName);
+    }
+    for (val addedName : addedNames) {
+      names = names.add(addedName);
+      trie = trie.add(addedName);
+    }
+    indexedBranchNamesByRepository = indexedBranchNamesByRepository.put(repository,
+        new IndexedBranchNames(repoInfo, names, trie));
+    return true;
+  }
+}
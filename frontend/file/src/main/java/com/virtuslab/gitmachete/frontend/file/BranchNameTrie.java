@@ -0,0 +1,134 @@
+package com.virtuslab.gitmachete.frontend.file;
+
+import io.vavr.collection.List;
+import io.vavr.collection.TreeMap;
+import io.vavr.collection.TreeSet;
+import io.vavr.control.Option;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable (persistent) prefix tree of branch names, matched case-insensitively.
+ * <br>
+ * Adding or removing a name only copies the nodes on the path of that name,
+ * so an updated trie can be derived from the previous one in time proportional to the length of the name
+ * (rather than to the number of all names).
+ * Retrieving all names with the given prefix takes time proportional to the length of the prefix
+ * plus the total length of the matching names.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BranchNameTrie {
+
+  private static final BranchNameTrie EMPTY = new BranchNameTrie(TreeSet.empty(), TreeMap.empty(), /* size */ 0);
+
+  // Names (in their original case) that end at this node; more than one only for names differing just by case.
+  private final TreeSet<String> namesEndingHere;
+
+  // Keyed by lower-case characters, hence a single path for all names differing just by case.
+  private final TreeMap<Character, BranchNameTrie> children;
+
+  // Total number of names in this (sub)trie.
+  @Getter
+  private final int size;
+
+  public static BranchNameTrie empty() {
+    return EMPTY;
+  }
+
+  public static BranchNameTrie ofAll(Iterable<String> names) {
+    BranchNameTrie result = EMPTY;
+    for (val name : names) {
+      result = result.add(name);
+    }
+    return result;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean contains(String name) {
+    val node = findNode(name);
+    return node != null && node.namesEndingHere.contains(name);
+  }
+
+  public BranchNameTrie add(String name) {
+    return add(name, /* depth */ 0);
+  }
+
+  private BranchNameTrie add(String name, @NonNegative int depth) {
+    if (depth >= name.length()) {
+      return namesEndingHere.contains(name)
+          ? this
+          : new BranchNameTrie(namesEndingHere.add(name), children, size + 1);
+    }
+    char key = Character.toLowerCase(name.charAt(depth));
+    val child = children.get(key).getOrElse(EMPTY);
+    val newChild = child.add(name, depth + 1);
+    return newChild == child
+        ? this
+        : new BranchNameTrie(namesEndingHere, children.put(key, newChild), size - child.size + newChild.size);
+  }
+
+  public BranchNameTrie remove(String name) {
+    return remove(name, /* depth */ 0);
+  }
+
+  private BranchNameTrie remove(String name, @NonNegative int depth) {
+    if (depth >= name.length()) {
+      return namesEndingHere.contains(name)
+          ? new BranchNameTrie(namesEndingHere.remove(name), children, size - 1)
+          : this;
+    }
+    char key = Character.toLowerCase(name.charAt(depth));
+    Option<BranchNameTrie> childOption = children.get(key);
+    if (childOption.isEmpty()) {
+      return this;
+    }
+    val child = childOption.get();
+    val newChild = child.remove(name, depth + 1);
+    if (newChild == child) {
+      return this;
+    }
+    // Prune the nodes that no longer lead to any name, so that the trie doesn't grow with the history of removed names.
+    val newChildren = newChild.isEmpty() ? children.remove(key) : children.put(key, newChild);
+    return new BranchNameTrie(namesEndingHere, newChildren, size - 1);
+  }
+
+  /**
+   * @param prefix prefix to match case-insensitively
+   * @return all names starting with {@code prefix}, in the lexicographic order of their lower-case forms
+   */
+  public List<String> getNamesWithPrefix(String prefix) {
+    val node = findNode(prefix);
+    if (node == null) {
+      return List.empty();
+    }
+    java.util.List<String> result = new java.util.ArrayList<>(node.size);
+    node.collectNames(result);
+    return List.ofAll(result);
+  }
+
+  private void collectNames(java.util.List<String> result) {
+    result.addAll(namesEndingHere.toJavaList());
+    for (val child : children.values()) {
+      child.collectNames(result);
+    }
+  }
+
+  private @Nullable BranchNameTrie findNode(String prefix) {
+    BranchNameTrie node = this;
+    for (int i = 0; i < prefix.length(); i++) {
+      val child = node.children.get(Character.toLowerCase(prefix.charAt(i))).getOrNull();
+      if (child == null) {
+        return null;
+      }
+      node = child;
+    }
+    return node;
+  }
+}
@@ -9,12 +9,10 @@ import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.DumbAware;
 import com.intellij.psi.PsiFile;
 import com.intellij.ui.TextFieldWithAutoCompletionListProvider;
-import lombok.experimental.ExtensionMethod;
 import lombok.val;
 
 import com.virtuslab.qual.guieffect.UIThreadUnsafe;
 
-@ExtensionMethod({MacheteFileUtils.class})
 public class MacheteCompletionContributor extends CompletionContributor implements DumbAware {
 
   @Override
@@ -22,9 +20,9 @@ public class MacheteCompletionContributor extends CompletionContributor implemen
   public void fillCompletionVariants(CompletionParameters parameters, CompletionResultSet result) {
     PsiFile file = parameters.getOriginalFile();
 
-    val branchNames = file.getBranchNamesForPsiMacheteFile();
-
-    if (branchNames.isEmpty()) {
+    val branchNameIndex = BranchNameIndex.getInstance(file.getProject());
+    val gitRepository = branchNameIndex.findRepositoryForMacheteFile(file);
+    if (gitRepository == null || branchNameIndex.getLocalBranchNames(gitRepository).isEmpty()) {
       return;
     }
 
@@ -40,7 +38,8 @@ public class MacheteCompletionContributor extends CompletionContributor implemen
     String prefix = getCompletionPrefix(parameters);
     val matcher = new PlainPrefixMatcher(prefix, /* prefixMatchesOnly */ true);
     val completionResultSet = result.caseInsensitive().withPrefixMatcher(matcher);
-    for (String branchName : branchNames) {
+    // Only the branches matching the prefix are retrieved from the index, rather than all branches of the repository
+    for (String branchName : branchNameIndex.getLocalBranchNamesWithPrefix(gitRepository, prefix)) {
       ProgressManager.checkCanceled();
       completionResultSet.addElement(LookupElementBuilder.create(branchName));
     }
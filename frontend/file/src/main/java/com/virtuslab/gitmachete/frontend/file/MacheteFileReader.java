@@ -2,10 +2,14 @@ package com.virtuslab.gitmachete.frontend.file;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.util.text.CharSequenceReader;
 import io.vavr.collection.List;
 import lombok.CustomLog;
+import lombok.Data;
 import lombok.val;
 
 import com.virtuslab.branchlayout.api.BranchLayout;
@@ -16,25 +20,83 @@ import com.virtuslab.qual.guieffect.IgnoreUIThreadUnsafeCalls;
 @CustomLog
 public final class MacheteFileReader {
 
+  // Stamp used in the cache key for files that have no document loaded at all.
+  private static final long NO_DOCUMENT_MODIFICATION_STAMP = -1L;
+
+  // The most recently parsed layout for each machete file path.
+  // `BranchLayout` is immutable, so the very same instance can be safely handed out to all callers.
+  private static final java.util.Map<Path, CachedBranchLayout> branchLayoutCache = new ConcurrentHashMap<>();
+
   private MacheteFileReader() {}
 
   /**
-   * Method for reading branch layout using IntelliJ's VFS API, should be used inside a ReadAction
+   * Method for reading branch layout using IntelliJ's VFS API, should be used inside a ReadAction.
+   * <br>
+   * If the file has unsaved changes in its editor, the layout is read from the {@link com.intellij.openapi.editor.Document}
+   * rather than from the disk.
+   * The file is only parsed again when either its VFS modification stamp or the modification stamp of its document
+   * has changed since the previous call.
    */
   @IgnoreUIThreadUnsafeCalls("java.io.InputStream.close()")
   public static BranchLayout readBranchLayout(Path path, IBranchLayoutReader branchLayoutReader) throws BranchLayoutException {
     LOG.debug(() -> "Reading branch layout from (${path}), branchLayoutReader = ${branchLayoutReader}");
     val macheteVFile = VirtualFileManager.getInstance().findFileByNioPath(path);
 
-    BranchLayout resultBranchLayout = new BranchLayout(List.empty());
+    if (macheteVFile == null) {
+      branchLayoutCache.remove(path);
+      return new BranchLayout(List.empty());
+    }
+
+    val fileDocumentManager = FileDocumentManager.getInstance();
+    val document = fileDocumentManager.getCachedDocument(macheteVFile);
+    val unsavedDocument = document != null && fileDocumentManager.isDocumentUnsaved(document) ? document : null;
 
-    if (macheteVFile != null) {
+    val key = new CacheKey(
+        macheteVFile.getModificationStamp(),
+        unsavedDocument != null ? unsavedDocument.getModificationStamp() : NO_DOCUMENT_MODIFICATION_STAMP,
+        branchLayoutReader);
+    val cachedBranchLayout = branchLayoutCache.get(path);
+    if (cachedBranchLayout != null && cachedBranchLayout.key.equals(key)) {
+      LOG.debug(() -> "Branch layout for (${path}) is up to date in cache");
+      return cachedBranchLayout.branchLayout;
+    }
+
+    BranchLayout resultBranchLayout;
+    if (unsavedDocument != null) {
+      LOG.debug(() -> "Reading branch layout for (${path}) from unsaved document");
+      resultBranchLayout = readBranchLayout(unsavedDocument.getImmutableCharSequence(), branchLayoutReader);
+    } else {
       try (val inputStream = macheteVFile.getInputStream()) {
         resultBranchLayout = branchLayoutReader.read(inputStream);
       } catch (IOException e) {
         throw new BranchLayoutException("Error while reading (${path})", e);
       }
     }
+
+    // Files that failed to parse are never cached, so that the error is reported again on every call.
+    branchLayoutCache.put(path, new CachedBranchLayout(key, resultBranchLayout));
     return resultBranchLayout;
   }
+
+  /**
+   * Method for reading branch layout straight from the (possibly unsaved) contents of a machete file,
+   * e.g. as provided by PSI or by a {@link com.intellij.openapi.editor.Document}, without any round trip to the disk.
+   */
+  public static BranchLayout readBranchLayout(CharSequence contents, IBranchLayoutReader branchLayoutReader)
+      throws BranchLayoutException {
+    return branchLayoutReader.read(new CharSequenceReader(contents));
+  }
+
+  @Data
+  private static class CacheKey {
+    private final long fileModificationStamp;
+    private final long documentModificationStamp;
+    private final IBranchLayoutReader branchLayoutReader;
+  }
+
+  @Data
+  private static class CachedBranchLayout {
+    private final CacheKey key;
+    private final BranchLayout branchLayout;
+  }
 }
@@ -1,22 +1,16 @@
 package com.virtuslab.gitmachete.frontend.file;
 
-import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
 import git4idea.repo.GitRepository;
-import git4idea.repo.GitRepositoryManager;
 import io.vavr.collection.List;
-import lombok.experimental.ExtensionMethod;
 import lombok.val;
-import org.checkerframework.checker.guieffect.qual.UIEffect;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import com.virtuslab.gitmachete.frontend.vfsutils.GitVfsUtils;
 import com.virtuslab.qual.guieffect.UIThreadUnsafe;
 
-@ExtensionMethod(GitVfsUtils.class)
 public final class MacheteFileUtils {
   private MacheteFileUtils() {}
 
@@ -32,35 +26,9 @@ public final class MacheteFileUtils {
         """;
   }
 
-  @UIThreadUnsafe
-  public static List<String> getBranchNamesForPsiMacheteFile(PsiFile psiFile) {
-    val gitRepository = findGitRepositoryForPsiMacheteFile(psiFile);
-
-    if (gitRepository == null) {
-      return List.empty();
-    }
-
-    return List.ofAll(gitRepository.getInfo().getLocalBranchesWithHashes().keySet())
-        .map(localBranch -> localBranch.getName());
-  }
-
   @UIThreadUnsafe
   public static @Nullable GitRepository findGitRepositoryForPsiMacheteFile(PsiFile psiFile) {
-    val project = psiFile.getProject();
-    return List.ofAll(GitRepositoryManager.getInstance(project).getRepositories())
-        .find(repository -> {
-          val macheteFile = repository.getMacheteFile();
-          return macheteFile != null && macheteFile.equals(psiFile.getVirtualFile());
-        }).getOrNull();
-  }
-
-  @UIEffect
-  public static void saveDocument(PsiFile file) {
-    val fileDocManager = FileDocumentManager.getInstance();
-    val document = fileDocManager.getDocument(file.getVirtualFile());
-    if (document != null) {
-      fileDocManager.saveDocument(document);
-    }
+    return BranchNameIndex.getInstance(psiFile.getProject()).findRepositoryForMacheteFile(psiFile);
   }
 
   public static @Nullable VirtualFile getMacheteVirtualFileIfSelected(Project project) {
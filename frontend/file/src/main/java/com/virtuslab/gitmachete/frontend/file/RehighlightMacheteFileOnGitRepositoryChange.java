@@ -0,0 +1,65 @@
+package com.virtuslab.gitmachete.frontend.file;
+
+import static com.intellij.openapi.application.ModalityState.NON_MODAL;
+import static com.virtuslab.gitmachete.frontend.file.MacheteFileUtils.getMacheteVirtualFileIfSelected;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.util.ModalityUiUtil;
+import git4idea.repo.GitRepository;
+import git4idea.repo.GitRepositoryChangeListener;
+import lombok.CustomLog;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.ExtensionMethod;
+import lombok.val;
+import org.checkerframework.checker.guieffect.qual.UIEffect;
+
+import com.virtuslab.gitmachete.frontend.vfsutils.GitVfsUtils;
+
+@CustomLog
+@ExtensionMethod(GitVfsUtils.class)
+@RequiredArgsConstructor
+public class RehighlightMacheteFileOnGitRepositoryChange implements GitRepositoryChangeListener {
+
+  private final Project project;
+
+  @Override
+  public void repositoryChanged(GitRepository repository) {
+    // Let's update the index before (rather than concurrently with) re-highlighting,
+    // so that the re-highlighting already sees the current branches.
+    // Most repository changes (commits, fetches, index updates etc.) don't create, delete or rename any local branch,
+    // and hence can't affect the annotations in machete file (which only depend on the set of local branch names).
+    boolean haveBranchNamesChanged = BranchNameIndex.getInstance(project).update(repository);
+    if (!haveBranchNamesChanged) {
+      LOG.debug(() -> "Local branch names of ${repository} have not changed, skipping re-highlighting of machete file");
+      return;
+    }
+
+    // Note that if machete file is just opened but NOT selected,
+    // then it's apparently always getting re-highlighted once selected.
+    // The only problematic case is when machete file is already selected, and the underlying git repository changes.
+    // Unless a re-highlighting is forced, red squiggles marking a non-existent branch will stick around
+    // even once that branch has already been created, e.g. by user firing our Alt+Enter quick fix.
+    val macheteVirtualFile = getMacheteVirtualFileIfSelected(project);
+    if (macheteVirtualFile != null && macheteVirtualFile.equals(repository.getMacheteFile())) {
+      ModalityUiUtil.invokeLaterIfNeeded(NON_MODAL, () -> rehighlight(macheteVirtualFile));
+    }
+  }
+
+  /**
+   * Only the highlighting is restarted, as the PSI of machete file doesn't depend on the branches in any way
+   * (unlike a full reparse, which would also rebuild the PSI tree from scratch).
+   */
+  @UIEffect
+  private void rehighlight(VirtualFile macheteVirtualFile) {
+    if (project.isDisposed() || !macheteVirtualFile.isValid()) {
+      return;
+    }
+    val psiFile = PsiManager.getInstance(project).findFile(macheteVirtualFile);
+    if (psiFile != null) {
+      DaemonCodeAnalyzer.getInstance(project).restart(psiFile);
+    }
+  }
+}
@@ -1,151 +1,37 @@
 package com.virtuslab.gitmachete.frontend.file.highlighting;
 
-import static com.intellij.openapi.application.ModalityState.NON_MODAL;
 import static com.virtuslab.gitmachete.frontend.resourcebundles.GitMacheteBundle.getNonHtmlString;
-import static com.virtuslab.gitmachete.frontend.resourcebundles.GitMacheteBundle.getString;
 
-import java.nio.file.Path;
 import java.util.OptionalInt;
 
-import com.intellij.codeInsight.hint.HintManager;
-import com.intellij.diagnostic.PluginException;
 import com.intellij.lang.ASTNode;
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.annotation.HighlightSeverity;
-import com.intellij.openapi.application.ApplicationManager;
-import com.intellij.openapi.application.ReadAction;
-import com.intellij.openapi.editor.Editor;
-import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.project.DumbAware;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.util.ModalityUiUtil;
-import git4idea.repo.GitRepository;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import lombok.Data;
 import lombok.experimental.ExtensionMethod;
 import lombok.val;
-import org.checkerframework.checker.guieffect.qual.UIEffect;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import com.virtuslab.branchlayout.api.BranchLayout;
-import com.virtuslab.branchlayout.api.BranchLayoutException;
-import com.virtuslab.branchlayout.api.readwrite.IBranchLayoutReader;
-import com.virtuslab.gitmachete.frontend.file.MacheteFileReader;
-import com.virtuslab.gitmachete.frontend.file.MacheteFileUtils;
 import com.virtuslab.gitmachete.frontend.file.grammar.MacheteFile;
-import com.virtuslab.gitmachete.frontend.file.grammar.MacheteGeneratedBranch;
 import com.virtuslab.gitmachete.frontend.file.grammar.MacheteGeneratedElementTypes;
 import com.virtuslab.gitmachete.frontend.file.grammar.MacheteGeneratedEntry;
-import com.virtuslab.gitmachete.frontend.file.quickfix.CreateBranchQuickFix;
 import com.virtuslab.gitmachete.frontend.resourcebundles.GitMacheteBundle;
-import com.virtuslab.qual.guieffect.UIThreadUnsafe;
 
-@ExtensionMethod({GitMacheteBundle.class, MacheteFileUtils.class})
+@ExtensionMethod(GitMacheteBundle.class)
 public class MacheteAnnotator implements Annotator, DumbAware {
-  private boolean cantGetBranchesMessageWasShown = false;
-
   @Override
-  @UIThreadUnsafe
   public void annotate(PsiElement element, AnnotationHolder holder) {
-    if (element instanceof MacheteGeneratedEntry macheteGeneratedEntry) {
-      processMacheteGeneratedEntry(macheteGeneratedEntry, holder);
-    } else if (element.getNode().getElementType().equals(MacheteGeneratedElementTypes.INDENTATION)) {
+    if (element.getNode().getElementType().equals(MacheteGeneratedElementTypes.INDENTATION)) {
       processIndentationElement(element, holder);
     }
   }
 
-  @UIEffect
-  private void showCantGetBranchesMessage(PsiFile file) {
-    Editor currentEditor = FileEditorManager.getInstance(file.getProject()).getSelectedTextEditor();
-    if (currentEditor == null) {
-      return;
-    }
-    HintManager.getInstance().showInformationHint(currentEditor,
-        getString("string.GitMachete.MacheteAnnotator.could-not-retrieve-local-branches"), HintManager.ABOVE);
-    cantGetBranchesMessageWasShown = true;
-  }
-
-  @UIThreadUnsafe
-  private void processMacheteGeneratedEntry(MacheteGeneratedEntry macheteEntry, AnnotationHolder holder) {
-    MacheteGeneratedBranch branch = macheteEntry.getBranch();
-
-    PsiFile file = macheteEntry.getContainingFile();
-    val branchNames = file.getBranchNamesForPsiMacheteFile();
-
-    if (branchNames.isEmpty()) {
-      if (!cantGetBranchesMessageWasShown) {
-        ModalityUiUtil.invokeLaterIfNeeded(NON_MODAL, () -> showCantGetBranchesMessage(file));
-      }
-      return;
-    }
-    cantGetBranchesMessageWasShown = false;
-
-    String processedBranchName = branch.getText();
-
-    // update the state of the .git/machete VirtualFile so that new entry is available in the VirtualFile
-    ModalityUiUtil.invokeLaterIfNeeded(NON_MODAL, () -> MacheteFileUtils.saveDocument(file));
-    /*
-     * Check for duplicate entries in the machete file. Note: there's no guarantee that at the point when
-     * isBranchNameRepeated(branchLayoutReader, file, processedBranchName) is invoked, saveDocument(file) is already completed.
-     * UI thread might be busy with other operations, and it might take while for the execution of saveDocument(file) to start.
-     */
-    val branchLayoutReader = ApplicationManager.getApplication().getService(IBranchLayoutReader.class);
-    try {
-      if (isBranchNameRepeated(branchLayoutReader, file, processedBranchName)) {
-        holder.newAnnotation(HighlightSeverity.ERROR,
-            getNonHtmlString("string.GitMachete.MacheteAnnotator.branch-entry-already-defined").fmt(processedBranchName))
-            .range(branch).create();
-      }
-    } catch (PluginException | IllegalStateException ignored) { // ignore dubious IDE checks against annotation range
-    }
-
-    if (!branchNames.contains(processedBranchName)) {
-      val parentBranchName = getParentBranchName(branchLayoutReader, file, processedBranchName);
-      val basicAnnotationBuilder = holder
-          .newAnnotation(HighlightSeverity.ERROR,
-              getNonHtmlString("string.GitMachete.MacheteAnnotator.cannot-find-local-branch-in-repo").fmt(processedBranchName))
-          .range(branch);
-      if (parentBranchName == null) { // do not suggest creating a new root branch
-        basicAnnotationBuilder.create();
-      } else { // suggest creating a new branch from the parent branch
-        GitRepository gitRepository = MacheteFileUtils.findGitRepositoryForPsiMacheteFile(file);
-        basicAnnotationBuilder.withFix(new CreateBranchQuickFix(processedBranchName, parentBranchName, file, gitRepository))
-            .create();
-      }
-    }
-  }
-
-  private boolean isBranchNameRepeated(IBranchLayoutReader branchLayoutReader, PsiFile file, String branchName) {
-    BranchLayout branchLayout;
-    try {
-      branchLayout = ReadAction.compute(
-          () -> MacheteFileReader.readBranchLayout(Path.of(file.getVirtualFile().getPath()), branchLayoutReader));
-    } catch (BranchLayoutException e) { // might appear if branchLayout has inconsistent indentation characters or file is inaccessible
-      return false;
-    }
-    return branchLayout.isEntryDuplicated(branchName);
-  }
-
-  private @Nullable String getParentBranchName(IBranchLayoutReader branchLayoutReader, PsiFile file, String branchName) {
-    BranchLayout branchLayout;
-    try {
-      branchLayout = ReadAction.compute(
-          () -> MacheteFileReader.readBranchLayout(Path.of(file.getVirtualFile().getPath()), branchLayoutReader));
-    } catch (BranchLayoutException e) { // might appear if branchLayout has inconsistent indentation characters or file is inaccessible
-      return null;
-    }
-    val entry = branchLayout.getEntryByName(branchName);
-    if (entry == null) { // might happen if saveDocument(file) has not completed yet
-      return null;
-    }
-    val parentEntry = entry.getParent();
-    if (parentEntry == null) {
-      return null;
-    }
-    return parentEntry.getName();
-  }
-
   private void processIndentationElement(PsiElement element, AnnotationHolder holder) {
     PsiElement parent = element.getParent();
     assert parent != null : "Element has no parent";
@@ -167,7 +53,7 @@ public class MacheteAnnotator implements Annotator, DumbAware {
     int thisLevel;
     boolean hasPrevLevelCorrectWidth;
 
-    IndentationParameters indentationParameters = findIndentationParameters(element);
+    IndentationParameters indentationParameters = getIndentationParameters(element.getContainingFile());
 
     val prevIndentationNodeOption = getIndentationNodeFromMacheteGeneratedEntry(prevMacheteGeneratedEntryOption);
     if (prevIndentationNodeOption == null) {
@@ -208,6 +94,15 @@ public class MacheteAnnotator implements Annotator, DumbAware {
     }
   }
 
+  /**
+   * Indentation parameters are derived from the first indented entry in the file, and are shared by all indentation elements,
+   * so they are only computed once per file modification (rather than once per indentation element).
+   */
+  private IndentationParameters getIndentationParameters(PsiFile file) {
+    return CachedValuesManager.getCachedValue(file,
+        () -> CachedValueProvider.Result.create(findIndentationParameters(file), file));
+  }
+
   private IndentationParameters findIndentationParameters(PsiElement currentElement) {
     MacheteGeneratedEntry element = getFirstMacheteGeneratedEntry(currentElement);
     while (element != null && getIndentationNodeFromMacheteGeneratedEntry(element) == null) {
@@ -0,0 +1,180 @@
+package com.virtuslab.gitmachete.frontend.file.highlighting;
+
+import static com.intellij.openapi.application.ModalityState.NON_MODAL;
+import static com.virtuslab.gitmachete.frontend.resourcebundles.GitMacheteBundle.getNonHtmlString;
+import static com.virtuslab.gitmachete.frontend.resourcebundles.GitMacheteBundle.getString;
+
+import com.intellij.codeInsight.hint.HintManager;
+import com.intellij.diagnostic.PluginException;
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.ExternalAnnotator;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.ModalityUiUtil;
+import git4idea.repo.GitRepository;
+import io.vavr.collection.HashSet;
+import io.vavr.collection.List;
+import lombok.Data;
+import lombok.experimental.ExtensionMethod;
+import lombok.val;
+import org.checkerframework.checker.guieffect.qual.UIEffect;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.virtuslab.branchlayout.api.BranchLayout;
+import com.virtuslab.branchlayout.api.BranchLayoutException;
+import com.virtuslab.branchlayout.api.readwrite.IBranchLayoutReader;
+import com.virtuslab.gitmachete.frontend.file.BranchNameIndex;
+import com.virtuslab.gitmachete.frontend.file.MacheteFileReader;
+import com.virtuslab.gitmachete.frontend.file.grammar.MacheteFile;
+import com.virtuslab.gitmachete.frontend.file.grammar.MacheteGeneratedEntry;
+import com.virtuslab.gitmachete.frontend.file.quickfix.CreateBranchQuickFix;
+import com.virtuslab.gitmachete.frontend.resourcebundles.GitMacheteBundle;
+import com.virtuslab.qual.guieffect.UIThreadUnsafe;
+
+/**
+ * Annotates branch entries that are either duplicated or missing from the repository.
+ * Unlike {@link MacheteAnnotator}, which is invoked separately for each PSI element,
+ * this annotator analyzes the entire file just once per highlighting pass:
+ * the branch layout is read and the local branches are retrieved once, and then each entry is merely looked up.
+ */
+@ExtensionMethod(GitMacheteBundle.class)
+public class MacheteEntryAnnotator
+    extends
+      ExternalAnnotator<MacheteEntryAnnotator.CollectedInfo, MacheteEntryAnnotator.AnnotationResult>
+    implements
+      DumbAware {
+
+  private boolean cantGetBranchesMessageWasShown = false;
+
+  @Override
+  public @Nullable CollectedInfo collectInformation(PsiFile file) {
+    if (!(file instanceof MacheteFile)) {
+      return null;
+    }
+    val branches = List.ofAll(PsiTreeUtil.getChildrenOfTypeAsList(file, MacheteGeneratedEntry.class))
+        .map(entry -> new BranchOccurrence(entry.getBranch().getText(), entry.getBranch().getTextRange()));
+    // `getContents` gives an immutable snapshot of the text as currently seen by PSI, so it's safe to parse in `doAnnotate`
+    return new CollectedInfo(file, file.getViewProvider().getContents(), branches);
+  }
+
+  @Override
+  @UIThreadUnsafe
+  public @Nullable AnnotationResult doAnnotate(CollectedInfo collectedInfo) {
+    val file = collectedInfo.file;
+    val branchNameIndex = BranchNameIndex.getInstance(file.getProject());
+    val gitRepository = branchNameIndex.findRepositoryForMacheteFile(file);
+    val branchNames = gitRepository != null ? branchNameIndex.getLocalBranchNames(gitRepository) : HashSet.<String>empty();
+
+    if (branchNames.isEmpty()) {
+      return new AnnotationResult(gitRepository, /* areBranchNamesAvailable */ false, List.empty());
+    }
+
+    // The very text the entries have been collected from is parsed, so there's no need to save the document beforehand
+    // (and no risk of the analysis reading stale contents from the disk).
+    @Nullable BranchLayout branchLayout;
+    val branchLayoutReader = ApplicationManager.getApplication().getService(IBranchLayoutReader.class);
+    try {
+      branchLayout = MacheteFileReader.readBranchLayout(collectedInfo.contents, branchLayoutReader);
+    } catch (BranchLayoutException e) { // might appear if branchLayout has inconsistent indentation characters
+      branchLayout = null;
+    }
+
+    val finalBranchLayout = branchLayout;
+    val entryAnnotations = collectedInfo.branches.map(branch -> {
+      boolean isDuplicated = finalBranchLayout != null && finalBranchLayout.isEntryDuplicated(branch.name);
+      boolean isMissing = !branchNames.contains(branch.name);
+      @Nullable String parentBranchName = null;
+      if (isMissing && finalBranchLayout != null) {
+        val parentEntry = finalBranchLayout.findParentEntry(branch.name);
+        parentBranchName = parentEntry != null ? parentEntry.getName() : null;
+      }
+      return new EntryAnnotation(branch, isDuplicated, isMissing, parentBranchName);
+    });
+    return new AnnotationResult(gitRepository, /* areBranchNamesAvailable */ true, entryAnnotations);
+  }
+
+  @Override
+  public void apply(PsiFile file, AnnotationResult annotationResult, AnnotationHolder holder) {
+    if (!annotationResult.areBranchNamesAvailable) {
+      if (!cantGetBranchesMessageWasShown) {
+        ModalityUiUtil.invokeLaterIfNeeded(NON_MODAL, () -> showCantGetBranchesMessage(file));
+      }
+      return;
+    }
+    cantGetBranchesMessageWasShown = false;
+
+    for (val entryAnnotation : annotationResult.entryAnnotations) {
+      val branchName = entryAnnotation.branch.name;
+      val range = entryAnnotation.branch.textRange;
+
+      if (entryAnnotation.isDuplicated) {
+        try {
+          holder.newAnnotation(HighlightSeverity.ERROR,
+              getNonHtmlString("string.GitMachete.MacheteAnnotator.branch-entry-already-defined").fmt(branchName))
+              .range(range).create();
+        } catch (PluginException | IllegalStateException ignored) { // ignore dubious IDE checks against annotation range
+        }
+      }
+
+      if (entryAnnotation.isMissing) {
+        val basicAnnotationBuilder = holder
+            .newAnnotation(HighlightSeverity.ERROR,
+                getNonHtmlString("string.GitMachete.MacheteAnnotator.cannot-find-local-branch-in-repo").fmt(branchName))
+            .range(range);
+        val parentBranchName = entryAnnotation.parentBranchName;
+        if (parentBranchName == null) { // do not suggest creating a new root branch
+          basicAnnotationBuilder.create();
+        } else { // suggest creating a new branch from the parent branch
+          basicAnnotationBuilder
+              .withFix(new CreateBranchQuickFix(branchName, parentBranchName, file, annotationResult.gitRepository))
+              .create();
+        }
+      }
+    }
+  }
+
+  @UIEffect
+  private void showCantGetBranchesMessage(PsiFile file) {
+    Editor currentEditor = FileEditorManager.getInstance(file.getProject()).getSelectedTextEditor();
+    if (currentEditor == null) {
+      return;
+    }
+    HintManager.getInstance().showInformationHint(currentEditor,
+        getString("string.GitMachete.MacheteAnnotator.could-not-retrieve-local-branches"), HintManager.ABOVE);
+    cantGetBranchesMessageWasShown = true;
+  }
+
+  @Data
+  private static class BranchOccurrence {
+    private final String name;
+    private final TextRange textRange;
+  }
+
+  @Data
+  static class CollectedInfo {
+    private final PsiFile file;
+    private final CharSequence contents;
+    private final List<BranchOccurrence> branches;
+  }
+
+  @Data
+  private static class EntryAnnotation {
+    private final BranchOccurrence branch;
+    private final boolean isDuplicated;
+    private final boolean isMissing;
+    private final @Nullable String parentBranchName;
+  }
+
+  @Data
+  static class AnnotationResult {
+    private final @Nullable GitRepository gitRepository;
+    private final boolean areBranchNamesAvailable;
+    private final List<EntryAnnotation> entryAnnotations;
+  }
+}
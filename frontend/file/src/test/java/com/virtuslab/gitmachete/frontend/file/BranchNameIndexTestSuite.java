@@ -0,0 +1,124 @@
+package com.virtuslab.gitmachete.frontend.file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.vcs.log.Hash;
+import git4idea.GitLocalBranch;
+import git4idea.repo.GitRepoInfo;
+import git4idea.repo.GitRepository;
+import io.vavr.collection.HashSet;
+import io.vavr.collection.List;
+import lombok.val;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BranchNameIndexTestSuite {
+
+  private final BranchNameIndex branchNameIndex = new BranchNameIndex(mock(Project.class));
+
+  private GitRepository repository;
+
+  @BeforeEach
+  public void setUp() {
+    repository = mock(GitRepository.class);
+    when(repository.isDisposed()).thenReturn(false);
+  }
+
+  private void setLocalBranches(String... branchNames) {
+    java.util.Map<GitLocalBranch, Hash> localBranchesWithHashes = new java.util.HashMap<>();
+    for (val branchName : branchNames) {
+      localBranchesWithHashes.put(new GitLocalBranch(branchName), mock(Hash.class));
+    }
+    // Each repository update comes with a new repository info.
+    val repoInfo = mock(GitRepoInfo.class);
+    when(repoInfo.getLocalBranchesWithHashes()).thenReturn(localBranchesWithHashes);
+    when(repository.getInfo()).thenReturn(repoInfo);
+  }
+
+  @Test
+  public void update_givenFirstUpdate_indexesAllBranches() {
+    // given
+    setLocalBranches("master", "develop", "feature/a");
+
+    // when
+    val hasChanged = branchNameIndex.update(repository);
+
+    // then
+    assertTrue(hasChanged);
+    assertEquals(HashSet.of("master", "develop", "feature/a"), branchNameIndex.getLocalBranchNames(repository));
+    assertEquals(List.of("feature/a"), branchNameIndex.getLocalBranchNamesWithPrefix(repository, "f"));
+  }
+
+  @Test
+  public void update_givenAddedBranches_addsThemToIndex() {
+    // given
+    setLocalBranches("master", "feature/a");
+    branchNameIndex.update(repository);
+    setLocalBranches("master", "feature/a", "feature/b", "Fix/c");
+
+    // when
+    val hasChanged = branchNameIndex.update(repository);
+
+    // then
+    assertTrue(hasChanged);
+    assertEquals(HashSet.of("master", "feature/a", "feature/b", "Fix/c"), branchNameIndex.getLocalBranchNames(repository));
+    assertEquals(List.of("feature/a", "feature/b", "Fix/c"), branchNameIndex.getLocalBranchNamesWithPrefix(repository, "f"));
+  }
+
+  @Test
+  public void update_givenRemovedBranches_removesThemFromIndex() {
+    // given
+    setLocalBranches("master", "feature/a", "feature/b", "fix/c");
+    branchNameIndex.update(repository);
+    setLocalBranches("master", "feature/b");
+
+    // when
+    val hasChanged = branchNameIndex.update(repository);
+
+    // then
+    assertTrue(hasChanged);
+    assertEquals(HashSet.of("master", "feature/b"), branchNameIndex.getLocalBranchNames(repository));
+    assertEquals(List.of("feature/b"), branchNameIndex.getLocalBranchNamesWithPrefix(repository, "f"));
+    assertTrue(branchNameIndex.getLocalBranchNamesWithPrefix(repository, "fix").isEmpty());
+  }
+
+  @Test
+  public void update_givenBranchesAddedAndRemovedWithSameCount_updatesIndex() {
+    // given
+    setLocalBranches("master", "feature/a");
+    branchNameIndex.update(repository);
+    // A branch renamed, so the number of branches stays the same.
+    setLocalBranches("master", "feature/b");
+
+    // when
+    val hasChanged = branchNameIndex.update(repository);
+
+    // then
+    assertTrue(hasChanged);
+    assertEquals(HashSet.of("master", "feature/b"), branchNameIndex.getLocalBranchNames(repository));
+    assertEquals(List.of("feature/b"), branchNameIndex.getLocalBranchNamesWithPrefix(repository, "feature"));
+  }
+
+  @Test
+  public void update_givenUnchangedBranches_reportsNoChange() {
+    // given
+    setLocalBranches("master", "feature/a");
+    branchNameIndex.update(repository);
+
+    // when, then
+    // The same repository info as in the previous update...
+    assertFalse(branchNameIndex.update(repository));
+
+    // ... and a new repository info with the same branches (e.g. after a commit on one of them).
+    setLocalBranches("feature/a", "master");
+    assertFalse(branchNameIndex.update(repository));
+
+    assertEquals(HashSet.of("master", "feature/a"), branchNameIndex.getLocalBranchNames(repository));
+    assertEquals(List.of("feature/a"), branchNameIndex.getLocalBranchNamesWithPrefix(repository, "FEAT"));
+  }
+}
@@ -0,0 +1,117 @@
+package com.virtuslab.gitmachete.frontend.file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vavr.collection.List;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+public class BranchNameTrieTestSuite {
+
+  @Test
+  public void getNamesWithPrefix_givenPrefix_returnsOnlyMatchingNames() {
+    // given
+    val trie = BranchNameTrie.ofAll(List.of("develop", "feature/a", "feature/b", "fix/c", "master"));
+
+    // when
+    val names = trie.getNamesWithPrefix("fe");
+
+    // then
+    assertEquals(List.of("feature/a", "feature/b"), names);
+    assertEquals(List.of("feature/a", "feature/b", "fix/c"), trie.getNamesWithPrefix("f"));
+    assertEquals(List.of("master"), trie.getNamesWithPrefix("master"));
+    assertTrue(trie.getNamesWithPrefix("hotfix").isEmpty());
+    assertTrue(trie.getNamesWithPrefix("masterful").isEmpty());
+  }
+
+  @Test
+  public void getNamesWithPrefix_givenMixedCaseNames_matchesCaseInsensitively() {
+    // given
+    val trie = BranchNameTrie.ofAll(List.of("Feature/Login", "feature/logout", "FEATURE/signup"));
+
+    // when
+    val names = trie.getNamesWithPrefix("fEaTuRe/LOG");
+
+    // then
+    assertEquals(List.of("Feature/Login", "feature/logout"), names);
+    assertEquals(3, trie.getNamesWithPrefix("FEATURE").size());
+    // Names differing just by case are all kept, in their original case.
+    assertTrue(trie.contains("FEATURE/signup"));
+    assertFalse(trie.contains("feature/signup"));
+  }
+
+  @Test
+  public void getNamesWithPrefix_givenEmptyPrefix_returnsAllNames() {
+    // given
+    val trie = BranchNameTrie.ofAll(List.of("master", "develop", "Develop"));
+
+    // when
+    val names = trie.getNamesWithPrefix("");
+
+    // then
+    assertEquals(3, names.size());
+    assertEquals(List.of("Develop", "develop", "master"), names);
+    assertTrue(BranchNameTrie.empty().getNamesWithPrefix("").isEmpty());
+  }
+
+  @Test
+  public void remove_givenLastNameUnderNode_prunesNode() {
+    // given
+    val trie = BranchNameTrie.ofAll(List.of("feature/a", "fix/b"));
+
+    // when
+    val trieWithoutFeature = trie.remove("feature/a");
+
+    // then
+    assertEquals(1, trieWithoutFeature.getSize());
+    assertFalse(trieWithoutFeature.contains("feature/a"));
+    assertTrue(trieWithoutFeature.getNamesWithPrefix("fe").isEmpty());
+    assertEquals(List.of("fix/b"), trieWithoutFeature.getNamesWithPrefix("f"));
+
+    val emptyTrie = trieWithoutFeature.remove("fix/b");
+    assertTrue(emptyTrie.isEmpty());
+    assertTrue(emptyTrie.getNamesWithPrefix("f").isEmpty());
+
+    // The trie that names have been removed from is unaffected.
+    assertEquals(List.of("feature/a", "fix/b"), trie.getNamesWithPrefix(""));
+  }
+
+  @Test
+  public void remove_givenAbsentName_returnsSameTrie() {
+    // given
+    val trie = BranchNameTrie.ofAll(List.of("feature", "feature/a"));
+
+    // when, then
+    assertSame(trie, trie.remove("feat"));
+    assertSame(trie, trie.remove("feature/b"));
+    assertSame(trie, trie.remove("FEATURE"));
+    assertSame(trie, trie.add("feature"));
+  }
+
+  @Test
+  public void addAndRemove_givenNamesBeingPrefixesOfOtherNames_keepsBothNames() {
+    // given
+    val trie = BranchNameTrie.ofAll(List.of("feature", "feature/a", "feature/a/b"));
+
+    // when
+    val names = trie.getNamesWithPrefix("feature");
+
+    // then
+    assertEquals(3, trie.getSize());
+    assertEquals(List.of("feature", "feature/a", "feature/a/b"), names);
+    assertEquals(List.of("feature/a", "feature/a/b"), trie.getNamesWithPrefix("feature/"));
+
+    val trieWithoutMiddleName = trie.remove("feature/a");
+    assertEquals(2, trieWithoutMiddleName.getSize());
+    assertTrue(trieWithoutMiddleName.contains("feature"));
+    assertFalse(trieWithoutMiddleName.contains("feature/a"));
+    assertEquals(List.of("feature/a/b"), trieWithoutMiddleName.getNamesWithPrefix("feature/a"));
+
+    val trieWithoutShortestName = trie.remove("feature");
+    assertFalse(trieWithoutShortestName.contains("feature"));
+    assertEquals(List.of("feature/a", "feature/a/b"), trieWithoutShortestName.getNamesWithPrefix("feature"));
+  }
+}
@@ -1,5 +1,5 @@
 package com.virtuslab.gitmachete.frontend.graph.api.items;
 
 public enum GraphItemColor {
-  TRANSPARENT, GRAY, YELLOW, RED, GREEN
+  TRANSPARENT, GRAY, LIGHT_GRAY, YELLOW, RED, GREEN
 }
@@ -1,6 +1,7 @@
 package com.virtuslab.gitmachete.frontend.graph.api.items;
 
 import io.vavr.NotImplementedError;
+import org.checkerframework.checker.index.qual.NonNegative;
 
 import com.virtuslab.gitmachete.backend.api.ICommitOfManagedBranch;
 import com.virtuslab.gitmachete.backend.api.INonRootManagedBranchSnapshot;
@@ -23,8 +24,23 @@ public interface ICommitItem extends IGraphItem {
     return this;
   }
 
+  /**
+   * @return the commit represented by this item; for a placeholder of omitted commits
+   *         (see {@link #getOmittedCommitCount}), the oldest commit that has been loaded for the containing branch
+   */
   ICommitOfManagedBranch getCommit();
 
+  /**
+   * @return the number of unique commits of the containing branch that have NOT been loaded
+   *         and are represented by this single placeholder item instead, or 0 if this item represents just {@link #getCommit}
+   */
+  @NonNegative
+  int getOmittedCommitCount();
+
+  default boolean isOmittedCommitsPlaceholder() {
+    return getOmittedCommitCount() > 0;
+  }
+
   /**
    * @return a non-root branch containing the given commit in git-machete sense, which is stricter than containing in git sense.
    *
@@ -41,6 +41,12 @@ public interface IGraphItem {
 
   void setNextSiblingItemIndex(@Positive int i);
 
+  /**
+   * @return a value that tells this item apart from all other items of the same graph, and that is equal
+   *         for the items representing the same thing (like a given branch) in the graphs of subsequent snapshots
+   */
+  Object getIdentity();
+
   /** @return the text (commit message/branch name) to be displayed in the table */
   String getValue();
 
@@ -1,10 +1,12 @@
 package com.virtuslab.gitmachete.frontend.graph.api.repository;
 
-import org.checkerframework.checker.guieffect.qual.UIEffect;
-
 import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositorySnapshot;
 
 public interface IRepositoryGraphCache {
-  @UIEffect
+  /**
+   * Can be called from any thread. The graph is only built if it isn't cached yet for the given snapshot,
+   * so it's best to first call this method in the background (to build the graph there),
+   * so that the subsequent call on the UI thread just retrieves the graph from the cache.
+   */
   IRepositoryGraph getRepositoryGraph(IGitMacheteRepositorySnapshot givenRepositorySnapshot, boolean isListingCommits);
 }
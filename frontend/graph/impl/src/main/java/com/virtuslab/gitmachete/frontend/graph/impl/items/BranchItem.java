@@ -4,6 +4,7 @@ import java.awt.Color;
 
 import com.intellij.ui.JBColor;
 import com.intellij.ui.SimpleTextAttributes;
+import io.vavr.Tuple;
 import lombok.AccessLevel;
 import lombok.Getter;
 import org.checkerframework.checker.index.qual.GTENegativeOne;
@@ -48,6 +49,11 @@ public final class BranchItem extends BaseGraphItem implements IBranchItem {
   private static final SimpleTextAttributes NORMAL_ATTRIBUTES = new SimpleTextAttributes(
       SimpleTextAttributes.STYLE_PLAIN, BRANCH_TEXT_COLOR);
 
+  @Override
+  public Object getIdentity() {
+    return Tuple.of(BranchItem.class, branch.getName());
+  }
+
   @Override
   public String getValue() {
     return branch.getName();
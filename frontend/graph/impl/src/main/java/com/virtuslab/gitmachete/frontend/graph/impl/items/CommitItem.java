@@ -2,6 +2,7 @@ package com.virtuslab.gitmachete.frontend.graph.impl.items;
 
 import com.intellij.ui.SimpleTextAttributes;
 import com.intellij.util.ui.UIUtil;
+import io.vavr.Tuple;
 import lombok.Getter;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.index.qual.Positive;
@@ -16,6 +17,7 @@ public final class CommitItem extends BaseGraphItem implements ICommitItem {
 
   private final ICommitOfManagedBranch commit;
   private final INonRootManagedBranchSnapshot containingBranch;
+  private final @NonNegative int omittedCommitCount;
 
   public CommitItem(
       ICommitOfManagedBranch commit,
@@ -24,9 +26,22 @@ public final class CommitItem extends BaseGraphItem implements ICommitItem {
       @NonNegative int prevSiblingItemIndex,
       @Positive int nextSiblingItemIndex,
       @NonNegative int indentLevel) {
+    this(commit, containingBranch, /* omittedCommitCount */ 0, containingBranchGraphItemColor, prevSiblingItemIndex,
+        nextSiblingItemIndex, indentLevel);
+  }
+
+  public CommitItem(
+      ICommitOfManagedBranch commit,
+      INonRootManagedBranchSnapshot containingBranch,
+      @NonNegative int omittedCommitCount,
+      GraphItemColor containingBranchGraphItemColor,
+      @NonNegative int prevSiblingItemIndex,
+      @Positive int nextSiblingItemIndex,
+      @NonNegative int indentLevel) {
     super(containingBranchGraphItemColor, prevSiblingItemIndex, nextSiblingItemIndex, indentLevel);
     this.commit = commit;
     this.containingBranch = containingBranch;
+    this.omittedCommitCount = omittedCommitCount;
   }
 
   @Override
@@ -35,9 +50,19 @@ public final class CommitItem extends BaseGraphItem implements ICommitItem {
         UIUtil.getInactiveTextColor());
   }
 
+  @Override
+  public Object getIdentity() {
+    // The placeholder of omitted commits refers to the oldest loaded commit of the branch, which has its own item as well.
+    // Also, the placeholder should retain its identity once more (or fewer) commits of the branch are loaded.
+    return isOmittedCommitsPlaceholder()
+        ? Tuple.of(CommitItem.class, containingBranch.getName())
+        : Tuple.of(CommitItem.class, containingBranch.getName(), commit.getHash());
+  }
+
   @Override
   public String getValue() {
-    return commit.getShortMessage();
+    // The frontend is expected to render a localized text for the placeholders of omitted commits.
+    return isOmittedCommitsPlaceholder() ? "\u2026" : commit.getShortMessage();
   }
 
   @Override
@@ -15,6 +15,7 @@ import io.vavr.collection.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 import org.checkerframework.checker.guieffect.qual.UIEffect;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.virtuslab.gitmachete.frontend.defs.Colors;
 import com.virtuslab.gitmachete.frontend.graph.api.items.GraphItemColor;
@@ -28,6 +29,13 @@ public class GraphCellPainter implements IGraphCellPainter {
 
   private final JTable table;
 
+  // Reused across all the nodes painted by this painter, so that painting a node doesn't allocate anything.
+  private final Ellipse2D.Double circle = new Ellipse2D.Double();
+
+  // The stroke only depends on the row height, so it's only recreated once the row height changes (e.g. with the font size).
+  private @Nullable BasicStroke stroke = null;
+  private int strokeRowHeight = -1;
+
   @UIEffect
   protected int getRowHeight() {
     val font = table.getFont();
@@ -41,57 +49,48 @@ public class GraphCellPainter implements IGraphCellPainter {
   }
 
   @UIEffect
-  private BasicStroke getOrdinaryStroke() {
-    return new BasicStroke(PaintParameters.getLineThickness(getRowHeight()), BasicStroke.CAP_ROUND, BasicStroke.JOIN_BEVEL);
-  }
-
-  @UIEffect
-  private void paintUpLine(Graphics2D g2, Color color, int posInRow) {
-    int nodeWidth = PaintParameters.getNodeWidth(getRowHeight());
+  private void paintUpLine(Graphics2D g2, Color color, int posInRow, int rowHeight, int nodeWidth) {
     int x = nodeWidth * posInRow + nodeWidth / 2;
-    int y1 = getRowHeight() / 2 - 1;
+    int y1 = rowHeight / 2 - 1;
     int y2 = 0;
     paintLine(g2, color, x, y1, x, y2);
   }
 
   @UIEffect
-  private void paintDownLine(Graphics2D g2, Color color, int posInRow) {
-    int nodeWidth = PaintParameters.getNodeWidth(getRowHeight());
-    int y2 = getRowHeight();
-    int y1 = getRowHeight() / 2;
+  private void paintDownLine(Graphics2D g2, Color color, int posInRow, int rowHeight, int nodeWidth) {
+    int y2 = rowHeight;
+    int y1 = rowHeight / 2;
     int x = nodeWidth * posInRow + nodeWidth / 2;
     paintLine(g2, color, x, y1, x, y2);
   }
 
   @UIEffect
-  private void paintRightLine(Graphics2D g2, Color color, int posInRow) {
-    int nodeWidth = PaintParameters.getNodeWidth(getRowHeight());
+  private void paintRightLine(Graphics2D g2, Color color, int posInRow, int rowHeight, int nodeWidth) {
     int x1 = nodeWidth * posInRow + nodeWidth / 2;
     int x2 = x1 + nodeWidth;
-    int y = getRowHeight() / 2;
+    int y = rowHeight / 2;
     paintLine(g2, color, x1, y, x2, y);
   }
 
   @UIEffect
   private void paintLine(Graphics2D g2, Color color, int x1, int y1, int x2, int y2) {
     g2.setColor(color);
-    g2.setStroke(getOrdinaryStroke());
     g2.drawLine(x1, y1, x2, y2);
   }
 
   @UIEffect
-  private void paintCircle(Graphics2D g2, int position, Color color) {
-    int nodeWidth = PaintParameters.getNodeWidth(getRowHeight());
+  private void paintCircle(Graphics2D g2, int position, Color color, int rowHeight, int nodeWidth) {
     int x0 = nodeWidth * position + nodeWidth / 2;
-    int y0 = getRowHeight() / 2;
-    int r = PaintParameters.getCircleRadius(getRowHeight());
-    Ellipse2D.Double circle = new Ellipse2D.Double(x0 - r + 0.5, y0 - r + 0.5, 2 * r, 2 * r);
+    int y0 = rowHeight / 2;
+    int r = PaintParameters.getCircleRadius(rowHeight);
+    circle.setFrame(x0 - r + 0.5, y0 - r + 0.5, 2 * r, 2 * r);
     g2.setColor(color);
     g2.fill(circle);
   }
 
   private static final Map<GraphItemColor, JBColor> COLORS = HashMap.of(
       GraphItemColor.GRAY, Colors.GRAY,
+      GraphItemColor.LIGHT_GRAY, Colors.LIGHT_GRAY,
       GraphItemColor.YELLOW, Colors.YELLOW,
       GraphItemColor.RED, Colors.RED,
       GraphItemColor.GREEN, Colors.GREEN);
@@ -106,31 +105,48 @@ public class GraphCellPainter implements IGraphCellPainter {
   public void draw(Graphics2D g2, List<? extends IRenderPart> renderParts) {
     g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
+    // The metrics are the same for all the parts of the row, so let's retrieve them just once per row.
+    int rowHeight = getRowHeight();
+    int nodeWidth = PaintParameters.getNodeWidth(rowHeight);
+    g2.setStroke(getStroke(rowHeight));
+
     for (IRenderPart renderPart : renderParts) {
-      drawRenderPart(g2, renderPart);
+      drawRenderPart(g2, renderPart, rowHeight, nodeWidth);
+    }
+  }
+
+  @UIEffect
+  private BasicStroke getStroke(int rowHeight) {
+    var currentStroke = stroke;
+    if (currentStroke == null || strokeRowHeight != rowHeight) {
+      currentStroke = new BasicStroke(PaintParameters.getLineThickness(rowHeight), BasicStroke.CAP_ROUND,
+          BasicStroke.JOIN_BEVEL);
+      stroke = currentStroke;
+      strokeRowHeight = rowHeight;
     }
+    return currentStroke;
   }
 
   @UIEffect
-  protected void drawRenderPart(Graphics2D g2, IRenderPart renderPart) {
+  protected void drawRenderPart(Graphics2D g2, IRenderPart renderPart, int rowHeight, int nodeWidth) {
     if (renderPart.isNode()) {
       int posInRow = renderPart.getPositionInRow();
-      paintCircle(g2, posInRow, getColor(renderPart));
+      paintCircle(g2, posInRow, getColor(renderPart), rowHeight, nodeWidth);
     } else { // isEdge
-      drawEdge(g2, getColor(renderPart), renderPart.asEdge());
+      drawEdge(g2, getColor(renderPart), renderPart.asEdge(), rowHeight, nodeWidth);
     }
   }
 
   @UIEffect
-  private void drawEdge(Graphics2D g2, Color color, IEdgeRenderPart edgeRenderPart) {
+  private void drawEdge(Graphics2D g2, Color color, IEdgeRenderPart edgeRenderPart, int rowHeight, int nodeWidth) {
     int posInRow = edgeRenderPart.getPositionInRow();
 
     if (edgeRenderPart.getType() == IEdgeRenderPart.Type.DOWN) {
-      paintDownLine(g2, color, posInRow);
+      paintDownLine(g2, color, posInRow, rowHeight, nodeWidth);
     } else if (edgeRenderPart.getType() == IEdgeRenderPart.Type.UP) {
-      paintUpLine(g2, color, posInRow);
+      paintUpLine(g2, color, posInRow, rowHeight, nodeWidth);
     } else if (edgeRenderPart.getType() == IEdgeRenderPart.Type.RIGHT) {
-      paintRightLine(g2, color, posInRow);
+      paintRightLine(g2, color, posInRow, rowHeight, nodeWidth);
     }
   }
 }
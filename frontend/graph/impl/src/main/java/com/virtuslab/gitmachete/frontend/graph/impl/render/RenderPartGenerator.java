@@ -1,11 +1,14 @@
 package com.virtuslab.gitmachete.frontend.graph.impl.render;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 import com.intellij.util.SmartList;
 import io.vavr.collection.List;
 import lombok.RequiredArgsConstructor;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.initialization.qual.NotOnlyInitialized;
 import org.checkerframework.checker.initialization.qual.UnderInitialization;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.virtuslab.gitmachete.frontend.graph.api.elements.GraphEdge;
 import com.virtuslab.gitmachete.frontend.graph.api.elements.GraphNode;
@@ -23,16 +26,30 @@ public final class RenderPartGenerator implements IRenderPartGenerator {
   @NotOnlyInitialized
   private final GraphItemColorForGraphElementProvider itemColorForElementProvider;
 
-  public RenderPartGenerator(@UnderInitialization IRepositoryGraph repositoryGraph) {
+  // Render parts of each row, generated on the first request for the given row.
+  // The graph is immutable, so the parts never need to be regenerated, no matter how many times the row gets repainted.
+  // Requested both from the background thread that builds the graph and from the UI thread that paints it, hence atomic;
+  // if two threads happen to generate the parts of the same row at once, they come up with equal parts anyway.
+  private final AtomicReferenceArray<@Nullable List<BaseRenderPart>> renderPartsByRow;
+
+  public RenderPartGenerator(@UnderInitialization IRepositoryGraph repositoryGraph, @NonNegative int rowCount) {
     this.repositoryGraph = repositoryGraph;
     this.itemColorForElementProvider = new GraphItemColorForGraphElementProvider(repositoryGraph);
+    this.renderPartsByRow = new AtomicReferenceArray<>(rowCount);
   }
 
   @Override
+  @SuppressWarnings("upperbound:argument")
   public List<BaseRenderPart> getRenderParts(@NonNegative int rowIndex) {
-    RenderPartBuilder builder = new RenderPartBuilder(rowIndex, itemColorForElementProvider);
-    collectParts(rowIndex, builder);
-    return builder.build();
+    assert rowIndex < renderPartsByRow.length() : "Bad rowIndex: " + rowIndex;
+    List<BaseRenderPart> renderParts = renderPartsByRow.get(rowIndex);
+    if (renderParts == null) {
+      RenderPartBuilder builder = new RenderPartBuilder(rowIndex, itemColorForElementProvider);
+      collectParts(rowIndex, builder);
+      renderParts = builder.build();
+      renderPartsByRow.set(rowIndex, renderParts);
+    }
+    return renderParts;
   }
 
   private void collectParts(@NonNegative int rowIndex, RenderPartBuilder builder) {
@@ -62,7 +79,10 @@ public final class RenderPartGenerator implements IRenderPartGenerator {
       nodeAndItsDownEdgePos++;
     }
 
-    builder.consumeNode(new GraphNode(rowIndex), nodeAndItsDownEdgePos);
+    // Items without a bullet point (i.e. commits) are rendered without their node, just with the edges.
+    if (graphItem.hasBulletPoint()) {
+      builder.consumeNode(new GraphNode(rowIndex), nodeAndItsDownEdgePos);
+    }
     if (graphItem.hasChildItem()) {
       builder.consumeDownEdge(new GraphEdge(rowIndex, rowIndex + 1), nodeAndItsDownEdgePos);
     }
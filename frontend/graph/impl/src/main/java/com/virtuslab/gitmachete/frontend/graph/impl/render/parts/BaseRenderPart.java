@@ -1,7 +1,6 @@
 package com.virtuslab.gitmachete.frontend.graph.impl.render.parts;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.checkerframework.checker.index.qual.NonNegative;
 
 import com.virtuslab.gitmachete.frontend.graph.api.elements.IGraphElement;
@@ -9,20 +8,22 @@ import com.virtuslab.gitmachete.frontend.graph.api.items.GraphItemColor;
 import com.virtuslab.gitmachete.frontend.graph.api.render.parts.IRenderPart;
 import com.virtuslab.gitmachete.frontend.graph.impl.render.GraphItemColorForGraphElementProvider;
 
-@RequiredArgsConstructor
+@Getter
 public abstract class BaseRenderPart implements IRenderPart {
-  @Getter
   protected final @NonNegative int rowIndex;
 
-  @Getter
   protected final @NonNegative int positionInRow;
 
-  protected final IGraphElement graphElement;
+  // Resolved once upfront, as render parts are memoized and then painted many times over.
+  private final GraphItemColor graphItemColor;
 
-  private final GraphItemColorForGraphElementProvider renderPartColorIdProvider;
-
-  @Override
-  public GraphItemColor getGraphItemColor() {
-    return renderPartColorIdProvider.getGraphItemColor(graphElement);
+  protected BaseRenderPart(
+      @NonNegative int rowIndex,
+      @NonNegative int positionInRow,
+      IGraphElement graphElement,
+      GraphItemColorForGraphElementProvider renderPartColorIdProvider) {
+    this.rowIndex = rowIndex;
+    this.positionInRow = positionInRow;
+    this.graphItemColor = renderPartColorIdProvider.getGraphItemColor(graphElement);
   }
 }
@@ -4,6 +4,7 @@ import com.intellij.util.SmartList;
 import io.vavr.Tuple;
 import io.vavr.Tuple2;
 import io.vavr.collection.List;
+import lombok.val;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.initialization.qual.NotOnlyInitialized;
 
@@ -17,14 +18,14 @@ import com.virtuslab.gitmachete.frontend.graph.impl.render.RenderPartGenerator;
 public class RepositoryGraph implements IRepositoryGraph {
 
   private final List<IGraphItem> items;
-  private final List<List<Integer>> positionsOfVisibleEdges;
+  private final VisibleEdgeSpans visibleEdgeSpans;
   @NotOnlyInitialized
   private final IRenderPartGenerator renderPartGenerator;
 
-  public RepositoryGraph(List<IGraphItem> items, List<List<Integer>> positionsOfVisibleEdges) {
+  RepositoryGraph(List<IGraphItem> items, VisibleEdgeSpans visibleEdgeSpans) {
     this.items = items;
-    this.positionsOfVisibleEdges = positionsOfVisibleEdges;
-    this.renderPartGenerator = new RenderPartGenerator(/* repositoryGraph */ this);
+    this.visibleEdgeSpans = visibleEdgeSpans;
+    this.renderPartGenerator = new RenderPartGenerator(/* repositoryGraph */ this, /* rowCount */ items.size());
   }
 
   /**
@@ -75,33 +76,17 @@ public class RepositoryGraph implements IRepositoryGraph {
    * @param itemIndex item index
    * @return list of visible edges in a given item index
    */
-  @SuppressWarnings({"lowerbound:return", "value:return"})
   public List<Tuple2<GraphEdge, @NonNegative Integer>> getVisibleEdgesWithPositions(@NonNegative int itemIndex) {
-    assert itemIndex < positionsOfVisibleEdges.size() : "Bad itemIndex: " + itemIndex;
-
-    return positionsOfVisibleEdges.get(itemIndex).map(pos -> {
-
-      int upNodeIndex = itemIndex - 1;
-      int downNodeIndex = itemIndex + 1;
-
-      while (downNodeIndex < positionsOfVisibleEdges.size() && positionsOfVisibleEdges.get(downNodeIndex).contains(pos)) {
-        downNodeIndex++;
-      }
-
-      while (upNodeIndex >= 0 && positionsOfVisibleEdges.get(upNodeIndex).contains(pos)) {
-        upNodeIndex--;
-      }
-
-      // We can assume the following since we know that the first node (a root branch)
-      // AND the last node (some branch, possible indented child) has no visible edges in their rows.
-      // (The first condition is obvious. The second can be easily proved by contradiction.
-      // Suppose that the last node, at index n has a visible edge. Any visible edge has some (branch) node
-      // that it leads to, hence there must exist some node at index k > n being a target to the visible edge.
-      // But n is the index of the last node. Contradiction. )
-      assert upNodeIndex >= 0
-          && downNodeIndex < positionsOfVisibleEdges.size() : "upNodeIndex or downNodeIndex has wrong value";
-
-      return Tuple.of(new GraphEdge(upNodeIndex, downNodeIndex), pos);
-    });
+    assert itemIndex < items.size() : "Bad itemIndex: " + itemIndex;
+
+    // The span of each edge has already been computed by RepositoryGraphBuilder,
+    // so there's no need to walk up and down the rows in search of the ends of the edge.
+    int edgeCount = visibleEdgeSpans.getEdgeCount(itemIndex);
+    java.util.List<Tuple2<GraphEdge, @NonNegative Integer>> result = new SmartList<>();
+    for (int i = 0; i < edgeCount; i++) {
+      val edge = new GraphEdge(visibleEdgeSpans.getUpNodeIndex(itemIndex, i), visibleEdgeSpans.getDownNodeIndex(itemIndex, i));
+      result.add(Tuple.of(edge, visibleEdgeSpans.getPosition(itemIndex, i)));
+    }
+    return List.ofAll(result);
   }
 }
@@ -6,14 +6,13 @@ import static com.virtuslab.gitmachete.backend.api.SyncToParentStatus.MergedToPa
 import static com.virtuslab.gitmachete.backend.api.SyncToParentStatus.OutOfSync;
 import static com.virtuslab.gitmachete.frontend.graph.api.items.GraphItemColor.GRAY;
 import static com.virtuslab.gitmachete.frontend.graph.api.items.GraphItemColor.GREEN;
+import static com.virtuslab.gitmachete.frontend.graph.api.items.GraphItemColor.LIGHT_GRAY;
 import static com.virtuslab.gitmachete.frontend.graph.api.items.GraphItemColor.RED;
 import static com.virtuslab.gitmachete.frontend.graph.api.items.GraphItemColor.TRANSPARENT;
 import static com.virtuslab.gitmachete.frontend.graph.api.items.GraphItemColor.YELLOW;
 
 import java.util.ArrayList;
-import java.util.Collections;
 
-import com.intellij.util.SmartList;
 import io.vavr.Tuple;
 import io.vavr.Tuple2;
 import io.vavr.collection.HashMap;
@@ -53,27 +52,24 @@ public class RepositoryGraphBuilder {
   public static final IBranchGetCommitsStrategy EMPTY_GET_COMMITS = __ -> List.empty();
 
   public IRepositoryGraph build() {
-    Tuple2<List<IGraphItem>, List<List<Integer>>> graphData = deriveGraphItemsAndPositionsOfVisibleEdges();
+    Tuple2<List<IGraphItem>, VisibleEdgeSpans> graphData = deriveGraphItemsAndVisibleEdgeSpans();
     return new RepositoryGraph(graphData._1(), graphData._2());
   }
 
-  private Tuple2<List<IGraphItem>, List<List<Integer>>> deriveGraphItemsAndPositionsOfVisibleEdges() {
+  private Tuple2<List<IGraphItem>, VisibleEdgeSpans> deriveGraphItemsAndVisibleEdgeSpans() {
     List<IRootManagedBranchSnapshot> rootBranches = repositorySnapshot.getRootBranches();
 
     java.util.List<IGraphItem> graphItems = new ArrayList<>();
-    java.util.List<java.util.List<Integer>> positionsOfVisibleEdges = new ArrayList<>();
+    val visibleEdgeSpansBuilder = new VisibleEdgeSpans.Builder();
 
     for (val rootBranch : rootBranches) {
       int currentBranchIndex = graphItems.size();
-      positionsOfVisibleEdges.add(Collections.emptyList()); // root branches have no visible edges
       addRootBranch(graphItems, rootBranch);
       List<? extends INonRootManagedBranchSnapshot> childBranches = rootBranch.getChildren();
-      recursivelyAddCommitsAndBranches(graphItems, positionsOfVisibleEdges, childBranches, currentBranchIndex,
+      recursivelyAddCommitsAndBranches(graphItems, visibleEdgeSpansBuilder, childBranches, currentBranchIndex,
           /* indentLevel */ 0);
     }
-    return Tuple.of(
-        List.ofAll(graphItems),
-        positionsOfVisibleEdges.stream().map(List::ofAll).collect(List.collector()));
+    return Tuple.of(List.ofAll(graphItems), visibleEdgeSpansBuilder.build(/* rowCount */ graphItems.size()));
   }
 
   /**
@@ -86,7 +82,7 @@ public class RepositoryGraphBuilder {
    */
   private void recursivelyAddCommitsAndBranches(
       java.util.List<IGraphItem> graphItems,
-      java.util.List<java.util.List<Integer>> positionsOfVisibleEdges,
+      VisibleEdgeSpans.Builder visibleEdgeSpansBuilder,
       List<? extends INonRootManagedBranchSnapshot> childBranches,
       @GTENegativeOne int parentBranchIndex,
       @NonNegative int indentLevel) {
@@ -108,16 +104,14 @@ public class RepositoryGraphBuilder {
 
       int upBranchIndex = graphItems.size() - 1;
       List<? extends INonRootManagedBranchSnapshot> branches = nonRootBranch.getChildren();
-      recursivelyAddCommitsAndBranches(graphItems, positionsOfVisibleEdges, /* child */ branches,
+      recursivelyAddCommitsAndBranches(graphItems, visibleEdgeSpansBuilder, /* child */ branches,
           upBranchIndex, indentLevel + 1);
 
-      while (positionsOfVisibleEdges.size() < graphItems.size()) {
-        positionsOfVisibleEdges.add(new SmartList<>());
-      }
-      if (!nonRootBranch.equals(lastChildBranch)) {
-        for (int i = upBranchIndex + 1; i < graphItems.size(); ++i) {
-          positionsOfVisibleEdges.get(i).add(indentLevel);
-        }
+      // The edge from this branch to its next sibling passes through all the items of this branch's subtree
+      // (the next sibling's first item is going to be added at index `graphItems.size()`).
+      // If the subtree is empty, the edge directly connects adjacent items, and hence it's not visible in any row.
+      if (!nonRootBranch.equals(lastChildBranch) && upBranchIndex + 1 < graphItems.size()) {
+        visibleEdgeSpansBuilder.addSpan(upBranchIndex, /* downNodeIndex */ graphItems.size(), /* position */ indentLevel);
       }
 
       previousBranchIndex = upBranchIndex;
@@ -148,13 +142,27 @@ public class RepositoryGraphBuilder {
       @NonNegative int indentLevel) {
     List<ICommitOfManagedBranch> commits = branchGetCommitsStrategy.getCommitsOf(branch).reverse();
 
-    val syncToParentStatus = branch.getSyncToParentStatus();
-    GraphItemColor graphItemColor = getGraphItemColor(syncToParentStatus);
+    // Until the sync to parent status is known, the edge is drawn in a neutral color rather than pretending any status.
+    GraphItemColor graphItemColor = branch.hasPendingStatuses()
+        ? LIGHT_GRAY
+        : getGraphItemColor(branch.getSyncToParentStatus());
     int branchItemIndex = graphItems.size() + commits.size();
     // We are building some non root branch here so some root branch item has been added already.
     assert branchItemIndex > 0 : "Branch node index is not greater than 0 but should be";
 
     boolean isFirstItemInBranch = true;
+    // Only the newest commits might have been loaded for the branch (see `INonRootManagedBranchSnapshot#getUniqueCommits`).
+    // In such case, all the older commits are represented by a single placeholder item above the loaded ones.
+    // No placeholder if no commits are listed at all (e.g. when commits getting strategy is `EMPTY_GET_COMMITS`).
+    int omittedCommitCount = commits.nonEmpty() ? branch.getUniqueCommitsCount() - commits.size() : 0;
+    if (omittedCommitCount > 0) {
+      int nextSiblingItemIndex = graphItems.size() + 1;
+      val placeholder = new CommitItem(commits.head(), branch, omittedCommitCount, graphItemColor,
+          /* prevSiblingItemIndex */ parentBranchIndex, nextSiblingItemIndex, indentLevel);
+      graphItems.add(placeholder);
+      isFirstItemInBranch = false;
+    }
+
     for (ICommitOfManagedBranch commit : commits) {
       int lastItemIndex = graphItems.size() - 1;
       // We are building some non root branch here so some root branch item has been added already.
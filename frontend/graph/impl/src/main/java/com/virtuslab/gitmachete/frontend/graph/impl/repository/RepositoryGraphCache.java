@@ -1,7 +1,9 @@
 package com.virtuslab.gitmachete.frontend.graph.impl.repository;
 
-import org.checkerframework.checker.interning.qual.FindDistinct;
-import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+
+import lombok.val;
 
 import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositorySnapshot;
 import com.virtuslab.gitmachete.frontend.graph.api.repository.IRepositoryGraph;
@@ -9,26 +11,47 @@ import com.virtuslab.gitmachete.frontend.graph.api.repository.IRepositoryGraphCa
 
 public class RepositoryGraphCache implements IRepositoryGraphCache {
 
-  private @MonotonicNonNull IRepositoryGraph repositoryGraphWithCommits = null;
-  private @MonotonicNonNull IRepositoryGraph repositoryGraphWithoutCommits = null;
-  private @MonotonicNonNull IGitMacheteRepositorySnapshot repositorySnapshot = null;
+  // Each variant is built lazily and cached independently of the other,
+  // so that e.g. the (potentially expensive) graph with commits isn't built when only the graph without commits is needed.
+  // The graphs are cached for all snapshots still referenced elsewhere (so that e.g. a partial snapshot or another project
+  // doesn't evict the graph of the displayed snapshot), and get garbage-collected along with their snapshots.
+  // Snapshots are only ever equal to themselves, so the lookup is effectively by reference.
+  private final java.util.Map<IGitMacheteRepositorySnapshot, CompletableFuture<IRepositoryGraph>> graphsWithCommits =
+      new WeakHashMap<>();
+  private final java.util.Map<IGitMacheteRepositorySnapshot, CompletableFuture<IRepositoryGraph>> graphsWithoutCommits =
+      new WeakHashMap<>();
 
   @Override
   @SuppressWarnings("regexp") // to allow for `synchronized`
-  public synchronized IRepositoryGraph getRepositoryGraph(
-      @FindDistinct IGitMacheteRepositorySnapshot givenRepositorySnapshot,
-      boolean isListingCommits) {
-
-    if (givenRepositorySnapshot != this.repositorySnapshot || repositoryGraphWithCommits == null
-        || repositoryGraphWithoutCommits == null) {
-
-      this.repositorySnapshot = givenRepositorySnapshot;
-      RepositoryGraphBuilder repositoryGraphBuilder = new RepositoryGraphBuilder().repositorySnapshot(givenRepositorySnapshot);
-      repositoryGraphWithCommits = repositoryGraphBuilder
-          .branchGetCommitsStrategy(RepositoryGraphBuilder.DEFAULT_GET_COMMITS).build();
-      repositoryGraphWithoutCommits = repositoryGraphBuilder
-          .branchGetCommitsStrategy(RepositoryGraphBuilder.EMPTY_GET_COMMITS).build();
+  public IRepositoryGraph getRepositoryGraph(IGitMacheteRepositorySnapshot givenRepositorySnapshot, boolean isListingCommits) {
+    val graphs = isListingCommits ? graphsWithCommits : graphsWithoutCommits;
+
+    val newGraphFuture = new CompletableFuture<IRepositoryGraph>();
+    CompletableFuture<IRepositoryGraph> existingGraphFuture;
+    synchronized (graphs) {
+      existingGraphFuture = graphs.putIfAbsent(givenRepositorySnapshot, newGraphFuture);
+    }
+    if (existingGraphFuture != null) {
+      // If the graph is still being built by another thread, it's going to be ready no later than if built from scratch.
+      return existingGraphFuture.join();
+    }
+
+    // The graph is built outside the lock, so that no thread (in particular, the UI thread)
+    // ever waits for the graph of another snapshot to get built.
+    try {
+      val repositoryGraph = new RepositoryGraphBuilder().repositorySnapshot(givenRepositorySnapshot)
+          .branchGetCommitsStrategy(isListingCommits
+              ? RepositoryGraphBuilder.DEFAULT_GET_COMMITS
+              : RepositoryGraphBuilder.EMPTY_GET_COMMITS)
+          .build();
+      newGraphFuture.complete(repositoryGraph);
+      return repositoryGraph;
+    } catch (RuntimeException | Error e) {
+      synchronized (graphs) {
+        graphs.remove(givenRepositorySnapshot, newGraphFuture);
+      }
+      newGraphFuture.completeExceptionally(e);
+      throw e;
     }
-    return isListingCommits ? repositoryGraphWithCommits : repositoryGraphWithoutCommits;
   }
 }
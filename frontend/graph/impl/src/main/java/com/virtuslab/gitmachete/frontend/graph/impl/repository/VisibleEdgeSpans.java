@@ -0,0 +1,123 @@
+package com.virtuslab.gitmachete.frontend.graph.impl.repository;
+
+import java.util.Arrays;
+
+import org.checkerframework.checker.index.qual.NonNegative;
+
+/**
+ * Vertical edges that pass through rows without being directly connected to the nodes of these rows
+ * (see {@link RepositoryGraph#getVisibleEdgesWithPositions}), kept in primitive arrays.
+ * <br>
+ * Each edge is stored just once, as its span: the up node index, the down node index and the position (indent level).
+ * The edges visible in each row are stored as a contiguous range of edge indices
+ * (in the order in which they have been added), so that retrieving the edges of a row takes constant time per edge,
+ * regardless of the length of the edges and the size of the graph.
+ */
+final class VisibleEdgeSpans {
+
+  private final int[] upNodeIndices;
+  private final int[] downNodeIndices;
+  private final int[] positions;
+
+  // Edges visible in row `r` are `edgeIndicesByRow[rowOffsets[r]]` (inclusive)
+  // to `edgeIndicesByRow[rowOffsets[r + 1]]` (exclusive).
+  private final int[] rowOffsets;
+  private final int[] edgeIndicesByRow;
+
+  private VisibleEdgeSpans(int[] upNodeIndices, int[] downNodeIndices, int[] positions, int[] rowOffsets,
+      int[] edgeIndicesByRow) {
+    this.upNodeIndices = upNodeIndices;
+    this.downNodeIndices = downNodeIndices;
+    this.positions = positions;
+    this.rowOffsets = rowOffsets;
+    this.edgeIndicesByRow = edgeIndicesByRow;
+  }
+
+  @SuppressWarnings("index:array.access.unsafe.high")
+  @NonNegative
+  int getEdgeCount(@NonNegative int rowIndex) {
+    assert rowIndex + 1 < rowOffsets.length : "Bad rowIndex: " + rowIndex;
+    @SuppressWarnings("lowerbound:assignment") @NonNegative int edgeCount = rowOffsets[rowIndex + 1] - rowOffsets[rowIndex];
+    return edgeCount;
+  }
+
+  @SuppressWarnings("index:array.access.unsafe.high")
+  private int getEdgeIndex(@NonNegative int rowIndex, @NonNegative int i) {
+    return edgeIndicesByRow[rowOffsets[rowIndex] + i];
+  }
+
+  @SuppressWarnings({"index:array.access.unsafe.high", "index:array.access.unsafe.low"})
+  int getUpNodeIndex(@NonNegative int rowIndex, @NonNegative int i) {
+    return upNodeIndices[getEdgeIndex(rowIndex, i)];
+  }
+
+  @SuppressWarnings({"index:array.access.unsafe.high", "index:array.access.unsafe.low"})
+  int getDownNodeIndex(@NonNegative int rowIndex, @NonNegative int i) {
+    return downNodeIndices[getEdgeIndex(rowIndex, i)];
+  }
+
+  @SuppressWarnings({"index:array.access.unsafe.high", "index:array.access.unsafe.low", "lowerbound:return"})
+  @NonNegative
+  int getPosition(@NonNegative int rowIndex, @NonNegative int i) {
+    return positions[getEdgeIndex(rowIndex, i)];
+  }
+
+  static final class Builder {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] upNodeIndices = new int[INITIAL_CAPACITY];
+    private int[] downNodeIndices = new int[INITIAL_CAPACITY];
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private int edgeCount = 0;
+
+    /**
+     * @param upNodeIndex index of the node the edge starts at; the edge is visible in all rows
+     *                    strictly between {@code upNodeIndex} and {@code downNodeIndex}
+     * @param downNodeIndex index of the node the edge ends at
+     * @param position position (indent level) of the edge
+     */
+    @SuppressWarnings("index:array.access.unsafe.high")
+    void addSpan(@NonNegative int upNodeIndex, @NonNegative int downNodeIndex, @NonNegative int position) {
+      if (edgeCount == upNodeIndices.length) {
+        int newCapacity = 2 * edgeCount;
+        upNodeIndices = Arrays.copyOf(upNodeIndices, newCapacity);
+        downNodeIndices = Arrays.copyOf(downNodeIndices, newCapacity);
+        positions = Arrays.copyOf(positions, newCapacity);
+      }
+      upNodeIndices[edgeCount] = upNodeIndex;
+      downNodeIndices[edgeCount] = downNodeIndex;
+      positions[edgeCount] = position;
+      edgeCount++;
+    }
+
+    @SuppressWarnings({"index:array.access.unsafe.high", "index:array.access.unsafe.low"})
+    VisibleEdgeSpans build(@NonNegative int rowCount) {
+      // Counting sort of (edge, row) pairs by row: first count the edges per row...
+      int[] rowOffsets = new int[rowCount + 1];
+      for (int e = 0; e < edgeCount; e++) {
+        for (int row = upNodeIndices[e] + 1; row < downNodeIndices[e]; row++) {
+          rowOffsets[row + 1]++;
+        }
+      }
+      for (int row = 0; row < rowCount; row++) {
+        rowOffsets[row + 1] += rowOffsets[row];
+      }
+
+      // ... and then fill in the edge indices, with the edges of each row kept in the order of their addition.
+      int[] edgeIndicesByRow = new int[rowOffsets[rowCount]];
+      int[] nextFreeSlotByRow = Arrays.copyOf(rowOffsets, rowCount);
+      for (int e = 0; e < edgeCount; e++) {
+        for (int row = upNodeIndices[e] + 1; row < downNodeIndices[e]; row++) {
+          edgeIndicesByRow[nextFreeSlotByRow[row]++] = e;
+        }
+      }
+
+      return new VisibleEdgeSpans(
+          Arrays.copyOf(upNodeIndices, edgeCount),
+          Arrays.copyOf(downNodeIndices, edgeCount),
+          Arrays.copyOf(positions, edgeCount),
+          rowOffsets,
+          edgeIndicesByRow);
+    }
+  }
+}
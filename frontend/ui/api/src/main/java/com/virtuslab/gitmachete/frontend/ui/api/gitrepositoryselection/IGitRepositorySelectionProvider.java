@@ -3,12 +3,17 @@ package com.virtuslab.gitmachete.frontend.ui.api.gitrepositoryselection;
 import javax.swing.JComponent;
 
 import git4idea.repo.GitRepository;
+import org.checkerframework.checker.guieffect.qual.UIEffect;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public interface IGitRepositorySelectionProvider {
   @Nullable
   GitRepository getSelectedGitRepository();
 
+  /** Selects the given repository (notifying the selection change observers), just as if the user selected it. */
+  @UIEffect
+  void setSelectedGitRepository(GitRepository gitRepository);
+
   void addSelectionChangeObserver(IGitRepositorySelectionChangeObserver observer);
 
   JComponent getSelectionComponent();
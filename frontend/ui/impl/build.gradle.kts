@@ -15,6 +15,7 @@ apacheCommonsText()
 junit()
 junitPlatformLauncher()
 lombok()
+mockito()
 slf4jLambdaApi()
 vavr()
 
@@ -135,15 +135,12 @@ public class RediscoverSuggester {
     Path worktreeGitDirPath = gitRepository.getWorktreeGitDirectoryPath().toAbsolutePath();
 
     try {
-      val discoverRunResult = ApplicationManager.getApplication().getService(IGitMacheteRepositoryCache.class)
-          .getInstance(rootDirPath, mainGitDirPath, worktreeGitDirPath).discoverLayoutAndCreateSnapshot();
-
       val currentBranchLayout = ReadAction
           .compute(() -> MacheteFileReader.readBranchLayout(macheteFilePath, branchLayoutReader));
 
-      val discoveredBranchLayout = discoverRunResult.getBranchLayout();
-
-      return discoveredBranchLayout.equals(currentBranchLayout);
+      // Only the layouts are compared, so there's no point in deriving the statuses of the discovered branches.
+      return ApplicationManager.getApplication().getService(IGitMacheteRepositoryCache.class)
+          .getInstance(rootDirPath, mainGitDirPath, worktreeGitDirPath).isDiscoveredLayoutEquivalentTo(currentBranchLayout);
     } catch (GitMacheteException | BranchLayoutException ignored) {}
 
     return false;
@@ -0,0 +1,279 @@
+package com.virtuslab.gitmachete.frontend.ui.impl.backgroundables;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.intellij.dvcs.repo.VcsRepositoryManager;
+import com.intellij.dvcs.repo.VcsRepositoryMappingListener;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import git4idea.GitUtil;
+import git4idea.repo.GitRepository;
+import io.vavr.collection.HashSet;
+import lombok.CustomLog;
+import lombok.experimental.ExtensionMethod;
+import lombok.val;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.virtuslab.branchlayout.api.BranchLayout;
+import com.virtuslab.branchlayout.api.BranchLayoutException;
+import com.virtuslab.branchlayout.api.readwrite.IBranchLayoutReader;
+import com.virtuslab.gitmachete.backend.api.GitMacheteException;
+import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositoryCache;
+import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositorySnapshot;
+import com.virtuslab.gitmachete.frontend.file.MacheteFileReader;
+import com.virtuslab.gitmachete.frontend.ui.api.gitrepositoryselection.IGitRepositorySelectionProvider;
+import com.virtuslab.gitmachete.frontend.vfsutils.GitVfsUtils;
+import com.virtuslab.qual.async.ContinuesInBackground;
+import com.virtuslab.qual.guieffect.IgnoreUIThreadUnsafeCalls;
+import com.virtuslab.qual.guieffect.UIThreadUnsafe;
+
+/**
+ * Keeps an up-to-date (complete) snapshot of each repository in the project, and not just of the selected one,
+ * so that selecting another repository can display its snapshot right away (see {@link #getWarmSnapshot})
+ * rather than only once a new snapshot has been created from scratch.
+ * <br>
+ * The selected repository is kept up to date by {@link GitMacheteRepositoryUpdateScheduler} anyway
+ * (see {@link #offerSnapshot}), hence it's skipped here. The other repositories are updated in the background:
+ * <ul>
+ *   <li>an update only starts once no further request for the given repository has come for {@link #DEBOUNCE_DELAY_MILLIS},
+ *       which is longer than for the selected repository as nobody is looking at these snapshots yet,</li>
+ *   <li>at most {@link #MAX_CONCURRENT_UPDATE_COUNT} updates run at a time (at the lowest thread priority),
+ *       so that even a project with dozens of repositories doesn't compete with the updates of the selected one,</li>
+ *   <li>a running update is cancelled once another update of the same repository has been requested.</li>
+ * </ul>
+ * Each warm snapshot is persisted as well, just like the snapshots of the selected repository.
+ * Once a repository is removed from the project, everything kept for it is dropped, including its snapshot file,
+ * so that the snapshot files of long-gone repositories don't pile up in the system directory of the IDE.
+ */
+@ExtensionMethod(GitVfsUtils.class)
+@CustomLog
+@SuppressWarnings("regexp") // to allow for `synchronized`
+public final class GitMacheteRepositorySnapshotWarmingService implements Disposable {
+
+  private static final long DEBOUNCE_DELAY_MILLIS = 1000;
+  private static final int MAX_CONCURRENT_UPDATE_COUNT = 2;
+
+  private final Project project;
+  private final IBranchLayoutReader branchLayoutReader;
+  private final IGitMacheteRepositoryCache gitMacheteRepositoryCache;
+
+  private final ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+      "Git Machete Repository Snapshot Warming", MAX_CONCURRENT_UPDATE_COUNT);
+
+  // Read on any thread (including the UI thread), hence concurrent.
+  private final java.util.Map<GitRepository, IGitMacheteRepositorySnapshot> warmSnapshots = new ConcurrentHashMap<>();
+
+  // Resolved while the repository is still around, as the path can't be resolved anymore once the repository is gone.
+  private final java.util.Map<GitRepository, Path> snapshotFilePaths = new ConcurrentHashMap<>();
+
+  // The id of the most recent update request for each repository; an update with an older id is superseded.
+  private final java.util.Map<GitRepository, Long> latestRequestIds = new HashMap<>();
+  private final java.util.Map<GitRepository, ScheduledFuture<?>> pendingStarts = new HashMap<>();
+  private long requestCount = 0;
+
+  public GitMacheteRepositorySnapshotWarmingService(Project project) {
+    this.project = project;
+    this.branchLayoutReader = ApplicationManager.getApplication().getService(IBranchLayoutReader.class);
+    this.gitMacheteRepositoryCache = ApplicationManager.getApplication().getService(IGitMacheteRepositoryCache.class);
+
+    val messageBusConnection = project.getMessageBus().connect();
+    messageBusConnection.<VcsRepositoryMappingListener>subscribe(VcsRepositoryManager.VCS_REPOSITORY_MAPPING_UPDATED,
+        this::forgetRemovedRepositories);
+    Disposer.register(this, messageBusConnection);
+  }
+
+  /**
+   * @return the most recent complete snapshot of the given repository, or null if none has been created yet
+   *         (or the most recent update has failed, e.g. due to a malformed machete file)
+   */
+  public @Nullable IGitMacheteRepositorySnapshot getWarmSnapshot(GitRepository gitRepository) {
+    return warmSnapshots.get(gitRepository);
+  }
+
+  /** Lets a complete snapshot created elsewhere (e.g. for the selected repository) serve as the warm snapshot. */
+  public void offerSnapshot(GitRepository gitRepository, IGitMacheteRepositorySnapshot snapshot) {
+    if (!snapshot.isPartial() && !gitRepository.isDisposed()) {
+      warmSnapshots.put(gitRepository, snapshot);
+      snapshotFilePaths.computeIfAbsent(gitRepository, GitVfsUtils::getSnapshotFilePath);
+    }
+  }
+
+  @ContinuesInBackground
+  public void scheduleUpdatesOfAllRepositories() {
+    forgetRemovedRepositories();
+    for (val gitRepository : GitUtil.getRepositories(project)) {
+      scheduleUpdate(gitRepository);
+    }
+  }
+
+  @ContinuesInBackground
+  public synchronized void scheduleUpdate(GitRepository gitRepository) {
+    if (project.isDisposed() || gitRepository.isDisposed() || executor.isShutdown()) {
+      return;
+    }
+    long requestId = ++requestCount;
+    latestRequestIds.put(gitRepository, requestId);
+
+    val previousPendingStart = pendingStarts.get(gitRepository);
+    if (previousPendingStart != null) {
+      previousPendingStart.cancel(/* mayInterruptIfRunning */ false);
+    }
+    pendingStarts.put(gitRepository, AppExecutorUtil.getAppScheduledExecutorService()
+        .schedule(() -> startUpdate(gitRepository, requestId), DEBOUNCE_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+  }
+
+  // The UI thread-unsafe calls are actually happening within a Runnable lambda
+  // which is going to be executed on the (bounded) pool outside of UI thread.
+  @ContinuesInBackground
+  @IgnoreUIThreadUnsafeCalls("com.virtuslab.gitmachete.frontend.ui.impl.backgroundables."
+      + "GitMacheteRepositorySnapshotWarmingService.updateInLowPriority(git4idea.repo.GitRepository, long)")
+  private synchronized @Nullable Future<?> startUpdate(GitRepository gitRepository, long requestId) {
+    if (isSuperseded(gitRepository, requestId) || executor.isShutdown()) {
+      return null;
+    }
+    pendingStarts.remove(gitRepository);
+    return executor.submit(() -> updateInLowPriority(gitRepository, requestId));
+  }
+
+  private synchronized boolean isSuperseded(GitRepository gitRepository, long requestId) {
+    val latestRequestId = latestRequestIds.get(gitRepository);
+    return latestRequestId == null || latestRequestId != requestId;
+  }
+
+  /**
+   * Unless superseded in the meantime, sets (or removes, if null) the warm snapshot of the given repository,
+   * so that an update that has finished late never overrides the result of a more recent one.
+   */
+  private synchronized void setWarmSnapshot(GitRepository gitRepository, long requestId,
+      @Nullable IGitMacheteRepositorySnapshot snapshot) {
+    if (isSuperseded(gitRepository, requestId)) {
+      return;
+    }
+    if (snapshot != null) {
+      warmSnapshots.put(gitRepository, snapshot);
+    } else {
+      warmSnapshots.remove(gitRepository);
+    }
+  }
+
+  private synchronized void forgetRemovedRepositories() {
+    val gitRepositories = HashSet.ofAll(GitUtil.getRepositories(project));
+    val removedGitRepositories = HashSet.ofAll(latestRequestIds.keySet()).addAll(warmSnapshots.keySet())
+        .addAll(snapshotFilePaths.keySet())
+        .filter(gitRepository -> !gitRepositories.contains(gitRepository) || gitRepository.isDisposed());
+    for (val gitRepository : removedGitRepositories) {
+      LOG.debug(() -> "${gitRepository.getRoot().getName()} has been removed from the project");
+      val pendingStart = pendingStarts.remove(gitRepository);
+      if (pendingStart != null) {
+        pendingStart.cancel(/* mayInterruptIfRunning */ false);
+      }
+      // A running update (if any) is going to notice that it's been superseded and stop.
+      latestRequestIds.remove(gitRepository);
+      warmSnapshots.remove(gitRepository);
+      val snapshotFilePath = snapshotFilePaths.remove(gitRepository);
+      // The repositories are also gone once the project is being closed, but their snapshot files are still needed then.
+      if (snapshotFilePath != null && !project.isDisposed()) {
+        deleteSnapshotFile(snapshotFilePath);
+      }
+    }
+  }
+
+  private static void deleteSnapshotFile(Path snapshotFilePath) {
+    try {
+      if (Files.deleteIfExists(snapshotFilePath)) {
+        LOG.debug(() -> "Deleted the snapshot file ${snapshotFilePath}");
+      }
+    } catch (IOException e) {
+      LOG.warn("Unable to delete the snapshot file ${snapshotFilePath}", e);
+    }
+  }
+
+  @UIThreadUnsafe
+  private void updateInLowPriority(GitRepository gitRepository, long requestId) {
+    // Pool threads are shared with the rest of the IDE, so the priority must be restored afterwards.
+    val thread = Thread.currentThread();
+    int originalPriority = thread.getPriority();
+    thread.setPriority(Thread.MIN_PRIORITY);
+    try {
+      update(gitRepository, requestId);
+    } finally {
+      thread.setPriority(originalPriority);
+    }
+  }
+
+  @UIThreadUnsafe
+  private void update(GitRepository gitRepository, long requestId) {
+    if (project.isDisposed() || gitRepository.isDisposed() || isSuperseded(gitRepository, requestId)) {
+      return;
+    }
+    val selectedGitRepository = project.getService(IGitRepositorySelectionProvider.class).getSelectedGitRepository();
+    if (gitRepository.equals(selectedGitRepository)) {
+      LOG.debug(() -> "${gitRepository.getRoot().getName()} is selected, so it's kept up to date by the regular updates");
+      return;
+    }
+
+    Path macheteFilePath = gitRepository.getMacheteFilePath();
+    val macheteVFile = VirtualFileManager.getInstance().findFileByNioPath(macheteFilePath);
+    if (macheteVFile == null || macheteVFile.isDirectory()) {
+      LOG.debug(() -> "Machete file (${macheteFilePath}) is absent, so there's nothing to warm up");
+      setWarmSnapshot(gitRepository, requestId, /* snapshot */ null);
+      return;
+    }
+
+    try {
+      BranchLayout branchLayout = ReadAction.compute(() -> MacheteFileReader.readBranchLayout(macheteFilePath,
+          branchLayoutReader));
+      val gitMacheteRepository = gitMacheteRepositoryCache.getInstance(gitRepository.getRootDirectoryPath(),
+          gitRepository.getMainGitDirectoryPath(), gitRepository.getWorktreeGitDirectoryPath());
+      val snapshot = gitMacheteRepository.createSnapshotForLayout(branchLayout,
+          GitMacheteRepositoryUpdateBackgroundable.getMaxLoadedUniqueCommitCount(project),
+          /* branchNamesWithAllUniqueCommitsLoaded */ HashSet.empty(),
+          () -> project.isDisposed() || isSuperseded(gitRepository, requestId),
+          /* partialSnapshotConsumer */ partialSnapshot -> {});
+      setWarmSnapshot(gitRepository, requestId, snapshot);
+      LOG.debug(() -> "Warmed up the snapshot of ${gitRepository.getRoot().getName()}");
+
+      // A more recent update is going to persist its own snapshot, and a removed repository mustn't get its file back.
+      if (isSuperseded(gitRepository, requestId)) {
+        return;
+      }
+      Path snapshotFilePath = gitRepository.getSnapshotFilePath();
+      snapshotFilePaths.put(gitRepository, snapshotFilePath);
+      try {
+        gitMacheteRepository.persistSnapshot(snapshot, snapshotFilePath);
+      } catch (GitMacheteException e) {
+        LOG.warn("Unable to persist the snapshot under ${snapshotFilePath}", e);
+      }
+    } catch (BranchLayoutException | GitMacheteException e) {
+      // Let's not bother the user about a repository they're not even looking at;
+      // the error is going to be reported once (and if) this repository gets selected.
+      if (!isSuperseded(gitRepository, requestId)) {
+        LOG.debug(() -> "Unable to warm up the snapshot of ${gitRepository.getRoot().getName()}: ${e.getMessage()}");
+        setWarmSnapshot(gitRepository, requestId, /* snapshot */ null);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void dispose() {
+    pendingStarts.values().forEach(pendingStart -> pendingStart.cancel(/* mayInterruptIfRunning */ false));
+    pendingStarts.clear();
+    latestRequestIds.clear();
+    executor.shutdownNow();
+    warmSnapshots.clear();
+    snapshotFilePaths.clear();
+  }
+}
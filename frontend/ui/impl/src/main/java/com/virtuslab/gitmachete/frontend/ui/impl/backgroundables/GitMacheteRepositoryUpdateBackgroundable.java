@@ -1,27 +1,34 @@
 package com.virtuslab.gitmachete.frontend.ui.impl.backgroundables;
 
 import static com.intellij.openapi.application.ModalityState.NON_MODAL;
+import static com.virtuslab.gitmachete.frontend.defs.PropertiesComponentKeys.MAX_LOADED_UNIQUE_COMMIT_COUNT;
 import static com.virtuslab.gitmachete.frontend.file.MacheteFileUtils.isMacheteFileSelected;
 import static com.virtuslab.gitmachete.frontend.resourcebundles.GitMacheteBundle.getNonHtmlString;
 import static com.virtuslab.gitmachete.frontend.resourcebundles.GitMacheteBundle.getString;
 
 import java.nio.file.Path;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
+import com.intellij.ide.util.PropertiesComponent;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vcs.VcsNotifier;
 import com.intellij.openapi.vfs.VirtualFileManager;
 import com.intellij.util.ModalityUiUtil;
 import git4idea.repo.GitRepository;
+import io.vavr.collection.Set;
 import lombok.CustomLog;
 import lombok.experimental.ExtensionMethod;
 import lombok.val;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.checkerframework.checker.guieffect.qual.UI;
+import org.checkerframework.checker.guieffect.qual.UIEffect;
 import org.checkerframework.checker.index.qual.Positive;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -34,62 +41,144 @@ import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositoryCache;
 import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositorySnapshot;
 import com.virtuslab.gitmachete.backend.api.MacheteFileReaderException;
 import com.virtuslab.gitmachete.frontend.file.MacheteFileReader;
+import com.virtuslab.gitmachete.frontend.graph.api.repository.IRepositoryGraph;
+import com.virtuslab.gitmachete.frontend.graph.api.repository.IRepositoryGraphCache;
 import com.virtuslab.gitmachete.frontend.ui.impl.table.EnhancedGraphTable;
 import com.virtuslab.gitmachete.frontend.vfsutils.GitVfsUtils;
 import com.virtuslab.qual.guieffect.UIThreadUnsafe;
 
 @ExtensionMethod({GitVfsUtils.class, Objects.class})
 @CustomLog
-public final class GitMacheteRepositoryUpdateBackgroundable extends Task.Backgroundable {
+public final class GitMacheteRepositoryUpdateBackgroundable extends Task.Backgroundable
+    implements
+      GitMacheteRepositoryUpdateScheduler.IUpdate {
+
+  // Listing more commits per branch is of little use anyway, while loading thousands of them
+  // (as for a branch with a wrong parent) takes a while and makes the graph huge.
+  private static final int DEFAULT_MAX_LOADED_UNIQUE_COMMIT_COUNT = 100;
 
   private final GitRepository gitRepository;
   private final IBranchLayoutReader branchLayoutReader;
+  private final boolean isListingCommits;
+  private final Set<String> branchNamesWithAllUniqueCommitsLoaded;
   private final @UI Consumer<@Nullable IGitMacheteRepositorySnapshot> doOnUIThreadWhenDone;
-  private final Consumer<@Nullable IGitMacheteRepository> gitMacheteRepositoryConsumer;
+  private final @Nullable @UI Consumer<IGitMacheteRepositorySnapshot> doOnUIThreadWhenPartialSnapshotReady;
+  private final Consumer<IRepositoryGraph> doInBackgroundWhenGraphBuilt;
+  private final @UI Runnable doOnUIThreadWhenFinished;
+
+  // Accessed both by the task itself and by the thread requesting the cancellation, hence atomic.
+  private final AtomicBoolean isCancelRequested = new AtomicBoolean(false);
+  private final AtomicReference<@Nullable ProgressIndicator> progressIndicator = new AtomicReference<>(null);
 
   private final IGitMacheteRepositoryCache gitMacheteRepositoryCache;
+  private final IRepositoryGraphCache repositoryGraphCache;
+  private final GitMacheteRepositorySnapshotWarmingService snapshotWarmingService;
 
   /**
    *  A backgroundable task that reads the branch layout from the machete file and updates the
    *  repository snapshot, which is the base for the creation of the branch graph seen in the GitMachete IntelliJ tab.
+   *  The graph (with or without commits, as specified by {@code isListingCommits}) is built by this task as well,
+   *  so that the UI thread only needs to swap the table model.
+   *  Only a limited number of the newest unique commits of each branch is loaded,
+   *  except for the branches in {@code branchNamesWithAllUniqueCommitsLoaded}.
+   *  If {@code doOnUIThreadWhenPartialSnapshotReady} is provided, it receives the partial snapshots
+   *  (see {@link IGitMacheteRepositorySnapshot#isPartial}) as they get published while the complete snapshot is being created,
+   *  so that e.g. the layout can be displayed before the statuses of all branches are known.
+   *  {@code doInBackgroundWhenGraphBuilt} receives each graph built by this task (still on the background thread)
+   *  right before the corresponding snapshot is passed to the UI thread, in the same order.
+   *  {@code doOnUIThreadWhenFinished} is executed once the task ends, no matter if it completed, failed or got cancelled.
    */
   public GitMacheteRepositoryUpdateBackgroundable(
       GitRepository gitRepository,
       IBranchLayoutReader branchLayoutReader,
+      boolean isListingCommits,
+      Set<String> branchNamesWithAllUniqueCommitsLoaded,
       @UI Consumer<@Nullable IGitMacheteRepositorySnapshot> doOnUIThreadWhenDone,
-      Consumer<@Nullable IGitMacheteRepository> gitMacheteRepositoryConsumer) {
+      @Nullable @UI Consumer<IGitMacheteRepositorySnapshot> doOnUIThreadWhenPartialSnapshotReady,
+      Consumer<IRepositoryGraph> doInBackgroundWhenGraphBuilt,
+      @UI Runnable doOnUIThreadWhenFinished) {
     super(gitRepository.getProject(),
         getNonHtmlString("action.GitMachete.GitMacheteRepositoryUpdateBackgroundable.task-title"));
 
     this.gitRepository = gitRepository;
     this.branchLayoutReader = branchLayoutReader;
+    this.isListingCommits = isListingCommits;
+    this.branchNamesWithAllUniqueCommitsLoaded = branchNamesWithAllUniqueCommitsLoaded;
     this.doOnUIThreadWhenDone = doOnUIThreadWhenDone;
-    this.gitMacheteRepositoryConsumer = gitMacheteRepositoryConsumer;
+    this.doOnUIThreadWhenPartialSnapshotReady = doOnUIThreadWhenPartialSnapshotReady;
+    this.doInBackgroundWhenGraphBuilt = doInBackgroundWhenGraphBuilt;
+    this.doOnUIThreadWhenFinished = doOnUIThreadWhenFinished;
 
     this.gitMacheteRepositoryCache = ApplicationManager.getApplication().getService(IGitMacheteRepositoryCache.class);
+    this.repositoryGraphCache = ApplicationManager.getApplication().getService(IRepositoryGraphCache.class);
+    this.snapshotWarmingService = gitRepository.getProject().getService(GitMacheteRepositorySnapshotWarmingService.class);
+  }
+
+  /**
+   * Requests the cancellation of this task. Note that the cancellation is cooperative:
+   * the task stops at the nearest checkpoint, so it doesn't execute {@code doOnUIThreadWhenDone} if cancelled before
+   * the complete snapshot has been queued onto the UI thread. A cancellation requested any later is too late for that,
+   * hence {@code doOnUIThreadWhenDone} must be prepared to receive the snapshot of a cancelled task as well.
+   */
+  @Override
+  public void cancel() {
+    isCancelRequested.set(true);
+    val indicator = progressIndicator.get();
+    if (indicator != null) {
+      indicator.cancel();
+    }
+  }
+
+  @Override
+  public boolean isCancelRequested() {
+    return isCancelRequested.get();
   }
 
   @UIThreadUnsafe
   @Override
   public void run(ProgressIndicator indicator) {
+    progressIndicator.set(indicator);
+    // The cancellation might have been requested even before the task started.
+    if (isCancelRequested.get()) {
+      indicator.cancel();
+    }
+
     // We can't queue repository update (onto a non-UI thread) and `doOnUIThreadWhenDone` (onto the UI thread) separately
     // since those two actions happen on two separate threads
     // and `doOnUIThreadWhenDone` can only start once repository update is complete.
 
     // Thus, we synchronously run repository update first...
-    IGitMacheteRepositorySnapshot gitMacheteRepositorySnapshot = updateRepositorySnapshot();
+    IGitMacheteRepositorySnapshot gitMacheteRepositorySnapshot = updateRepositorySnapshot(indicator);
+    indicator.checkCanceled();
+
+    // Building the graph can take a while for large layouts (esp. with commits listed), so let's do it here rather than
+    // on the UI thread. The graph gets cached, so the model refresh on the UI thread is going to just retrieve it.
+    // The other variant of the graph (without/with commits) is only going to be built once actually needed.
+    if (gitMacheteRepositorySnapshot != null) {
+      LOG.debug(() -> "Building repository graph with isListingCommits = ${isListingCommits}");
+      val repositoryGraph = repositoryGraphCache.getRepositoryGraph(gitMacheteRepositorySnapshot, isListingCommits);
+      indicator.checkCanceled();
+      doInBackgroundWhenGraphBuilt.accept(repositoryGraph);
+    }
+    indicator.checkCanceled();
 
     // ... and only once it completes, we queue `doOnUIThreadWhenDone` onto the UI thread.
     LOG.debug("Queuing graph table refresh onto the UI thread");
     ModalityUiUtil.invokeLaterIfNeeded(NON_MODAL, () -> doOnUIThreadWhenDone.accept(gitMacheteRepositorySnapshot));
   }
 
+  @Override
+  @UIEffect
+  public void onFinished() {
+    doOnUIThreadWhenFinished.run();
+  }
+
   /**
    * Updates the repository snapshot which is the base of graph table model. The change will be seen after
    * {@link EnhancedGraphTable#refreshModel()} completes.
    */
   @UIThreadUnsafe
-  private @Nullable IGitMacheteRepositorySnapshot updateRepositorySnapshot() {
+  private @Nullable IGitMacheteRepositorySnapshot updateRepositorySnapshot(ProgressIndicator indicator) {
     Path rootDirectoryPath = gitRepository.getRootDirectoryPath();
     Path mainGitDirectoryPath = gitRepository.getMainGitDirectoryPath();
     Path worktreeGitDirectoryPath = gitRepository.getWorktreeGitDirectoryPath();
@@ -108,8 +197,26 @@ public final class GitMacheteRepositoryUpdateBackgroundable extends Task.Backgro
         BranchLayout branchLayout = readBranchLayout(macheteFilePath);
         IGitMacheteRepository gitMacheteRepository = gitMacheteRepositoryCache.getInstance(rootDirectoryPath,
             mainGitDirectoryPath, worktreeGitDirectoryPath);
-        gitMacheteRepositoryConsumer.accept(gitMacheteRepository);
-        return gitMacheteRepository.createSnapshotForLayout(branchLayout);
+
+        // Partial snapshots are only displayed if there's nothing better to display yet,
+        // so once the warm or the persisted snapshot (with typically all the statuses in place) is displayed,
+        // they're skipped.
+        boolean isEarlySnapshotPublished = doOnUIThreadWhenPartialSnapshotReady != null
+            && (publishWarmSnapshot(branchLayout, indicator)
+                || restoreAndPublishPersistedSnapshot(gitMacheteRepository, branchLayout, indicator));
+
+        // The revision walks behind the snapshot poll this token, so that a superseded update stops almost immediately
+        // rather than running to completion while the next update waits.
+        val snapshot = gitMacheteRepository.createSnapshotForLayout(branchLayout, getMaxLoadedUniqueCommitCount(getProject()),
+            branchNamesWithAllUniqueCommitsLoaded, () -> isCancelRequested.get() || indicator.isCanceled(),
+            partialSnapshot -> {
+              if (!isEarlySnapshotPublished) {
+                publishPartialSnapshot(partialSnapshot, indicator);
+              }
+            });
+        persistSnapshot(gitMacheteRepository, snapshot);
+        snapshotWarmingService.offerSnapshot(gitRepository, snapshot);
+        return snapshot;
       } catch (MacheteFileReaderException e) {
         LOG.warn("Unable to create Git Machete repository", e);
         if (!isMacheteFileSelected(getProject())) {
@@ -117,6 +224,10 @@ public final class GitMacheteRepositoryUpdateBackgroundable extends Task.Backgro
         }
         return null;
       } catch (GitMacheteException e) {
+        if (isCancelRequested.get() || indicator.isCanceled()) {
+          LOG.debug("Repository snapshot creation has been cancelled");
+          return null;
+        }
         LOG.warn("Unable to create Git Machete repository", e);
         notifyUpdateRepositoryException(e);
         return null;
@@ -127,6 +238,82 @@ public final class GitMacheteRepositoryUpdateBackgroundable extends Task.Backgro
     }
   }
 
+  /**
+   * Publishes the snapshot kept warm by {@link GitMacheteRepositorySnapshotWarmingService} just like a partial snapshot,
+   * unless it's been created for another branch layout (in which case it might even display branches that are gone).
+   * The warm snapshot is complete, but it might be stale already, hence it's only published as a provisional one
+   * (so that e.g. neither the actions nor the notifications rely on it).
+   *
+   * @return true if the warm snapshot has been published, false otherwise
+   */
+  @UIThreadUnsafe
+  private boolean publishWarmSnapshot(BranchLayout branchLayout, ProgressIndicator indicator) {
+    val warmSnapshot = snapshotWarmingService.getWarmSnapshot(gitRepository);
+    if (warmSnapshot == null || !warmSnapshot.getBranchLayout().equals(branchLayout)) {
+      LOG.debug("No warm snapshot for the current branch layout");
+      return false;
+    }
+    LOG.debug("Publishing the warm snapshot");
+    publishPartialSnapshot(warmSnapshot.asProvisional(), indicator);
+    return true;
+  }
+
+  /**
+   * Restores the snapshot persisted by a previous update (possibly before an IDE restart) and publishes it
+   * just like a partial snapshot, so that the graph can be displayed before any revision walk even starts.
+   *
+   * @return true if the persisted snapshot has been published, false otherwise
+   */
+  @UIThreadUnsafe
+  private boolean restoreAndPublishPersistedSnapshot(IGitMacheteRepository gitMacheteRepository, BranchLayout branchLayout,
+      ProgressIndicator indicator) {
+    Path snapshotFilePath = gitRepository.getSnapshotFilePath();
+    try {
+      val restoredSnapshot = gitMacheteRepository.restoreSnapshot(branchLayout, snapshotFilePath);
+      if (restoredSnapshot == null) {
+        LOG.debug(() -> "No persisted snapshot under ${snapshotFilePath}");
+        return false;
+      }
+      LOG.debug(() -> "Restored snapshot persisted under ${snapshotFilePath}");
+      publishPartialSnapshot(restoredSnapshot, indicator);
+      return true;
+    } catch (GitMacheteException e) {
+      // The persisted snapshot is just an optimization, so there's no point in bothering the user.
+      LOG.warn("Unable to restore the snapshot persisted under ${snapshotFilePath}", e);
+      return false;
+    }
+  }
+
+  @UIThreadUnsafe
+  private void persistSnapshot(IGitMacheteRepository gitMacheteRepository, IGitMacheteRepositorySnapshot snapshot) {
+    Path snapshotFilePath = gitRepository.getSnapshotFilePath();
+    try {
+      gitMacheteRepository.persistSnapshot(snapshot, snapshotFilePath);
+    } catch (GitMacheteException e) {
+      LOG.warn("Unable to persist the snapshot under ${snapshotFilePath}", e);
+    }
+  }
+
+  @UIThreadUnsafe
+  private void publishPartialSnapshot(IGitMacheteRepositorySnapshot partialSnapshot, ProgressIndicator indicator) {
+    val doOnUIThreadWhenReady = doOnUIThreadWhenPartialSnapshotReady;
+    if (doOnUIThreadWhenReady == null || isCancelRequested.get() || indicator.isCanceled()) {
+      return;
+    }
+    // Just like for the complete snapshot, the graph is built here rather than on the UI thread.
+    val repositoryGraph = repositoryGraphCache.getRepositoryGraph(partialSnapshot, isListingCommits);
+    doInBackgroundWhenGraphBuilt.accept(repositoryGraph);
+    LOG.debug("Queuing graph table refresh with a partial snapshot onto the UI thread");
+    ModalityUiUtil.invokeLaterIfNeeded(NON_MODAL, () -> doOnUIThreadWhenReady.accept(partialSnapshot));
+  }
+
+  static @Positive int getMaxLoadedUniqueCommitCount(Project project) {
+    int maxLoadedUniqueCommitCount = PropertiesComponent.getInstance(project).getInt(MAX_LOADED_UNIQUE_COMMIT_COUNT,
+        DEFAULT_MAX_LOADED_UNIQUE_COMMIT_COUNT);
+    // With no commits loaded at all, there would be nothing to attach the placeholder of omitted commits to.
+    return maxLoadedUniqueCommitCount > 0 ? maxLoadedUniqueCommitCount : 1;
+  }
+
   private BranchLayout readBranchLayout(Path path) throws MacheteFileReaderException {
     try {
       return ReadAction.compute(() -> MacheteFileReader.readBranchLayout(path, branchLayoutReader));
@@ -0,0 +1,263 @@
+package com.virtuslab.gitmachete.frontend.ui.impl.backgroundables;
+
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.intellij.util.concurrency.AppExecutorUtil;
+import git4idea.repo.GitRepository;
+import io.vavr.collection.Set;
+import lombok.CustomLog;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.checkerframework.checker.guieffect.qual.UI;
+import org.checkerframework.checker.guieffect.qual.UIEffect;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.virtuslab.branchlayout.api.readwrite.IBranchLayoutReader;
+import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositorySnapshot;
+import com.virtuslab.gitmachete.frontend.graph.api.repository.IRepositoryGraph;
+import com.virtuslab.qual.async.BackgroundableQueuedElsewhere;
+import com.virtuslab.qual.async.ContinuesInBackground;
+
+/**
+ * Coalesces the requests for repository update (and the subsequent model refresh) into as few
+ * {@link GitMacheteRepositoryUpdateBackgroundable}s as possible.
+ * <br>
+ * A single git operation (like a rebase of a few dozen commits) can fire a burst of repository change events,
+ * each of which requests an update. Hence:
+ * <ul>
+ *   <li>an update only starts once no further request has come for {@link #DEBOUNCE_DELAY_MILLIS},</li>
+ *   <li>at most one update runs at a time; requests that come in the meantime are merged into a single follow-up update,
+ *       with all their {@code doOnUIThreadWhenReady} callbacks executed once that update completes,</li>
+ *   <li>a running update is cancelled if a request with different {@link UpdateInputs} comes
+ *       (e.g. once another repository has been selected), as its result would be discarded anyway.</li>
+ * </ul>
+ * Unless a snapshot of the given repository is already displayed, the partial snapshots published by an update
+ * (see {@link IGitMacheteRepositorySnapshot#isPartial}) are displayed as well. Otherwise, they'd temporarily replace
+ * the complete statuses of the displayed snapshot with the pending ones.
+ */
+@CustomLog
+@SuppressWarnings("regexp") // to allow for `synchronized`
+public final class GitMacheteRepositoryUpdateScheduler {
+
+  private static final long DEBOUNCE_DELAY_MILLIS = 200;
+
+  /**
+   * Everything that the outcome of an update depends on, apart from the state of the repository itself.
+   */
+  @Data
+  public static final class UpdateInputs {
+    private final GitRepository gitRepository;
+    private final boolean isListingCommits;
+    private final Set<String> branchNamesWithAllUniqueCommitsLoaded;
+  }
+
+  public interface IModelRefresher {
+    @ContinuesInBackground
+    @UIEffect
+    void refreshModel(
+        GitRepository gitRepository,
+        @Nullable IGitMacheteRepositorySnapshot repositorySnapshot,
+        @UI Runnable doOnUIThreadWhenReady);
+  }
+
+  // The seams below are only replaced in tests, so that the scheduling can be verified without the platform
+  // (and without actually waiting for the debounce delay to pass).
+
+  interface IDelayedExecutor {
+    @ContinuesInBackground
+    Future<?> schedule(Runnable task, long delayMillis);
+  }
+
+  interface IUpdate {
+    @ContinuesInBackground
+    void queue();
+
+    void cancel();
+
+    boolean isCancelRequested();
+  }
+
+  interface IUpdateFactory {
+    IUpdate create(
+        UpdateInputs inputs,
+        @UI Consumer<@Nullable IGitMacheteRepositorySnapshot> doOnUIThreadWhenDone,
+        @Nullable @UI Consumer<IGitMacheteRepositorySnapshot> doOnUIThreadWhenPartialSnapshotReady,
+        @UI Runnable doOnUIThreadWhenFinished);
+  }
+
+  @RequiredArgsConstructor
+  private static final class RunningUpdate {
+    private final UpdateInputs inputs;
+    // Callbacks that still await the completion of this update; cleared once they've been executed.
+    private final java.util.List<@UI Runnable> callbacks;
+    private final IUpdate update;
+  }
+
+  private final IModelRefresher modelRefresher;
+  private final IDelayedExecutor delayedExecutor;
+  private final IUpdateFactory updateFactory;
+
+  private @Nullable UpdateInputs pendingInputs = null;
+  private final java.util.List<@UI Runnable> pendingCallbacks = new ArrayList<>();
+  private @Nullable Future<?> pendingStart = null;
+  private @Nullable RunningUpdate runningUpdate = null;
+  // The repository whose (complete) snapshot has been the last one passed to the model refresher, if any.
+  private @Nullable GitRepository displayedGitRepository = null;
+
+  private long coalescedRequestCount = 0;
+
+  /**
+   * @param modelRefreshPreparer receives (on a background thread) each graph that's about to be displayed,
+   *                             so that e.g. the rows to be repainted can be derived off the UI thread
+   */
+  public GitMacheteRepositoryUpdateScheduler(
+      IBranchLayoutReader branchLayoutReader,
+      IModelRefresher modelRefresher,
+      Consumer<IRepositoryGraph> modelRefreshPreparer) {
+    this(modelRefresher,
+        GitMacheteRepositoryUpdateScheduler::scheduleOnAppExecutor,
+        (inputs, doOnUIThreadWhenDone, doOnUIThreadWhenPartialSnapshotReady, doOnUIThreadWhenFinished) -> createBackgroundable(
+            inputs, branchLayoutReader, modelRefreshPreparer,
+            doOnUIThreadWhenDone, doOnUIThreadWhenPartialSnapshotReady, doOnUIThreadWhenFinished));
+  }
+
+  GitMacheteRepositoryUpdateScheduler(
+      IModelRefresher modelRefresher,
+      IDelayedExecutor delayedExecutor,
+      IUpdateFactory updateFactory) {
+    this.modelRefresher = modelRefresher;
+    this.delayedExecutor = delayedExecutor;
+    this.updateFactory = updateFactory;
+  }
+
+  @ContinuesInBackground
+  private static Future<?> scheduleOnAppExecutor(Runnable task, long delayMillis) {
+    return AppExecutorUtil.getAppScheduledExecutorService().schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @BackgroundableQueuedElsewhere // queued by `startPendingUpdateIfIdle`
+  private static IUpdate createBackgroundable(
+      UpdateInputs inputs,
+      IBranchLayoutReader branchLayoutReader,
+      Consumer<IRepositoryGraph> modelRefreshPreparer,
+      @UI Consumer<@Nullable IGitMacheteRepositorySnapshot> doOnUIThreadWhenDone,
+      @Nullable @UI Consumer<IGitMacheteRepositorySnapshot> doOnUIThreadWhenPartialSnapshotReady,
+      @UI Runnable doOnUIThreadWhenFinished) {
+    return new GitMacheteRepositoryUpdateBackgroundable(
+        inputs.gitRepository,
+        branchLayoutReader,
+        inputs.isListingCommits,
+        inputs.branchNamesWithAllUniqueCommitsLoaded,
+        doOnUIThreadWhenDone,
+        doOnUIThreadWhenPartialSnapshotReady,
+        /* doInBackgroundWhenGraphBuilt */ modelRefreshPreparer,
+        doOnUIThreadWhenFinished);
+  }
+
+  /**
+   * @return the number of update requests that have been served by an update started for another request
+   *         (rather than by an update of their own) since this scheduler has been created
+   */
+  public synchronized long getCoalescedRequestCount() {
+    return coalescedRequestCount;
+  }
+
+  @ContinuesInBackground
+  public synchronized void scheduleUpdate(UpdateInputs inputs, @UI Runnable doOnUIThreadWhenReady) {
+    if (pendingInputs != null) {
+      coalescedRequestCount++;
+    }
+    pendingInputs = inputs;
+    pendingCallbacks.add(doOnUIThreadWhenReady);
+
+    val currentlyRunningUpdate = runningUpdate;
+    if (currentlyRunningUpdate != null && !currentlyRunningUpdate.inputs.equals(inputs)) {
+      LOG.debug(() -> "Inputs have changed from ${currentlyRunningUpdate.inputs} to ${inputs}, " +
+          "cancelling the running update");
+      currentlyRunningUpdate.update.cancel();
+    }
+
+    // Each request postpones the start of the update, so that a burst of requests results in a single update.
+    val previousPendingStart = pendingStart;
+    if (previousPendingStart != null) {
+      previousPendingStart.cancel(/* mayInterruptIfRunning */ false);
+    }
+    pendingStart = delayedExecutor.schedule(() -> startPendingUpdateIfIdle(), DEBOUNCE_DELAY_MILLIS);
+  }
+
+  @ContinuesInBackground
+  private void startPendingUpdateIfIdle() {
+    IUpdate update;
+    synchronized (this) {
+      pendingStart = null;
+      val inputs = pendingInputs;
+      // If an update is running, the pending one is going to be started once the running one finishes.
+      if (inputs == null || runningUpdate != null) {
+        return;
+      }
+      if (inputs.gitRepository.getProject().isDisposed()) {
+        LOG.debug("Project is disposed");
+        return;
+      }
+
+      val callbacks = new ArrayList<@UI Runnable>(pendingCallbacks);
+      pendingInputs = null;
+      pendingCallbacks.clear();
+
+      boolean isDisplayingPartialSnapshots = !inputs.gitRepository.equals(displayedGitRepository);
+      update = updateFactory.create(
+          inputs,
+          /* doOnUIThreadWhenDone */ repositorySnapshot -> {
+            setDisplayedGitRepository(repositorySnapshot != null ? inputs.gitRepository : null);
+            modelRefresher.refreshModel(inputs.gitRepository, repositorySnapshot, () -> runCallbacksOf(callbacks));
+          },
+          /* doOnUIThreadWhenPartialSnapshotReady */ isDisplayingPartialSnapshots
+              ? partialSnapshot -> modelRefresher.refreshModel(inputs.gitRepository, partialSnapshot,
+                  /* doOnUIThreadWhenReady */ () -> {})
+              : null,
+          /* doOnUIThreadWhenFinished */ this::onUpdateFinished);
+      runningUpdate = new RunningUpdate(inputs, callbacks, update);
+      LOG.debug(() -> "Starting repository update for ${callbacks.size()} request(s) " +
+          "(${coalescedRequestCount} request(s) coalesced so far)");
+    }
+    update.queue();
+  }
+
+  private synchronized void setDisplayedGitRepository(@Nullable GitRepository gitRepository) {
+    displayedGitRepository = gitRepository;
+  }
+
+  // Note that the callbacks of an update are only ever accessed on the UI thread once the update has started
+  // (here and in `onUpdateFinished`), hence no need for synchronization on them.
+  @UIEffect
+  private static void runCallbacksOf(java.util.List<@UI Runnable> callbacks) {
+    val callbacksToRun = new ArrayList<@UI Runnable>(callbacks);
+    callbacks.clear();
+    for (val callback : callbacksToRun) {
+      callback.run();
+    }
+  }
+
+  @ContinuesInBackground
+  @UIEffect
+  private void onUpdateFinished() {
+    synchronized (this) {
+      val finishedUpdate = runningUpdate;
+      runningUpdate = null;
+      if (finishedUpdate != null && finishedUpdate.update.isCancelRequested()) {
+        // The callbacks of a cancelled update are still waiting, so let them be served by the next update.
+        pendingCallbacks.addAll(0, finishedUpdate.callbacks);
+        finishedUpdate.callbacks.clear();
+      }
+      // If the start of the pending update is still scheduled, let's not cut the debounce delay short.
+      if (pendingStart != null) {
+        return;
+      }
+    }
+    startPendingUpdateIfIdle();
+  }
+}
@@ -28,6 +28,7 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.text.NumberFormat;
 import java.util.Objects;
 
 import javax.swing.JTable;
@@ -97,12 +98,8 @@ public final class BranchOrCommitCellRendererComponent extends SimpleColoredRend
 
     IGraphItem graphItem = cell.getGraphItem();
     int maxGraphNodePositionInRow = getMaxGraphNodePositionInRow(graphItem);
-    List<? extends IRenderPart> renderParts;
-    if (graphItem.hasBulletPoint()) {
-      renderParts = cell.getRenderParts();
-    } else {
-      renderParts = cell.getRenderParts().filter(e -> !e.isNode());
-    }
+    // Render parts are memoized per row by the graph, and already lack the nodes for items without a bullet point.
+    List<? extends IRenderPart> renderParts = cell.getRenderParts();
     this.graphImage = getGraphImage(graphTable, maxGraphNodePositionInRow);
     Graphics2D g2 = graphImage.createGraphics();
     val graphCellPainter = graphCellPainterFactoryInstance.create(table);
@@ -158,6 +155,12 @@ public final class BranchOrCommitCellRendererComponent extends SimpleColoredRend
     }
 
     SimpleTextAttributes attributes = graphItem.getAttributes();
+    if (!graphItem.isBranchItem() && graphItem.asCommitItem().isOmittedCommitsPlaceholder()) {
+      String omittedCommitCount = NumberFormat.getIntegerInstance().format(graphItem.asCommitItem().getOmittedCommitCount());
+      append(getString("string.GitMachete.BranchOrCommitCellRendererComponent.omitted-commits").fmt(omittedCommitCount),
+          attributes);
+      return;
+    }
     append(cell.getText(), attributes);
 
     if (graphItem.isBranchItem()) {
@@ -297,6 +300,10 @@ public final class BranchOrCommitCellRendererComponent extends SimpleColoredRend
   private static String getSyncToParentStatusBasedToolTipText(INonRootManagedBranchSnapshot branch) {
     val currentBranchName = branch.getName().escapeHtml4();
     val parentBranchName = branch.getParent().getName().escapeHtml4();
+    if (branch.hasPendingStatuses()) {
+      return getString("string.GitMachete.BranchOrCommitCellRendererComponent.sync-to-parent-status-tooltip.pending.HTML")
+          .fmt(currentBranchName, parentBranchName);
+    }
     return switch (branch.getSyncToParentStatus()) {
       case InSync -> getString(
           "string.GitMachete.BranchOrCommitCellRendererComponent.sync-to-parent-status-tooltip.in-sync.HTML")
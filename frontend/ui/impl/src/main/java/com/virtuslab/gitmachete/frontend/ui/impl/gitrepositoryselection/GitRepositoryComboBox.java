@@ -98,6 +98,12 @@ public final class GitRepositoryComboBox extends JComboBox<GitRepository>
     return getModel().getSelected();
   }
 
+  @Override
+  @UIEffect
+  public void setSelectedGitRepository(GitRepository gitRepository) {
+    setSelectedItem(gitRepository);
+  }
+
   @Override
   @UIEffect
   public void setSelectedItem(@Nullable Object anObject) {
@@ -0,0 +1,41 @@
+package com.virtuslab.gitmachete.frontend.ui.impl.table;
+
+import lombok.val;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.virtuslab.gitmachete.backend.api.GitMacheteRepositorySnapshotDiff;
+import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositorySnapshot;
+import com.virtuslab.gitmachete.backend.api.NullGitMacheteRepositorySnapshot;
+
+/**
+ * Tracks the complete snapshot that the skipped and duplicated branch notifications have most recently been considered for,
+ * so that these notifications are only shown once a branch becomes skipped or duplicated
+ * (rather than on each refresh of the graph table).
+ * <br>
+ * Only the actual snapshots count: neither the partial ones (shortly going to be followed by the complete one)
+ * nor {@link NullGitMacheteRepositorySnapshot} (passed e.g. when the displayed snapshot is just re-rendered)
+ * ever replace the tracked snapshot, so that the next actual snapshot isn't compared against nothing.
+ */
+final class CompleteSnapshotDiffTracker {
+
+  private @Nullable IGitMacheteRepositorySnapshot previousCompleteSnapshot = null;
+
+  /**
+   * @return the diff between the given snapshot and the previous complete snapshot of the same repository
+   *         (or {@link NullGitMacheteRepositorySnapshot} if there's none), or null if the given snapshot doesn't count
+   */
+  @SuppressWarnings("interning:not.interned") // the null snapshot is a singleton
+  @Nullable
+  GitMacheteRepositorySnapshotDiff trackAndDiff(IGitMacheteRepositorySnapshot snapshot) {
+    if (snapshot.isPartial() || snapshot == NullGitMacheteRepositorySnapshot.getInstance()) {
+      return null;
+    }
+    val previousSnapshotOfAnyRepository = previousCompleteSnapshot;
+    val previousSnapshot = previousSnapshotOfAnyRepository != null
+        && previousSnapshotOfAnyRepository.getMainGitDirectoryPath().equals(snapshot.getMainGitDirectoryPath())
+            ? previousSnapshotOfAnyRepository
+            : NullGitMacheteRepositorySnapshot.getInstance();
+    previousCompleteSnapshot = snapshot;
+    return snapshot.diff(previousSnapshot);
+  }
+}
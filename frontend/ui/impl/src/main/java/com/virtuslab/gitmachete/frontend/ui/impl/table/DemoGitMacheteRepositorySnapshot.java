@@ -11,6 +11,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.common.value.qual.ArrayLen;
@@ -131,6 +132,16 @@ public class DemoGitMacheteRepositorySnapshot implements IGitMacheteRepositorySn
     return TreeSet.empty();
   }
 
+  @Override
+  public boolean isPartial() {
+    return false;
+  }
+
+  @Override
+  public IGitMacheteRepositorySnapshot asProvisional() {
+    throw new NotImplementedError();
+  }
+
   @Getter
   public final OngoingRepositoryOperation ongoingRepositoryOperation = new OngoingRepositoryOperation(
       OngoingRepositoryOperationType.NO_OPERATION, null);
@@ -223,6 +234,11 @@ public class DemoGitMacheteRepositorySnapshot implements IGitMacheteRepositorySn
       return null;
     }
 
+    @Override
+    public boolean hasPendingStatuses() {
+      return false;
+    }
+
     @Override
     public @Nullable IRemoteTrackingBranchReference getRemoteTrackingBranch() {
       return null;
@@ -267,6 +283,17 @@ public class DemoGitMacheteRepositorySnapshot implements IGitMacheteRepositorySn
       return null;
     }
 
+    @Override
+    public boolean hasPendingStatuses() {
+      return false;
+    }
+
+    @Override
+    @SuppressWarnings("lowerbound:return")
+    public @NonNegative int getUniqueCommitsCount() {
+      return uniqueCommits.size();
+    }
+
     @Override
     public @Nullable IForkPointCommitOfManagedBranch getForkPoint() {
       return forkPoint;
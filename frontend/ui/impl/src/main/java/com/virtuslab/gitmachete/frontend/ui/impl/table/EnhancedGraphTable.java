@@ -5,6 +5,7 @@ import static com.virtuslab.gitmachete.frontend.common.WriteActionUtils.blocking
 import static com.virtuslab.gitmachete.frontend.datakeys.DataKeys.typeSafeCase;
 import static com.virtuslab.gitmachete.frontend.defs.ActionIds.OPEN_MACHETE_FILE;
 import static com.virtuslab.gitmachete.frontend.file.MacheteFileUtils.isMacheteFileSelected;
+import static com.virtuslab.gitmachete.frontend.resourcebundles.GitMacheteBundle.getNonHtmlString;
 import static com.virtuslab.gitmachete.frontend.resourcebundles.GitMacheteBundle.getString;
 import static io.vavr.API.$;
 import static io.vavr.API.Case;
@@ -12,12 +13,14 @@ import static io.vavr.API.Match;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Consumer;
 
 import javax.swing.ListSelectionModel;
 
+import com.intellij.dvcs.repo.VcsRepositoryManager;
+import com.intellij.dvcs.repo.VcsRepositoryMappingListener;
 import com.intellij.ide.DataManager;
 import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationAction;
@@ -29,6 +32,8 @@ import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.actionSystem.DataProvider;
 import com.intellij.openapi.actionSystem.Presentation;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.vcs.VcsNotifier;
@@ -41,8 +46,12 @@ import com.intellij.ui.ScrollingUtil;
 import com.intellij.util.ModalityUiUtil;
 import com.intellij.util.messages.Topic;
 import com.intellij.util.ui.JBUI;
+import git4idea.GitUtil;
 import git4idea.repo.GitRepository;
 import git4idea.repo.GitRepositoryChangeListener;
+import io.vavr.collection.HashMap;
+import io.vavr.collection.HashSet;
+import io.vavr.collection.Map;
 import io.vavr.collection.Set;
 import io.vavr.control.Option;
 import lombok.AccessLevel;
@@ -57,12 +66,13 @@ import org.checkerframework.checker.guieffect.qual.UIEffect;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import com.virtuslab.branchlayout.api.BranchLayout;
 import com.virtuslab.branchlayout.api.readwrite.IBranchLayoutReader;
 import com.virtuslab.branchlayout.api.readwrite.IBranchLayoutWriter;
 import com.virtuslab.gitmachete.backend.api.GitMacheteException;
 import com.virtuslab.gitmachete.backend.api.IGitMacheteRepository;
+import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositoryCache;
 import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositorySnapshot;
+import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositorySnapshot.OngoingRepositoryOperation;
 import com.virtuslab.gitmachete.backend.api.ILocalBranchReference;
 import com.virtuslab.gitmachete.backend.api.IManagedBranchSnapshot;
 import com.virtuslab.gitmachete.backend.api.NullGitMacheteRepositorySnapshot;
@@ -77,7 +87,8 @@ import com.virtuslab.gitmachete.frontend.resourcebundles.GitMacheteBundle;
 import com.virtuslab.gitmachete.frontend.ui.api.gitrepositoryselection.IGitRepositorySelectionProvider;
 import com.virtuslab.gitmachete.frontend.ui.api.table.BaseEnhancedGraphTable;
 import com.virtuslab.gitmachete.frontend.ui.impl.backgroundables.AutodiscoverBackgroundable;
-import com.virtuslab.gitmachete.frontend.ui.impl.backgroundables.GitMacheteRepositoryUpdateBackgroundable;
+import com.virtuslab.gitmachete.frontend.ui.impl.backgroundables.GitMacheteRepositorySnapshotWarmingService;
+import com.virtuslab.gitmachete.frontend.ui.impl.backgroundables.GitMacheteRepositoryUpdateScheduler;
 import com.virtuslab.gitmachete.frontend.ui.impl.backgroundables.InferParentForUnmanagedBranchBackgroundable;
 import com.virtuslab.gitmachete.frontend.ui.impl.cell.BranchOrCommitCell;
 import com.virtuslab.gitmachete.frontend.ui.impl.cell.BranchOrCommitCellRenderer;
@@ -106,11 +117,17 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
   private final IBranchLayoutReader branchLayoutReader;
   private final IBranchLayoutWriter branchLayoutWriter;
   private final IRepositoryGraphCache repositoryGraphCache;
+  private final IGitMacheteRepositoryCache gitMacheteRepositoryCache;
+  private final GitMacheteRepositorySnapshotWarmingService snapshotWarmingService;
 
-  @Getter
-  @Setter
-  @UIEffect
-  private boolean isListingCommits;
+  // Read in the background (when queuing a repository update) and not just on the UI thread, hence atomic.
+  private final AtomicBoolean isListingCommits = new AtomicBoolean(false);
+
+  // Branches (by repository root) for which all unique commits have been requested
+  // (by double-clicking the placeholder of omitted commits), rather than just the newest ones.
+  // Read in the background as well, hence atomic.
+  private final AtomicReference<Map<Path, Set<String>>> branchNamesWithAllUniqueCommitsLoadedByRepositoryRoot =
+      new AtomicReference<>(HashMap.empty());
 
   @Getter
   @UIEffect
@@ -121,15 +138,28 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
   @UIEffect
   private @Nullable String selectedBranchName;
 
-  // To accurately track the change of the current branch from the beginning, let's put something impossible
-  // as a branch name. This is required to detect the moment when the unmanaged branch notification should be shown.
+  // Tracked for each repository (and not just the selected one) to detect the moment
+  // when the unmanaged branch notification should be shown. A repository is absent until its first change,
+  // so that the change of the current branch is tracked accurately from the beginning.
   @UIEffect
-  private String mostRecentlyCheckedOutBranch = "?!@#$%^&";
+  private final java.util.Map<GitRepository, String> mostRecentlyCheckedOutBranchByRepository = new java.util.HashMap<>();
+
+  // The fingerprint of each repository as of its most recent change event that hasn't been skipped.
+  @UIEffect
+  private final java.util.Map<GitRepository, GitRepositoryChangeFingerprint> fingerprintByRepository =
+      new java.util.HashMap<>();
 
   @UIEffect
   private @MonotonicNonNull UnmanagedBranchNotification unmanagedBranchNotification;
 
-  private final AtomicReference<@Nullable IGitMacheteRepository> gitMacheteRepositoryRef = new AtomicReference<>(null);
+  @UIEffect
+  private @Nullable OngoingRepositoryOperation displayedOngoingRepositoryOperation;
+
+  @UIEffect
+  private final CompleteSnapshotDiffTracker completeSnapshotDiffTracker = new CompleteSnapshotDiffTracker();
+
+  // Coalesces the bursts of repository update requests (e.g. during a rebase) into single updates.
+  private @MonotonicNonNull GitMacheteRepositoryUpdateScheduler repositoryUpdateScheduler;
 
   @UIEffect
   public EnhancedGraphTable(Project project) {
@@ -139,7 +169,8 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
     this.branchLayoutReader = ApplicationManager.getApplication().getService(IBranchLayoutReader.class);
     this.branchLayoutWriter = ApplicationManager.getApplication().getService(IBranchLayoutWriter.class);
     this.repositoryGraphCache = ApplicationManager.getApplication().getService(IRepositoryGraphCache.class);
-    this.isListingCommits = false;
+    this.gitMacheteRepositoryCache = ApplicationManager.getApplication().getService(IGitMacheteRepositoryCache.class);
+    this.snapshotWarmingService = project.getService(GitMacheteRepositorySnapshotWarmingService.class);
 
     // InitializationChecker allows us to invoke the below methods because the class is final
     // and all `@NonNull` fields are already initialized. `this` is already `@Initialized` (and not just
@@ -165,9 +196,18 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
 
     addMouseListener(new EnhancedGraphTableMouseAdapter( /* outer */ this));
 
+    this.repositoryUpdateScheduler = new GitMacheteRepositoryUpdateScheduler(branchLayoutReader,
+        /* modelRefresher */ this::refreshModelWithNewSnapshot,
+        /* modelRefreshPreparer */ getGraphTableModel()::prepareRepositoryGraph);
+
     subscribeToGitRepositoryFilesChanges();
     subscribeToSelectedGitRepositoryChange();
     subscribeToMacheteFileChange();
+    subscribeToGitRepositoryMappingChange();
+
+    // The repositories other than the selected one get their snapshots warmed up in the background,
+    // so that once selected, they can be displayed right away.
+    snapshotWarmingService.scheduleUpdatesOfAllRepositories();
 
     // This is necessary since 2023.3, see https://github.com/VirtusLab/git-machete-intellij-plugin/issues/1784
     getRowHeight();
@@ -231,20 +271,37 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
     Disposer.register(this, messageBusConnection);
   }
 
+  @UIEffect
+  private void subscribeToGitRepositoryMappingChange() {
+    // Just like for repository changes, there's no guarantee that the listener runs on UI thread.
+    @AlwaysSafe VcsRepositoryMappingListener listener = () -> ModalityUiUtil.invokeLaterIfNeeded(NON_MODAL,
+        () -> forgetRemovedRepositories());
+
+    val messageBusConnection = project.getMessageBus().connect();
+    messageBusConnection.subscribe(VcsRepositoryManager.VCS_REPOSITORY_MAPPING_UPDATED, listener);
+    Disposer.register(this, messageBusConnection);
+  }
+
+  // Otherwise, the per-repository maps would keep the repositories removed from the project (and already disposed) alive.
+  @UIEffect
+  private void forgetRemovedRepositories() {
+    val gitRepositories = HashSet.ofAll(GitUtil.getRepositories(project));
+    mostRecentlyCheckedOutBranchByRepository.keySet()
+        .removeIf(repository -> !gitRepositories.contains(repository) || repository.isDisposed());
+    fingerprintByRepository.keySet()
+        .removeIf(repository -> !gitRepositories.contains(repository) || repository.isDisposed());
+  }
+
   @ContinuesInBackground
-  private void inferParentForUnmanagedBranchNotificationAndNotify(String branchName) {
+  private void inferParentForUnmanagedBranchNotificationAndNotify(
+      GitRepository gitRepository,
+      IGitMacheteRepositorySnapshot snapshot,
+      String branchName) {
     if (!enqueuingUpdatesEnabled.get()) {
       LOG.debug("Enqueuing updates disabled");
       return;
     }
 
-    val gitRepositorySelectionProvider = getGitRepositorySelectionProvider();
-    val gitRepository = gitRepositorySelectionProvider.getSelectedGitRepository();
-    if (gitRepository == null) {
-      LOG.warn("Selected repository is null");
-      return;
-    }
-
     Path macheteFilePath = gitRepository.getMacheteFilePath();
     val macheteVFile = VirtualFileManager.getInstance().findFileByNioPath(macheteFilePath);
     boolean isMacheteFilePresent = macheteVFile != null && !macheteVFile.isDirectory();
@@ -254,41 +311,33 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
       return;
     }
 
-    val repository = gitMacheteRepositoryRef.get();
-    if (repository == null) {
-      LOG.warn("gitMacheteRepository is null, so no unmanaged branch notification will show up");
-      return;
-    }
-
-    if (gitMacheteRepositorySnapshot == null) {
-      LOG.warn("gitMacheteRepositorySnapshot is null, so no unmanaged branch notification will show up");
-      return;
-    }
-
-    val eligibleLocalBranchNames = gitMacheteRepositorySnapshot.getManagedBranches().map(IManagedBranchSnapshot::getName)
-        .toSet();
+    val eligibleLocalBranchNames = snapshot.getManagedBranches().map(IManagedBranchSnapshot::getName).toSet();
 
     new InferParentForUnmanagedBranchBackgroundable(project) {
 
       @Override
       @UIThreadUnsafe
       protected @Nullable ILocalBranchReference inferParent() throws GitMacheteException {
+        // The cache returns the very same instance as used for the snapshots of this repository.
+        val repository = gitMacheteRepositoryCache.getInstance(gitRepository.getRootDirectoryPath(),
+            gitRepository.getMainGitDirectoryPath(), gitRepository.getWorktreeGitDirectoryPath());
         return repository.inferParentForLocalBranch(eligibleLocalBranchNames, branchName);
       }
 
       @Override
       protected void onInferParentSuccess(ILocalBranchReference inferredParent) {
-        notifyAboutUnmanagedBranch(inferredParent, branchName);
+        notifyAboutUnmanagedBranch(gitRepository, snapshot, inferredParent, branchName);
       }
     }.queue();
   }
 
-  private void notifyAboutUnmanagedBranch(ILocalBranchReference inferredParent, String branchName) {
+  private void notifyAboutUnmanagedBranch(GitRepository gitRepository, IGitMacheteRepositorySnapshot snapshot,
+      ILocalBranchReference inferredParent, String branchName) {
     ModalityUiUtil.invokeLaterIfNeeded(NON_MODAL, () -> {
       val showForThisProject = UnmanagedBranchNotificationFactory.shouldShowForThisProject(project);
       val showForThisBranch = UnmanagedBranchNotificationFactory.shouldShowForThisBranch(project, branchName);
       if (showForThisProject && showForThisBranch) {
-        val notification = new UnmanagedBranchNotificationFactory(project, gitMacheteRepositorySnapshot, branchName,
+        val notification = new UnmanagedBranchNotificationFactory(project, gitRepository, snapshot, branchName,
             inferredParent).create();
         VcsNotifier.getInstance(project).notify(notification);
         unmanagedBranchNotification = notification;
@@ -301,33 +350,57 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
   @ContinuesInBackground
   @UIEffect
   private void trackCurrentBranchChange(GitRepository repository) {
+    // The event might have been fired right before the repository got removed from the project.
+    if (repository.isDisposed()) {
+      return;
+    }
+    // A single git operation fires plenty of events that can't affect the snapshot at all (like a change of the index).
+    val fingerprint = GitRepositoryChangeFingerprint.of(repository, getSnapshotOf(repository));
+    if (fingerprint.equals(fingerprintByRepository.put(repository, fingerprint))) {
+      LOG.debug(() -> "Fingerprint of ${repository.getRoot().getName()} hasn't changed, skipping the refresh");
+      return;
+    }
+
     val repositoryCurrentBranch = repository.getCurrentBranch();
     if (repositoryCurrentBranch != null) {
       val repositoryCurrentBranchName = repositoryCurrentBranch.getName();
-      if (!repositoryCurrentBranchName.equals(mostRecentlyCheckedOutBranch)) {
+      if (!repositoryCurrentBranchName.equals(mostRecentlyCheckedOutBranchByRepository.get(repository))) {
         if (unmanagedBranchNotification != null) {
           unmanagedBranchNotification.expire();
         }
-        val snapshot = gitMacheteRepositorySnapshot;
-        Path mainGitDirectory = GitVfsUtils.getMainGitDirectory(repository).toNioPath();
-        // 1. As for now, only the snapshot of the repository selected in Git Machete panel is available
-        // (not all snapshots of all repositories!).
-        // 2. The unmanaged branch notification works on the same snapshot as the one selected in Git Machete panel.
-        // Hence, we must assure that the current branch changed belongs to the same repository as the given snapshot.
-        // TODO (#1542): Handling of all repositories (not only selected) is a subject to improvement.
-        if (snapshot != null && snapshot.getMainGitDirectoryPath().equals(mainGitDirectory)) {
+        val snapshot = getSnapshotOf(repository);
+        if (snapshot != null) {
           val entry = snapshot.getBranchLayout().getEntryByName(repositoryCurrentBranchName);
           if (entry == null) {
-            inferParentForUnmanagedBranchNotificationAndNotify(repositoryCurrentBranchName);
+            inferParentForUnmanagedBranchNotificationAndNotify(repository, snapshot, repositoryCurrentBranchName);
           }
         }
-        mostRecentlyCheckedOutBranch = repositoryCurrentBranchName;
+        mostRecentlyCheckedOutBranchByRepository.put(repository, repositoryCurrentBranchName);
       }
     }
+    // The selected repository is updated below, while the other ones are just kept warm.
+    snapshotWarmingService.scheduleUpdate(repository);
     // required to indicate the currently checked out branch after a checkout
     queueRepositoryUpdateAndModelRefresh();
   }
 
+  /**
+   * @return the displayed snapshot for the selected repository (as long as it's complete),
+   *         or the warm snapshot for any other repository
+   */
+  @UIEffect
+  private @Nullable IGitMacheteRepositorySnapshot getSnapshotOf(GitRepository repository) {
+    if (repository.equals(getGitRepositorySelectionProvider().getSelectedGitRepository())) {
+      val snapshot = getCompleteGitMacheteRepositorySnapshot();
+      Path mainGitDirectory = GitVfsUtils.getMainGitDirectory(repository).toNioPath();
+      // Right after a change of the selected repository, the displayed snapshot might still be of the previous one.
+      if (snapshot != null && snapshot.getMainGitDirectoryPath().equals(mainGitDirectory)) {
+        return snapshot;
+      }
+    }
+    return snapshotWarmingService.getWarmSnapshot(repository);
+  }
+
   @DoesNotContinueInBackground(reason = "because the call to queueRepositoryUpdateAndModelRefresh happens in listener")
   private void subscribeToSelectedGitRepositoryChange() {
     // The method reference is invoked when user changes repository in the selection component menu
@@ -351,14 +424,16 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
     boolean isMacheteFilePresent = macheteVFile != null && !macheteVFile.isDirectory();
 
     LOG.debug(() -> "Entering: macheteFilePath = ${macheteFilePath}, isMacheteFilePresent = ${isMacheteFilePresent}, " +
-        "isListingCommits = ${isListingCommits}");
+        "isListingCommits = ${isListingCommits.get()}");
 
     IRepositoryGraph repositoryGraph;
     val snapshot = gitMacheteRepositorySnapshot;
     if (snapshot == null) {
       repositoryGraph = NullRepositoryGraph.getInstance();
     } else {
-      repositoryGraph = repositoryGraphCache.getRepositoryGraph(snapshot, isListingCommits);
+      // In case of a refresh queued by `queueRepositoryUpdateAndModelRefresh`,
+      // the graph has already been built in the background, so it's just retrieved from the cache here.
+      repositoryGraph = repositoryGraphCache.getRepositoryGraph(snapshot, isListingCommits.get());
       if (snapshot.getRootBranches().isEmpty()) {
         if (snapshot.getSkippedBranchNames().isEmpty()) {
           LOG.info("Machete file (${macheteFilePath}) is empty");
@@ -384,31 +459,55 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
       return;
     }
 
-    setModel(new GraphTableModel(repositoryGraph));
+    // Rather than replacing the whole model (which would reset the selection and the scroll position,
+    // and force a relayout of all rows), let's only update the rows that have actually changed.
+    val graphTableModel = getGraphTableModel();
+    graphTableModel.setRepositoryGraph(repositoryGraph);
+    // The ongoing repository operation (like rebase) is displayed in the rows of the affected branches,
+    // but it isn't reflected in the graph itself, so any change to it requires an explicit repaint.
+    val ongoingRepositoryOperation = snapshot != null ? snapshot.getOngoingRepositoryOperation() : null;
+    if (!Objects.equals(ongoingRepositoryOperation, displayedOngoingRepositoryOperation)) {
+      displayedOngoingRepositoryOperation = ongoingRepositoryOperation;
+      graphTableModel.fireAllRowsUpdated();
+    }
 
-    if (!isMacheteFileSelected(project)) {
-      // notify if a branch listed in the machete file does not exist
-      Set<String> skippedBranchNames = repositorySnapshot.getSkippedBranchNames();
-      if (skippedBranchNames.nonEmpty()) {
-        val notification = getSkippedBranchesNotification(repositorySnapshot, gitRepository);
-        VcsNotifier.getInstance(project).notify(notification);
-      }
+    // Rather than repeating the same notifications on each refresh, let's only notify
+    // once a branch becomes skipped or duplicated as compared to the previous snapshot of the same repository.
+    val snapshotDiff = completeSnapshotDiffTracker.trackAndDiff(repositorySnapshot);
+    if (snapshotDiff != null) {
+      LOG.debug(() -> "Snapshot diff: ${snapshotDiff}");
+
+      if (!isMacheteFileSelected(project)) {
+        // notify if a branch listed in the machete file does not exist
+        if (snapshotDiff.getNewlySkippedBranchNames().nonEmpty()) {
+          val notification = getSkippedBranchesNotification(repositorySnapshot, gitRepository);
+          VcsNotifier.getInstance(project).notify(notification);
+        }
 
-      // notify if a branch name listed in the machete file appears more than once
-      Set<String> duplicatedBranchNames = repositorySnapshot.getDuplicatedBranchNames();
-      if (duplicatedBranchNames.nonEmpty()) {
-        // This warning notification will not cover other error notifications (e.g. when rebase errors occur)
-        VcsNotifier.getInstance(project).notifyWarning(/* displayId */ null,
-            getString("string.GitMachete.EnhancedGraphTable.duplicated-branches-text"),
-            String.join(", ", duplicatedBranchNames));
+        // notify if a branch name listed in the machete file appears more than once
+        if (snapshotDiff.getNewlyDuplicatedBranchNames().nonEmpty()) {
+          // This warning notification will not cover other error notifications (e.g. when rebase errors occur)
+          VcsNotifier.getInstance(project).notifyWarning(/* displayId */ null,
+              getString("string.GitMachete.EnhancedGraphTable.duplicated-branches-text"),
+              String.join(", ", repositorySnapshot.getDuplicatedBranchNames()));
+        }
       }
     }
 
-    repaint();
-    revalidate();
+    if (graphTableModel.getRowCount() == 0) {
+      // No row events get fired between two empty graphs, so the empty table text needs to be repainted explicitly.
+      repaint();
+    }
     doOnUIThreadWhenReady.run();
   }
 
+  @UIEffect
+  private GraphTableModel getGraphTableModel() {
+    val model = getModel();
+    assert model instanceof GraphTableModel : "`model` is not an instance of " + GraphTableModel.class.getSimpleName();
+    return (GraphTableModel) model;
+  }
+
   private Notification getSkippedBranchesNotification(IGitMacheteRepositorySnapshot repositorySnapshot,
       GitRepository gitRepository) {
     val notification = VcsNotifier.STANDARD_NOTIFICATION.createNotification(
@@ -430,12 +529,13 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
   }
 
   private void slideOutSkippedBranches(IGitMacheteRepositorySnapshot repositorySnapshot, GitRepository gitRepository) {
-    BranchLayout newBranchLayout = repositorySnapshot.getBranchLayout();
+    // All skipped branches are slid out with a single rebuild of the layout, rather than one rebuild per branch
+    val branchLayoutEditor = repositorySnapshot.getBranchLayout().edit();
     for (val branchName : repositorySnapshot.getSkippedBranchNames()) {
-      newBranchLayout = newBranchLayout.slideOut(branchName);
+      branchLayoutEditor.slideOut(branchName);
     }
 
-    val finalNewBranchLayout = newBranchLayout;
+    val finalNewBranchLayout = branchLayoutEditor.build();
     blockingRunWriteActionOnUIThread(() -> {
       try {
         Path macheteFilePath = gitRepository.getMacheteFilePath();
@@ -476,8 +576,6 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
       @Override
       @ContinuesInBackground
       protected void onDiscoverSuccess(IGitMacheteRepository repository, IGitMacheteRepositorySnapshot repositorySnapshot) {
-        gitMacheteRepositoryRef.set(repository);
-
         ModalityUiUtil.invokeLaterIfNeeded(NON_MODAL, () -> {
           gitMacheteRepositorySnapshot = repositorySnapshot;
           queueRepositoryUpdateAndModelRefresh(doOnUIThreadWhenReady);
@@ -508,13 +606,68 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
   public void refreshModel() {
     val gitRepositorySelectionProvider = getGitRepositorySelectionProvider();
     val gitRepository = gitRepositorySelectionProvider.getSelectedGitRepository();
-    if (gitRepository != null) {
-      refreshModel(gitRepository,
-          NullGitMacheteRepositorySnapshot.getInstance(),
-          /* doOnUIThreadWhenReady */ () -> {});
-    } else {
+    if (gitRepository == null) {
       LOG.warn("Selected git repository is undefined; unable to refresh model");
+      return;
+    }
+
+    val snapshot = gitMacheteRepositorySnapshot;
+    if (snapshot == null) {
+      refreshModel(gitRepository, NullGitMacheteRepositorySnapshot.getInstance(), /* doOnUIThreadWhenReady */ () -> {});
+      return;
+    }
+
+    // The graph in the requested variant (e.g. with commits, once listing commits has been toggled) might not be built yet,
+    // and building it can take a while for large layouts, so it's built in the background and only the model is swapped
+    // on the UI thread.
+    boolean isListingCommitsRequested = isListingCommits.get();
+    val graphTableModel = getGraphTableModel();
+    new Task.Backgroundable(project, getNonHtmlString("string.GitMachete.EnhancedGraphTable.build-graph-task-title")) {
+      @Override
+      @UIThreadUnsafe
+      public void run(ProgressIndicator indicator) {
+        val repositoryGraph = repositoryGraphCache.getRepositoryGraph(snapshot, isListingCommitsRequested);
+        graphTableModel.prepareRepositoryGraph(repositoryGraph);
+      }
+
+      @Override
+      @UIEffect
+      @SuppressWarnings("interning:not.interned") // snapshots are deliberately compared by reference
+      public void onSuccess() {
+        // If either the snapshot or the variant has changed in the meantime, the graph built here is already outdated
+        // (and the newer one is taken care of by whatever has changed it).
+        if (gitMacheteRepositorySnapshot == snapshot && isListingCommits.get() == isListingCommitsRequested) {
+          refreshModel(gitRepository, NullGitMacheteRepositorySnapshot.getInstance(), /* doOnUIThreadWhenReady */ () -> {});
+        }
+      }
+    }.queue();
+  }
+
+  @Override
+  @UIEffect
+  public void setListingCommits(boolean isListingCommits) {
+    this.isListingCommits.set(isListingCommits);
+  }
+
+  @ContinuesInBackground
+  @UIEffect
+  void loadAllUniqueCommits(String branchName) {
+    val gitRepository = getGitRepositorySelectionProvider().getSelectedGitRepository();
+    if (gitRepository == null) {
+      return;
     }
+    LOG.debug(() -> "Loading all unique commits of branch '${branchName}'");
+    branchNamesWithAllUniqueCommitsLoadedByRepositoryRoot.updateAndGet(branchNamesByRoot -> branchNamesByRoot
+        .put(gitRepository.getRootDirectoryPath(), HashSet.of(branchName), Set::addAll));
+    queueRepositoryUpdateAndModelRefresh();
+  }
+
+  /** Once a branch is gone (e.g. deleted or slid out), there's no point in loading all its unique commits anymore. */
+  private void forgetGoneBranchesWithAllUniqueCommitsLoaded(GitRepository gitRepository,
+      IGitMacheteRepositorySnapshot snapshot) {
+    branchNamesWithAllUniqueCommitsLoadedByRepositoryRoot.updateAndGet(branchNamesByRoot -> branchNamesByRoot
+        .computeIfPresent(gitRepository.getRootDirectoryPath(), (rootDirectoryPath, branchNames) -> branchNames
+            .filter(branchName -> snapshot.getManagedBranchByName(branchName) != null))._2);
   }
 
   @UIEffect
@@ -550,23 +703,15 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
       return;
     }
 
-    @UI Consumer<@Nullable IGitMacheteRepositorySnapshot> doRefreshModel = newGitMacheteRepositorySnapshot -> {
-      this.gitMacheteRepositorySnapshot = newGitMacheteRepositorySnapshot;
-      if (newGitMacheteRepositorySnapshot != null) {
-        validateUnmanagedBranchNotification(newGitMacheteRepositorySnapshot, unmanagedBranchNotification);
-        refreshModel(gitRepository, newGitMacheteRepositorySnapshot, doOnUIThreadWhenReady);
-
-      } else {
-        refreshModel(gitRepository, NullGitMacheteRepositorySnapshot.getInstance(), doOnUIThreadWhenReady);
-      }
-    };
+    val scheduler = repositoryUpdateScheduler;
+    assert scheduler != null : "repositoryUpdateScheduler hasn't been initialized yet";
 
-    LOG.debug("Queuing repository update onto a non-UI thread");
-    new GitMacheteRepositoryUpdateBackgroundable(
-        gitRepository,
-        branchLayoutReader,
-        doRefreshModel,
-        /* gitMacheteRepositoryConsumer */ gitMacheteRepositoryRef::set).queue();
+    LOG.debug("Scheduling repository update onto a non-UI thread");
+    val branchNamesWithAllUniqueCommitsLoaded = branchNamesWithAllUniqueCommitsLoadedByRepositoryRoot.get()
+        .get(gitRepository.getRootDirectoryPath()).getOrElse(HashSet.empty());
+    val updateInputs = new GitMacheteRepositoryUpdateScheduler.UpdateInputs(gitRepository, isListingCommits.get(),
+        branchNamesWithAllUniqueCommitsLoaded);
+    scheduler.scheduleUpdate(updateInputs, doOnUIThreadWhenReady);
 
     val macheteFile = gitRepository.getMacheteFile();
     if (macheteFile != null) {
@@ -574,6 +719,25 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
     }
   }
 
+  @ContinuesInBackground
+  @UIEffect
+  private void refreshModelWithNewSnapshot(
+      GitRepository gitRepository,
+      @Nullable IGitMacheteRepositorySnapshot newGitMacheteRepositorySnapshot,
+      @UI Runnable doOnUIThreadWhenReady) {
+    this.gitMacheteRepositorySnapshot = newGitMacheteRepositorySnapshot;
+    if (newGitMacheteRepositorySnapshot != null) {
+      if (!newGitMacheteRepositorySnapshot.isPartial()) {
+        forgetGoneBranchesWithAllUniqueCommitsLoaded(gitRepository, newGitMacheteRepositorySnapshot);
+      }
+      validateUnmanagedBranchNotification(newGitMacheteRepositorySnapshot, unmanagedBranchNotification);
+      refreshModel(gitRepository, newGitMacheteRepositorySnapshot, doOnUIThreadWhenReady);
+
+    } else {
+      refreshModel(gitRepository, NullGitMacheteRepositorySnapshot.getInstance(), doOnUIThreadWhenReady);
+    }
+  }
+
   @UIEffect
   private static void validateUnmanagedBranchNotification(IGitMacheteRepositorySnapshot newGitMacheteRepositorySnapshot,
       @Nullable UnmanagedBranchNotification notification) {
@@ -603,10 +767,16 @@ public final class EnhancedGraphTable extends BaseEnhancedGraphTable
     enqueuingUpdatesEnabled.set(false);
   }
 
+  /** Actions rely on the statuses of branches, so they can't operate on a partial snapshot. */
+  private @Nullable IGitMacheteRepositorySnapshot getCompleteGitMacheteRepositorySnapshot() {
+    val snapshot = gitMacheteRepositorySnapshot;
+    return snapshot != null && !snapshot.isPartial() ? snapshot : null;
+  }
+
   @Override
   public @Nullable Object getData(String dataId) {
     return Match(dataId).of(
-        typeSafeCase(DataKeys.GIT_MACHETE_REPOSITORY_SNAPSHOT, gitMacheteRepositorySnapshot),
+        typeSafeCase(DataKeys.GIT_MACHETE_REPOSITORY_SNAPSHOT, getCompleteGitMacheteRepositorySnapshot()),
         typeSafeCase(DataKeys.SELECTED_BRANCH_NAME, selectedBranchName),
         typeSafeCase(CommonDataKeys.PROJECT, project),
         Case($(), (Object) null));
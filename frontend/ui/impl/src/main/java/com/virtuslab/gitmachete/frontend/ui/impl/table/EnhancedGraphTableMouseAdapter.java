@@ -22,6 +22,7 @@ import com.virtuslab.gitmachete.frontend.defs.ActionGroupIds;
 import com.virtuslab.gitmachete.frontend.defs.ActionPlaces;
 import com.virtuslab.gitmachete.frontend.graph.api.items.IGraphItem;
 import com.virtuslab.gitmachete.frontend.ui.impl.cell.BranchOrCommitCell;
+import com.virtuslab.qual.async.DoesNotContinueInBackground;
 
 class EnhancedGraphTableMouseAdapter extends MouseAdapter {
   private final EnhancedGraphTable graphTable;
@@ -33,6 +34,7 @@ class EnhancedGraphTableMouseAdapter extends MouseAdapter {
     this.popupMenuListener = new EnhancedGraphTablePopupMenuListener(graphTable);
   }
 
+  @DoesNotContinueInBackground(reason = "because nothing in the click handling depends on the loading of omitted commits")
   @Override
   @UIEffect
   public void mouseClicked(MouseEvent e) {
@@ -48,6 +50,10 @@ class EnhancedGraphTableMouseAdapter extends MouseAdapter {
     BranchOrCommitCell cell = (BranchOrCommitCell) graphTable.getModel().getValueAt(row, col);
     IGraphItem graphItem = cell.getGraphItem();
     if (!graphItem.isBranchItem()) {
+      if (isOmittedCommitsPlaceholderDoubleClick(e, graphItem)) {
+        e.consume();
+        graphTable.loadAllUniqueCommits(graphItem.asCommitItem().getContainingBranch().getName());
+      }
       return;
     }
 
@@ -84,6 +90,12 @@ class EnhancedGraphTableMouseAdapter extends MouseAdapter {
     }
   }
 
+  @UIEffect
+  private static boolean isOmittedCommitsPlaceholderDoubleClick(MouseEvent e, IGraphItem graphItem) {
+    return SwingUtilities.isLeftMouseButton(e) && e.getClickCount() == 2 && !e.isConsumed()
+        && graphItem.asCommitItem().isOmittedCommitsPlaceholder();
+  }
+
   // this method is needed as some macOS users use Ctrl + left-click as a replacement for the right-click
   @UIEffect
   private boolean isCtrlClick(MouseEvent e) {
@@ -0,0 +1,95 @@
+package com.virtuslab.gitmachete.frontend.ui.impl.table;
+
+import com.intellij.dvcs.repo.Repository;
+import git4idea.GitLocalBranch;
+import git4idea.GitRemoteBranch;
+import git4idea.repo.GitBranchTrackInfo;
+import git4idea.repo.GitRepository;
+import io.vavr.collection.HashSet;
+import io.vavr.collection.Map;
+import io.vavr.collection.TreeMap;
+import lombok.Data;
+import lombok.experimental.ExtensionMethod;
+import lombok.val;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositorySnapshot;
+import com.virtuslab.gitmachete.frontend.vfsutils.GitVfsUtils;
+
+/**
+ * Everything about a repository that a snapshot (and hence the graph table) can depend on,
+ * as already known to IntelliJ (so that it's cheap enough to compute on the UI thread for each repository change event).
+ * Any repository change event that leaves the fingerprint intact (e.g. a change of tags, stash, notes, {@code FETCH_HEAD},
+ * the index or the HEAD of another worktree) can't affect the snapshot, so there's no point in refreshing it.
+ * <br>
+ * Tips of all local branches (and not just of the managed ones) are included, as the reflogs of all local branches
+ * are taken into account when inferring the fork points of the managed branches.
+ * Tips of remote branches are only included for the remote branches that can possibly be tracked by a local branch,
+ * so that e.g. a fetch of unrelated branches doesn't count as a change.
+ * <br>
+ * Git config affects the snapshot as well: both the upstreams of the local branches
+ * (changed e.g. by {@code git branch --set-upstream-to}, with no branch tip moving at all)
+ * and the {@code machete.*} entries (like the fork point overrides written by {@code git machete fork-point --override-to}).
+ * The upstreams are already known to IntelliJ, while any other change of git config is detected
+ * by the modification stamp of the config file.
+ */
+@Data
+@ExtensionMethod(GitVfsUtils.class)
+// So that Interning Checker doesn't complain about enum comparison (by `equals` and not by `==`) in Lombok-generated `equals`
+@SuppressWarnings("interning:unnecessary.equals")
+final class GitRepositoryChangeFingerprint {
+  private final @Nullable String currentBranchName;
+  private final @Nullable String currentRevision;
+  private final Repository.State state;
+  private final Map<String, String> localBranchTips;
+  private final Map<String, String> remoteBranchTips;
+  private final Map<String, String> upstreamBranchNames;
+  private final long gitConfigModificationStamp;
+  private final long macheteFileModificationStamp;
+
+  /**
+   * @param snapshot the most recent snapshot of the repository, if any, to tell the remote tracking branches
+   *                 that don't share the name with their local branch
+   */
+  static GitRepositoryChangeFingerprint of(GitRepository gitRepository, @Nullable IGitMacheteRepositorySnapshot snapshot) {
+    val repoInfo = gitRepository.getInfo();
+
+    Map<String, String> localBranchTips = TreeMap.empty();
+    for (val localBranchAndHash : repoInfo.getLocalBranchesWithHashes().entrySet()) {
+      GitLocalBranch localBranch = localBranchAndHash.getKey();
+      localBranchTips = localBranchTips.put(localBranch.getName(), localBranchAndHash.getValue().asString());
+    }
+
+    val remoteTrackingBranchNames = snapshot != null
+        ? snapshot.getManagedBranches().flatMap(branch -> {
+          val remoteTrackingBranch = branch.getRemoteTrackingBranch();
+          return remoteTrackingBranch != null ? HashSet.of(remoteTrackingBranch.getName()) : HashSet.<String>empty();
+        }).toSet()
+        : HashSet.<String>empty();
+    Map<String, String> remoteBranchTips = TreeMap.empty();
+    for (val remoteBranchAndHash : repoInfo.getRemoteBranchesWithHashes().entrySet()) {
+      GitRemoteBranch remoteBranch = remoteBranchAndHash.getKey();
+      String remoteBranchName = remoteBranch.getName();
+      if (localBranchTips.containsKey(remoteBranch.getNameForRemoteOperations())
+          || remoteTrackingBranchNames.contains(remoteBranchName)) {
+        remoteBranchTips = remoteBranchTips.put(remoteBranchName, remoteBranchAndHash.getValue().asString());
+      }
+    }
+
+    Map<String, String> upstreamBranchNames = TreeMap.empty();
+    for (GitBranchTrackInfo branchTrackInfo : repoInfo.getBranchTrackInfos()) {
+      upstreamBranchNames = upstreamBranchNames.put(branchTrackInfo.getLocalBranch().getName(),
+          branchTrackInfo.getRemoteBranch().getName());
+    }
+
+    val gitConfigFile = gitRepository.getMainGitDirectory().findChild("config");
+    long gitConfigModificationStamp = gitConfigFile != null ? gitConfigFile.getModificationStamp() : -1L;
+
+    val macheteFile = gitRepository.getMacheteFile();
+    long macheteFileModificationStamp = macheteFile != null ? macheteFile.getModificationStamp() : -1L;
+
+    return new GitRepositoryChangeFingerprint(gitRepository.getCurrentBranchName(), repoInfo.getCurrentRevision(),
+        gitRepository.getState(), localBranchTips, remoteBranchTips, upstreamBranchNames, gitConfigModificationStamp,
+        macheteFileModificationStamp);
+  }
+}
@@ -1,21 +1,100 @@
 package com.virtuslab.gitmachete.frontend.ui.impl.table;
 
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
 import javax.swing.table.AbstractTableModel;
 
-import lombok.AllArgsConstructor;
+import lombok.CustomLog;
+import lombok.val;
+import org.checkerframework.checker.guieffect.qual.UIEffect;
 import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.virtuslab.gitmachete.frontend.graph.api.items.IGraphItem;
 import com.virtuslab.gitmachete.frontend.graph.api.repository.IRepositoryGraph;
 import com.virtuslab.gitmachete.frontend.ui.impl.cell.BranchOrCommitCell;
 
-@AllArgsConstructor
+@CustomLog
 public class GraphTableModel extends AbstractTableModel {
   private static final int BRANCH_OR_COMMIT_COLUMN = 0;
   private static final int COLUMN_COUNT = BRANCH_OR_COMMIT_COLUMN + 1;
   private static final String[] COLUMN_NAMES = {"Branch or Commit value"};
 
-  private final IRepositoryGraph repositoryGraph;
+  private static final int MAX_PREPARED_ROW_CHANGES_COUNT = 8;
+
+  // Written on the UI thread, but read in the background as well (when preparing the row changes).
+  private volatile IRepositoryGraph repositoryGraph;
+
+  // The graph that the most recently prepared row changes lead to, i.e. the one to be displayed next,
+  // unless something else gets displayed in the meantime.
+  private final AtomicReference<IRepositoryGraph> lastPreparedRepositoryGraph;
+
+  // Row changes prepared in the background, in the order in which their graphs are going to be displayed.
+  private final java.util.Queue<GraphTableRowChanges> preparedRowChanges = new ConcurrentLinkedQueue<>();
+
+  public GraphTableModel(IRepositoryGraph repositoryGraph) {
+    this.repositoryGraph = repositoryGraph;
+    this.lastPreparedRepositoryGraph = new AtomicReference<>(repositoryGraph);
+  }
+
+  /**
+   * Derives (on the calling, typically background thread) which rows are going to change once the given graph
+   * gets passed to {@link #setRepositoryGraph}, so that the UI thread only needs to fire the row-level events then.
+   * The graphs are expected to be prepared in the same order as they're going to be set.
+   */
+  public void prepareRepositoryGraph(IRepositoryGraph newRepositoryGraph) {
+    val oldRepositoryGraph = lastPreparedRepositoryGraph.getAndSet(newRepositoryGraph);
+    preparedRowChanges.add(GraphTableRowChanges.between(oldRepositoryGraph, newRepositoryGraph));
+    // Some of the prepared graphs might never get displayed (e.g. if the machete file is gone in the meantime).
+    while (preparedRowChanges.size() > MAX_PREPARED_ROW_CHANGES_COUNT) {
+      preparedRowChanges.poll();
+    }
+  }
+
+  /**
+   * Replaces the graph behind this model, firing row-level events just for the rows that have actually changed
+   * (rather than a single whole-table event), so that the table only repaints these rows
+   * and keeps its selection and scroll position.
+   * This only applies if the graph has been prepared with {@link #prepareRepositoryGraph} against the displayed graph;
+   * otherwise, the whole table is reported as changed, so that no full-graph work happens on the UI thread.
+   */
+  @UIEffect
+  @SuppressWarnings("interning:not.interned") // graphs are deliberately compared by reference
+  public void setRepositoryGraph(IRepositoryGraph newRepositoryGraph) {
+    val oldRepositoryGraph = repositoryGraph;
+    repositoryGraph = newRepositoryGraph;
+
+    val rowChanges = takePreparedRowChanges(newRepositoryGraph);
+    if (rowChanges != null && rowChanges.getOldRepositoryGraph() == oldRepositoryGraph) {
+      rowChanges.fireEvents(this);
+    } else if (newRepositoryGraph != oldRepositoryGraph) {
+      LOG.debug("No row changes prepared against the displayed graph, reporting all rows as changed");
+      fireTableDataChanged();
+    }
+  }
+
+  @SuppressWarnings("interning:not.interned") // graphs are deliberately compared by reference
+  private @Nullable GraphTableRowChanges takePreparedRowChanges(IRepositoryGraph newRepositoryGraph) {
+    if (preparedRowChanges.stream().noneMatch(rowChanges -> rowChanges.getNewRepositoryGraph() == newRepositoryGraph)) {
+      return null;
+    }
+    // The row changes prepared for any graph before the given one are stale, as those graphs are never going to be set.
+    GraphTableRowChanges rowChanges;
+    do {
+      rowChanges = preparedRowChanges.poll();
+    } while (rowChanges != null && rowChanges.getNewRepositoryGraph() != newRepositoryGraph);
+    return rowChanges;
+  }
+
+  /** Repaints all rows, e.g. when something outside the graph that affects the rendering of the rows has changed. */
+  @UIEffect
+  public void fireAllRowsUpdated() {
+    int rowCount = getRowCount();
+    if (rowCount > 0) {
+      fireTableRowsUpdated(0, rowCount - 1);
+    }
+  }
 
   @Override
   public @NonNegative int getRowCount() {
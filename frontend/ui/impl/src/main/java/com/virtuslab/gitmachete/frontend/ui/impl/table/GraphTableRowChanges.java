@@ -0,0 +1,141 @@
+package com.virtuslab.gitmachete.frontend.ui.impl.table;
+
+import io.vavr.collection.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.checkerframework.checker.guieffect.qual.UIEffect;
+
+import com.virtuslab.gitmachete.frontend.graph.api.items.IGraphItem;
+import com.virtuslab.gitmachete.frontend.graph.api.render.parts.IRenderPart;
+import com.virtuslab.gitmachete.frontend.graph.api.repository.IRepositoryGraph;
+
+/**
+ * The rows that have actually changed between two graphs, so that {@link GraphTableModel} can fire row-level events
+ * just for these rows (rather than a single whole-table event). Comparing the rows requires generating
+ * the render parts of all rows of both graphs, hence the changes are derived in the background
+ * (see {@link GraphTableModel#prepareRepositoryGraph}) and the UI thread only fires the events.
+ * <br>
+ * Rows are matched between the old and the new graph by the identities of their items (see {@link IGraphItem#getIdentity}):
+ * the longest common prefix and the longest common suffix of the rows are retained
+ * (and only updated if their appearance has changed), while the rows in between are updated, deleted or inserted.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class GraphTableRowChanges {
+  @Getter
+  private final IRepositoryGraph oldRepositoryGraph;
+  @Getter
+  private final IRepositoryGraph newRepositoryGraph;
+
+  // Retained rows (under their indices in the new graph) whose appearance has changed, in ascending order.
+  private final List<Integer> updatedRetainedRows;
+
+  // The changed range is `[changedRangeStart, changedRangeStart + oldChangedRowCount)` in the old graph
+  // and `[changedRangeStart, changedRangeStart + newChangedRowCount)` in the new graph.
+  private final int changedRangeStart;
+  private final int oldChangedRowCount;
+  private final int newChangedRowCount;
+
+  static GraphTableRowChanges between(IRepositoryGraph oldRepositoryGraph, IRepositoryGraph newRepositoryGraph) {
+    int oldRowCount = oldRepositoryGraph.getNodesCount();
+    int newRowCount = newRepositoryGraph.getNodesCount();
+    int minRowCount = Math.min(oldRowCount, newRowCount);
+
+    int commonPrefixLength = 0;
+    while (commonPrefixLength < minRowCount
+        && getRowIdentity(oldRepositoryGraph, commonPrefixLength)
+            .equals(getRowIdentity(newRepositoryGraph, commonPrefixLength))) {
+      commonPrefixLength++;
+    }
+
+    int commonSuffixLength = 0;
+    while (commonSuffixLength < minRowCount - commonPrefixLength
+        && getRowIdentity(oldRepositoryGraph, oldRowCount - 1 - commonSuffixLength)
+            .equals(getRowIdentity(newRepositoryGraph, newRowCount - 1 - commonSuffixLength))) {
+      commonSuffixLength++;
+    }
+
+    List<Integer> updatedRetainedRows = List.empty();
+    // Retained rows before the changed range keep their indices.
+    for (int row = 0; row < commonPrefixLength; row++) {
+      if (!getRowAppearance(oldRepositoryGraph, row).equals(getRowAppearance(newRepositoryGraph, row))) {
+        updatedRetainedRows = updatedRetainedRows.prepend(row);
+      }
+    }
+    // Retained rows after the changed range might have been shifted, so they're reported under their new indices.
+    for (int i = 0; i < commonSuffixLength; i++) {
+      int oldRow = oldRowCount - commonSuffixLength + i;
+      int newRow = newRowCount - commonSuffixLength + i;
+      if (!getRowAppearance(oldRepositoryGraph, oldRow).equals(getRowAppearance(newRepositoryGraph, newRow))) {
+        updatedRetainedRows = updatedRetainedRows.prepend(newRow);
+      }
+    }
+
+    return new GraphTableRowChanges(oldRepositoryGraph, newRepositoryGraph, updatedRetainedRows.reverse(),
+        commonPrefixLength,
+        /* oldChangedRowCount */ oldRowCount - commonSuffixLength - commonPrefixLength,
+        /* newChangedRowCount */ newRowCount - commonSuffixLength - commonPrefixLength);
+  }
+
+  @UIEffect
+  void fireEvents(GraphTableModel graphTableModel) {
+    for (int row : updatedRetainedRows.takeWhile(row -> row < changedRangeStart)) {
+      graphTableModel.fireTableRowsUpdated(row, row);
+    }
+
+    int updatedRowCount = Math.min(oldChangedRowCount, newChangedRowCount);
+    if (updatedRowCount > 0) {
+      graphTableModel.fireTableRowsUpdated(changedRangeStart, changedRangeStart + updatedRowCount - 1);
+    }
+    if (oldChangedRowCount > updatedRowCount) {
+      graphTableModel.fireTableRowsDeleted(changedRangeStart + updatedRowCount, changedRangeStart + oldChangedRowCount - 1);
+    } else if (newChangedRowCount > updatedRowCount) {
+      graphTableModel.fireTableRowsInserted(changedRangeStart + updatedRowCount, changedRangeStart + newChangedRowCount - 1);
+    }
+
+    for (int row : updatedRetainedRows.dropWhile(row -> row < changedRangeStart)) {
+      graphTableModel.fireTableRowsUpdated(row, row);
+    }
+  }
+
+  @SuppressWarnings("lowerbound:argument")
+  private static Object getRowIdentity(IRepositoryGraph graph, int row) {
+    return graph.getGraphItem(row).getIdentity();
+  }
+
+  /**
+   * @return everything that the rendering of the given row depends on
+   *         (see {@link com.virtuslab.gitmachete.frontend.ui.impl.cell.BranchOrCommitCellRendererComponent}),
+   *         so that two rows with equal appearances are rendered the same way
+   */
+  @SuppressWarnings("lowerbound:argument")
+  private static List<Object> getRowAppearance(IRepositoryGraph graph, int row) {
+    IGraphItem graphItem = graph.getGraphItem(row);
+    List<Object> renderParts = graph.getRenderParts(row).map(GraphTableRowChanges::getRenderPartAppearance);
+    List<Object> itemAppearance = List.of(graphItem.getValue(), graphItem.getAttributes(), graphItem.getColor(),
+        graphItem.getIndentLevel(), graphItem.hasBulletPoint(), graphItem.hasChildItem(), renderParts);
+
+    if (graphItem.isBranchItem()) {
+      val branchItem = graphItem.asBranchItem();
+      val branch = branchItem.getBranch();
+      List<Object> parentAppearance = branch.isNonRoot()
+          ? List.of(branch.asNonRoot().getParent().getName(), branch.asNonRoot().getSyncToParentStatus())
+          : List.empty();
+      return itemAppearance.appendAll(List.of(branchItem.isCurrentBranch(), branchItem.getRelationToRemote(),
+          String.valueOf(branch.getCustomAnnotation()), String.valueOf(branch.getStatusHookOutput()), parentAppearance));
+    } else {
+      val commitItem = graphItem.asCommitItem();
+      val forkPoint = commitItem.getContainingBranch().getForkPoint();
+      List<String> forkPointAppearance = commitItem.getCommit().equals(forkPoint)
+          ? forkPoint.getUniqueBranchesContainingInReflog().map(b -> b.getName()).sorted()
+          : List.empty();
+      return itemAppearance.append(forkPointAppearance).append(commitItem.getOmittedCommitCount());
+    }
+  }
+
+  private static Object getRenderPartAppearance(IRenderPart renderPart) {
+    val type = renderPart.isNode() ? "node" : renderPart.asEdge().getType().name();
+    return List.of(type, renderPart.getPositionInRow(), renderPart.getGraphItemColor());
+  }
+}
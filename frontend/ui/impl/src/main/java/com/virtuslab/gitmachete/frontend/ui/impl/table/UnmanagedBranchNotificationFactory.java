@@ -20,6 +20,7 @@ import com.intellij.openapi.actionSystem.DataContext;
 import com.intellij.openapi.actionSystem.Presentation;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vcs.VcsNotifier;
+import git4idea.repo.GitRepository;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.ExtensionMethod;
@@ -32,11 +33,13 @@ import com.virtuslab.gitmachete.backend.api.ILocalBranchReference;
 import com.virtuslab.gitmachete.frontend.datakeys.DataKeys;
 import com.virtuslab.gitmachete.frontend.defs.ActionPlaces;
 import com.virtuslab.gitmachete.frontend.resourcebundles.GitMacheteBundle;
+import com.virtuslab.gitmachete.frontend.ui.api.gitrepositoryselection.IGitRepositorySelectionProvider;
 
 @ExtensionMethod(GitMacheteBundle.class)
 @RequiredArgsConstructor
 public class UnmanagedBranchNotificationFactory {
   private final Project project;
+  private final GitRepository gitRepository;
   private final @Nullable IGitMacheteRepositorySnapshot gitMacheteRepositorySnapshot;
   private final String branchName;
   private final @Nullable ILocalBranchReference inferredParent;
@@ -78,6 +81,11 @@ public class UnmanagedBranchNotificationFactory {
         .createSimple(
             title,
             () -> {
+              // The slide-in operates on the selected repository, which isn't necessarily the one of the notification.
+              val gitRepositorySelectionProvider = project.getService(IGitRepositorySelectionProvider.class);
+              if (!gitRepository.equals(gitRepositorySelectionProvider.getSelectedGitRepository())) {
+                gitRepositorySelectionProvider.setSelectedGitRepository(gitRepository);
+              }
               val dataContext = new DataContext() {
                 @Override
                 public @Nullable Object getData(String dataId) {
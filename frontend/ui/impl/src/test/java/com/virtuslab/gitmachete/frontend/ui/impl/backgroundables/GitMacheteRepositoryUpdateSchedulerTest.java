@@ -0,0 +1,221 @@
+package com.virtuslab.gitmachete.frontend.ui.impl.backgroundables;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+import com.intellij.openapi.project.Project;
+import git4idea.repo.GitRepository;
+import io.vavr.collection.HashSet;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositorySnapshot;
+import com.virtuslab.gitmachete.frontend.ui.impl.backgroundables.GitMacheteRepositoryUpdateScheduler.UpdateInputs;
+
+public class GitMacheteRepositoryUpdateSchedulerTest {
+
+  private static final long DEBOUNCE_DELAY_MILLIS = 200;
+
+  private final FakeDelayedExecutor delayedExecutor = new FakeDelayedExecutor();
+  private final List<FakeUpdate> createdUpdates = new ArrayList<>();
+  private final List<String> executedCallbacks = new ArrayList<>();
+
+  private GitRepository gitRepository;
+  private GitMacheteRepositoryUpdateScheduler scheduler;
+
+  @BeforeEach
+  public void setUp() {
+    val project = mock(Project.class);
+    gitRepository = mock(GitRepository.class);
+    when(gitRepository.getProject()).thenReturn(project);
+
+    scheduler = new GitMacheteRepositoryUpdateScheduler(
+        /* modelRefresher */ (repository, repositorySnapshot, doOnUIThreadWhenReady) -> doOnUIThreadWhenReady.run(),
+        delayedExecutor,
+        (inputs, doOnUIThreadWhenDone, doOnUIThreadWhenPartialSnapshotReady, doOnUIThreadWhenFinished) -> {
+          val update = new FakeUpdate(inputs, doOnUIThreadWhenDone, doOnUIThreadWhenFinished);
+          createdUpdates.add(update);
+          return update;
+        });
+  }
+
+  @Test
+  public void shouldStartSingleUpdateForBurstOfRequests() {
+    val inputs = createInputs(/* isListingCommits */ false);
+
+    scheduler.scheduleUpdate(inputs, () -> executedCallbacks.add("first"));
+    delayedExecutor.advanceBy(DEBOUNCE_DELAY_MILLIS / 2);
+    scheduler.scheduleUpdate(inputs, () -> executedCallbacks.add("second"));
+    delayedExecutor.advanceBy(DEBOUNCE_DELAY_MILLIS / 2);
+    scheduler.scheduleUpdate(inputs, () -> executedCallbacks.add("third"));
+    delayedExecutor.advanceBy(DEBOUNCE_DELAY_MILLIS - 1);
+
+    // Each request postpones the start of the update.
+    assertTrue(createdUpdates.isEmpty());
+
+    delayedExecutor.advanceBy(1);
+
+    assertEquals(1, createdUpdates.size());
+    val update = createdUpdates.get(0);
+    assertTrue(update.isQueued);
+
+    update.complete();
+
+    assertEquals(List.of("first", "second", "third"), executedCallbacks);
+    assertEquals(2, scheduler.getCoalescedRequestCount());
+  }
+
+  @Test
+  public void shouldNotStartAnotherUpdateWhileOneIsRunning() {
+    val inputs = createInputs(/* isListingCommits */ false);
+
+    scheduler.scheduleUpdate(inputs, () -> executedCallbacks.add("first"));
+    delayedExecutor.advanceBy(DEBOUNCE_DELAY_MILLIS);
+    assertEquals(1, createdUpdates.size());
+    val firstUpdate = createdUpdates.get(0);
+
+    scheduler.scheduleUpdate(inputs, () -> executedCallbacks.add("second"));
+    scheduler.scheduleUpdate(inputs, () -> executedCallbacks.add("third"));
+    delayedExecutor.advanceBy(DEBOUNCE_DELAY_MILLIS);
+
+    assertEquals(1, createdUpdates.size());
+    assertFalse(firstUpdate.isCancelRequested);
+
+    firstUpdate.complete();
+
+    // The requests that came in the meantime are merged into a single follow-up update,
+    // started right away since the debounce delay has already passed.
+    assertEquals(List.of("first"), executedCallbacks);
+    assertEquals(2, createdUpdates.size());
+    val followUpUpdate = createdUpdates.get(1);
+    assertTrue(followUpUpdate.isQueued);
+
+    followUpUpdate.complete();
+
+    assertEquals(List.of("first", "second", "third"), executedCallbacks);
+    assertEquals(2, createdUpdates.size());
+    assertEquals(1, scheduler.getCoalescedRequestCount());
+  }
+
+  @Test
+  public void shouldCancelRunningUpdateOnceInputsChange() {
+    val inputs = createInputs(/* isListingCommits */ false);
+    val changedInputs = createInputs(/* isListingCommits */ true);
+
+    scheduler.scheduleUpdate(inputs, () -> executedCallbacks.add("first"));
+    delayedExecutor.advanceBy(DEBOUNCE_DELAY_MILLIS);
+    assertEquals(1, createdUpdates.size());
+    val cancelledUpdate = createdUpdates.get(0);
+
+    // A request with the same inputs doesn't affect the running update...
+    scheduler.scheduleUpdate(inputs, () -> executedCallbacks.add("second"));
+    assertFalse(cancelledUpdate.isCancelRequested);
+
+    // ... but a request with different inputs cancels it.
+    scheduler.scheduleUpdate(changedInputs, () -> executedCallbacks.add("third"));
+    assertTrue(cancelledUpdate.isCancelRequested);
+
+    cancelledUpdate.finishCancelled();
+
+    // The start of the pending update is still scheduled, so the debounce delay isn't cut short.
+    assertEquals(1, createdUpdates.size());
+    delayedExecutor.advanceBy(DEBOUNCE_DELAY_MILLIS);
+
+    assertEquals(2, createdUpdates.size());
+    val followUpUpdate = createdUpdates.get(1);
+    assertEquals(changedInputs, followUpUpdate.inputs);
+
+    followUpUpdate.complete();
+
+    // The callbacks of the cancelled update are served by the follow-up update.
+    assertEquals(List.of("first", "second", "third"), executedCallbacks);
+    assertEquals(1, scheduler.getCoalescedRequestCount());
+  }
+
+  private UpdateInputs createInputs(boolean isListingCommits) {
+    return new UpdateInputs(gitRepository, isListingCommits, HashSet.empty());
+  }
+
+  private static class FakeDelayedExecutor implements GitMacheteRepositoryUpdateScheduler.IDelayedExecutor {
+
+    @RequiredArgsConstructor
+    private static class ScheduledTask {
+      private final long dueTimeMillis;
+      private final FutureTask<?> futureTask;
+    }
+
+    private final List<ScheduledTask> scheduledTasks = new ArrayList<>();
+    private long currentTimeMillis = 0;
+
+    @Override
+    public Future<?> schedule(Runnable task, long delayMillis) {
+      FutureTask<?> futureTask = new FutureTask<>(task, null);
+      scheduledTasks.add(new ScheduledTask(currentTimeMillis + delayMillis, futureTask));
+      return futureTask;
+    }
+
+    void advanceBy(long millis) {
+      currentTimeMillis += millis;
+      // The tasks run here might schedule further tasks, hence the due tasks are looked up one by one.
+      while (true) {
+        val dueTask = scheduledTasks.stream()
+            .filter(task -> task.dueTimeMillis <= currentTimeMillis)
+            .min(Comparator.comparingLong(task -> task.dueTimeMillis))
+            .orElse(null);
+        if (dueTask == null) {
+          return;
+        }
+        scheduledTasks.remove(dueTask);
+        // A cancelled future task doesn't run at all.
+        dueTask.futureTask.run();
+      }
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static class FakeUpdate implements GitMacheteRepositoryUpdateScheduler.IUpdate {
+    private final UpdateInputs inputs;
+    private final Consumer<@Nullable IGitMacheteRepositorySnapshot> doOnUIThreadWhenDone;
+    private final Runnable doOnUIThreadWhenFinished;
+
+    private boolean isQueued = false;
+    private boolean isCancelRequested = false;
+
+    @Override
+    public void queue() {
+      isQueued = true;
+    }
+
+    @Override
+    public void cancel() {
+      isCancelRequested = true;
+    }
+
+    @Override
+    public boolean isCancelRequested() {
+      return isCancelRequested;
+    }
+
+    void complete() {
+      doOnUIThreadWhenDone.accept(null);
+      doOnUIThreadWhenFinished.run();
+    }
+
+    void finishCancelled() {
+      doOnUIThreadWhenFinished.run();
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.virtuslab.gitmachete.frontend.ui.impl.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+
+import io.vavr.collection.LinkedHashSet;
+import io.vavr.collection.List;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import com.virtuslab.gitmachete.backend.api.IGitMacheteRepositorySnapshot;
+import com.virtuslab.gitmachete.backend.api.NullGitMacheteRepositorySnapshot;
+
+public class CompleteSnapshotDiffTrackerTest {
+
+  private final CompleteSnapshotDiffTracker tracker = new CompleteSnapshotDiffTracker();
+
+  private static IGitMacheteRepositorySnapshot createSnapshot(String mainGitDirectory, boolean isPartial,
+      String... skippedBranchNames) {
+    val snapshot = mock(IGitMacheteRepositorySnapshot.class);
+    when(snapshot.getMainGitDirectoryPath()).thenReturn(Path.of(mainGitDirectory));
+    when(snapshot.isPartial()).thenReturn(isPartial);
+    when(snapshot.getManagedBranches()).thenReturn(List.empty());
+    when(snapshot.getSkippedBranchNames()).thenReturn(LinkedHashSet.of(skippedBranchNames));
+    when(snapshot.getDuplicatedBranchNames()).thenReturn(LinkedHashSet.empty());
+    when(snapshot.diff(any())).thenCallRealMethod();
+    return snapshot;
+  }
+
+  @Test
+  public void shouldNotReportSkippedBranchAgainAfterNullSnapshot() {
+    val firstSnapshot = createSnapshot("repo/.git", /* isPartial */ false, "skipped");
+    val secondSnapshot = createSnapshot("repo/.git", /* isPartial */ false, "skipped");
+
+    val firstDiff = tracker.trackAndDiff(firstSnapshot);
+    assertNotNull(firstDiff);
+    assertEquals(List.of("skipped"), firstDiff.getNewlySkippedBranchNames().toList());
+
+    // E.g. once listing commits has been toggled, the displayed snapshot is re-rendered with the null snapshot passed.
+    assertNull(tracker.trackAndDiff(NullGitMacheteRepositorySnapshot.getInstance()));
+
+    val secondDiff = tracker.trackAndDiff(secondSnapshot);
+    assertNotNull(secondDiff);
+    assertTrue(secondDiff.getNewlySkippedBranchNames().isEmpty());
+  }
+
+  @Test
+  public void shouldIgnorePartialSnapshots() {
+    val firstSnapshot = createSnapshot("repo/.git", /* isPartial */ false);
+    val partialSnapshot = createSnapshot("repo/.git", /* isPartial */ true, "skipped");
+    val secondSnapshot = createSnapshot("repo/.git", /* isPartial */ false, "skipped");
+
+    tracker.trackAndDiff(firstSnapshot);
+    assertNull(tracker.trackAndDiff(partialSnapshot));
+
+    val secondDiff = tracker.trackAndDiff(secondSnapshot);
+    assertNotNull(secondDiff);
+    assertEquals(List.of("skipped"), secondDiff.getNewlySkippedBranchNames().toList());
+  }
+
+  @Test
+  public void shouldReportSkippedBranchAgainForAnotherRepository() {
+    val firstSnapshot = createSnapshot("repo/.git", /* isPartial */ false, "skipped");
+    val otherRepositorySnapshot = createSnapshot("other-repo/.git", /* isPartial */ false, "skipped");
+
+    tracker.trackAndDiff(firstSnapshot);
+
+    val otherRepositoryDiff = tracker.trackAndDiff(otherRepositorySnapshot);
+    assertNotNull(otherRepositoryDiff);
+    assertEquals(List.of("skipped"), otherRepositoryDiff.getNewlySkippedBranchNames().toList());
+  }
+}
@@ -0,0 +1,65 @@
+package com.virtuslab.gitmachete.frontend.ui.impl.table;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.vavr.Tuple2;
+import io.vavr.collection.List;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import com.virtuslab.gitmachete.backend.api.IManagedBranchSnapshot;
+import com.virtuslab.gitmachete.frontend.graph.api.elements.GraphEdge;
+import com.virtuslab.gitmachete.frontend.graph.api.items.IBranchItem;
+import com.virtuslab.gitmachete.frontend.graph.api.items.IGraphItem;
+import com.virtuslab.gitmachete.frontend.graph.api.render.parts.IRenderPart;
+import com.virtuslab.gitmachete.frontend.graph.api.repository.IRepositoryGraph;
+
+@RequiredArgsConstructor
+class DummyRepositoryGraph implements IRepositoryGraph {
+  private final List<IGraphItem> graphItems;
+
+  static DummyRepositoryGraph of(IGraphItem... graphItems) {
+    return new DummyRepositoryGraph(List.of(graphItems));
+  }
+
+  static IGraphItem branchItem(String branchName) {
+    return branchItem(branchName, /* value */ branchName);
+  }
+
+  /** @return an item for the branch of the given name, displayed with the given value (to tell its appearances apart) */
+  static IGraphItem branchItem(String branchName, String value) {
+    val branchItem = mock(IBranchItem.class);
+    when(branchItem.getIdentity()).thenReturn(branchName);
+    when(branchItem.getValue()).thenReturn(value);
+    when(branchItem.isBranchItem()).thenReturn(true);
+    when(branchItem.asBranchItem()).thenReturn(branchItem);
+    when(branchItem.getBranch()).thenReturn(mock(IManagedBranchSnapshot.class));
+    return branchItem;
+  }
+
+  @Override
+  public List<GraphEdge> getAdjacentEdges(int itemIndex) {
+    return List.empty();
+  }
+
+  @Override
+  public IGraphItem getGraphItem(int itemIndex) {
+    return graphItems.get(itemIndex);
+  }
+
+  @Override
+  public int getNodesCount() {
+    return graphItems.size();
+  }
+
+  @Override
+  public List<? extends IRenderPart> getRenderParts(int itemIndex) {
+    return List.empty();
+  }
+
+  @Override
+  public List<Tuple2<GraphEdge, Integer>> getVisibleEdgesWithPositions(int itemIndex) {
+    return List.empty();
+  }
+}
@@ -0,0 +1,134 @@
+package com.virtuslab.gitmachete.frontend.ui.impl.table;
+
+import static com.virtuslab.gitmachete.frontend.ui.impl.table.DummyRepositoryGraph.branchItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.event.TableModelEvent;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import com.virtuslab.gitmachete.frontend.graph.api.repository.IRepositoryGraph;
+
+public class GraphTableModelTest {
+
+  private final List<String> firedEvents = new ArrayList<>();
+
+  private GraphTableModel createModel(IRepositoryGraph repositoryGraph) {
+    val graphTableModel = new GraphTableModel(repositoryGraph);
+    graphTableModel.addTableModelListener(event -> firedEvents.add(describe(event)));
+    return graphTableModel;
+  }
+
+  private static String describe(TableModelEvent event) {
+    if (event.getLastRow() == Integer.MAX_VALUE) {
+      return "all changed";
+    }
+    String type = switch (event.getType()) {
+      case TableModelEvent.INSERT -> "inserted";
+      case TableModelEvent.DELETE -> "deleted";
+      default -> "updated";
+    };
+    return type + " " + event.getFirstRow() + "-" + event.getLastRow();
+  }
+
+  private void prepareAndSet(GraphTableModel graphTableModel, IRepositoryGraph newRepositoryGraph) {
+    graphTableModel.prepareRepositoryGraph(newRepositoryGraph);
+    graphTableModel.setRepositoryGraph(newRepositoryGraph);
+  }
+
+  @Test
+  public void shouldFireInsertionOfRowInTheMiddle() {
+    val graphTableModel = createModel(DummyRepositoryGraph.of(branchItem("a"), branchItem("b"), branchItem("c")));
+
+    prepareAndSet(graphTableModel,
+        DummyRepositoryGraph.of(branchItem("a"), branchItem("x"), branchItem("b"), branchItem("c")));
+
+    assertEquals(List.of("inserted 1-1"), firedEvents);
+    assertEquals(4, graphTableModel.getRowCount());
+  }
+
+  @Test
+  public void shouldFireDeletionOfRowsAtTheEnd() {
+    val graphTableModel = createModel(
+        DummyRepositoryGraph.of(branchItem("a"), branchItem("b"), branchItem("c"), branchItem("d")));
+
+    prepareAndSet(graphTableModel, DummyRepositoryGraph.of(branchItem("a"), branchItem("b")));
+
+    assertEquals(List.of("deleted 2-3"), firedEvents);
+    assertEquals(2, graphTableModel.getRowCount());
+  }
+
+  @Test
+  public void shouldFireUpdateOfChangedRowsOfSameLength() {
+    val graphTableModel = createModel(
+        DummyRepositoryGraph.of(branchItem("a"), branchItem("b"), branchItem("c"), branchItem("d")));
+
+    prepareAndSet(graphTableModel,
+        DummyRepositoryGraph.of(branchItem("a"), branchItem("x"), branchItem("y"), branchItem("d")));
+
+    assertEquals(List.of("updated 1-2"), firedEvents);
+  }
+
+  @Test
+  public void shouldFireUpdateOfRetainedRowWhoseAppearanceHasChanged() {
+    val graphTableModel = createModel(DummyRepositoryGraph.of(branchItem("a"), branchItem("b"), branchItem("c")));
+
+    prepareAndSet(graphTableModel,
+        DummyRepositoryGraph.of(branchItem("a"), branchItem("b", /* value */ "b (changed)"), branchItem("c")));
+
+    assertEquals(List.of("updated 1-1"), firedEvents);
+  }
+
+  @Test
+  public void shouldFireUpdateOfShiftedRetainedRowUnderItsNewIndex() {
+    val graphTableModel = createModel(DummyRepositoryGraph.of(branchItem("a"), branchItem("b"), branchItem("c")));
+
+    prepareAndSet(graphTableModel, DummyRepositoryGraph.of(branchItem("x"), branchItem("a"), branchItem("b"),
+        branchItem("c", /* value */ "c (changed)")));
+
+    assertEquals(List.of("inserted 0-0", "updated 3-3"), firedEvents);
+  }
+
+  @Test
+  public void shouldFireNoEventsForUnchangedRows() {
+    val graphTableModel = createModel(DummyRepositoryGraph.of(branchItem("a"), branchItem("b")));
+
+    prepareAndSet(graphTableModel, DummyRepositoryGraph.of(branchItem("a"), branchItem("b")));
+
+    assertEquals(List.of(), firedEvents);
+  }
+
+  @Test
+  public void shouldReportAllRowsAsChangedForGraphSetWithoutPreparation() {
+    val graphTableModel = createModel(DummyRepositoryGraph.of(branchItem("a"), branchItem("b")));
+
+    graphTableModel.setRepositoryGraph(DummyRepositoryGraph.of(branchItem("a"), branchItem("b"), branchItem("c")));
+
+    assertEquals(List.of("all changed"), firedEvents);
+    assertEquals(3, graphTableModel.getRowCount());
+  }
+
+  @Test
+  public void shouldSkipRowChangesPreparedForGraphsNeverSet() {
+    val graphTableModel = createModel(DummyRepositoryGraph.of(branchItem("a")));
+    val skippedRepositoryGraph = DummyRepositoryGraph.of(branchItem("a"), branchItem("b"));
+    val firstSetRepositoryGraph = DummyRepositoryGraph.of(branchItem("a"), branchItem("b"), branchItem("c"));
+    val secondSetRepositoryGraph = DummyRepositoryGraph.of(branchItem("a"), branchItem("c"));
+    graphTableModel.prepareRepositoryGraph(skippedRepositoryGraph);
+    graphTableModel.prepareRepositoryGraph(firstSetRepositoryGraph);
+    graphTableModel.prepareRepositoryGraph(secondSetRepositoryGraph);
+
+    // The row changes for the first set graph have been prepared against a graph that has never been displayed...
+    graphTableModel.setRepositoryGraph(firstSetRepositoryGraph);
+    assertEquals(List.of("all changed"), firedEvents);
+
+    // ... while the row changes for the second one are prepared against the displayed graph.
+    firedEvents.clear();
+    graphTableModel.setRepositoryGraph(secondSetRepositoryGraph);
+    assertEquals(List.of("deleted 1-1"), firedEvents);
+  }
+}
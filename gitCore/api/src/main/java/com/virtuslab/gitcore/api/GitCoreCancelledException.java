@@ -0,0 +1,7 @@
+package com.virtuslab.gitcore.api;
+
+import lombok.experimental.StandardException;
+
+@StandardException
+@SuppressWarnings("nullness:argument")
+public class GitCoreCancelledException extends GitCoreException {}
@@ -0,0 +1,16 @@
+package com.virtuslab.gitcore.api;
+
+import io.vavr.collection.List;
+import lombok.Data;
+import org.checkerframework.checker.index.qual.NonNegative;
+
+/**
+ * A range of commits of which only the first (newest) ones have been loaded,
+ * see {@link IGitCoreRepository#deriveCommitRange(IGitCoreCommit, IGitCoreCommit, int)}.
+ */
+@Data(staticConstructor = "of")
+public class GitCoreCommitRange {
+  private final List<IGitCoreCommit> loadedCommits;
+  // Including the commits that have NOT been loaded.
+  private final @NonNegative int totalCommitCount;
+}
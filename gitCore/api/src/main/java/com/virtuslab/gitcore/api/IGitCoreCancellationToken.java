@@ -0,0 +1,11 @@
+package com.virtuslab.gitcore.api;
+
+/**
+ * Lets the caller stop the revision walks of an {@link IGitCoreRepository}
+ * (see {@link IGitCoreRepository#withCancellationToken}) once their result is no longer needed.
+ * Polled from the walking thread, hence it must be cheap and thread-safe.
+ */
+@FunctionalInterface
+public interface IGitCoreCancellationToken {
+  boolean isCancellationRequested();
+}
@@ -4,6 +4,7 @@ import java.nio.file.Path;
 
 import io.vavr.collection.List;
 import io.vavr.collection.Stream;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.virtuslab.qual.guieffect.UIThreadUnsafe;
@@ -14,6 +15,13 @@ public interface IGitCoreRepository {
   Path getMainGitDirectoryPath();
   Path getWorktreeGitDirectoryPath();
 
+  /**
+   * @return a view of this repository whose operations throw {@link GitCoreCancelledException}
+   *         once {@code cancellationToken} requests the cancellation; revision walks check the token every few commits,
+   *         so that even an operation traversing a long history stops shortly after the request
+   */
+  IGitCoreRepository withCancellationToken(IGitCoreCancellationToken cancellationToken);
+
   @UIThreadUnsafe
   @Nullable
   String deriveConfigValue(String section, String subsection, String name);
@@ -73,6 +81,15 @@ public interface IGitCoreRepository {
   @UIThreadUnsafe
   List<IGitCoreCommit> deriveCommitRange(IGitCoreCommit fromInclusive, IGitCoreCommit untilExclusive) throws GitCoreException;
 
+  /**
+   * Same as {@link #deriveCommitRange(IGitCoreCommit, IGitCoreCommit)}, but only loads up to {@code maxLoadedCommitCount}
+   * newest commits of the range. The remaining commits are just counted, which is much cheaper than loading them
+   * for ranges of thousands of commits (e.g. when a branch has a wrong parent).
+   */
+  @UIThreadUnsafe
+  GitCoreCommitRange deriveCommitRange(IGitCoreCommit fromInclusive, IGitCoreCommit untilExclusive,
+      @NonNegative int maxLoadedCommitCount) throws GitCoreException;
+
   @UIThreadUnsafe
   GitCoreRepositoryState deriveRepositoryState();
 }
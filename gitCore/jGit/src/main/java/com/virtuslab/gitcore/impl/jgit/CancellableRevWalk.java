@@ -0,0 +1,53 @@
+package com.virtuslab.gitcore.impl.jgit;
+
+import java.io.IOException;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.eclipse.jgit.errors.CancelledException;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import com.virtuslab.gitcore.api.IGitCoreCancellationToken;
+import com.virtuslab.qual.guieffect.UIThreadUnsafe;
+
+/**
+ * A {@link RevWalk} that checks the cancellation token every {@link #CANCELLATION_CHECK_INTERVAL} commits
+ * and throws {@link CancelledException} once the cancellation has been requested.
+ * Since {@link RevWalk#iterator} and {@link org.eclipse.jgit.revwalk.RevWalkUtils} both go through {@link #next},
+ * all the walks are covered, including the ones that are consumed lazily.
+ * <br>
+ * Note that a single call to {@link #next} can still take a while
+ * when {@link org.eclipse.jgit.revwalk.filter.RevFilter#MERGE_BASE} is used,
+ * as JGit traverses the history until the merge base is found before returning it.
+ */
+final class CancellableRevWalk extends RevWalk {
+  // Walking this many commits takes well under a millisecond, so there's no point in checking the token more often.
+  private static final int CANCELLATION_CHECK_INTERVAL = 64;
+
+  private final IGitCoreCancellationToken cancellationToken;
+  private int commitsSinceLastCheck = 0;
+
+  @UIThreadUnsafe
+  CancellableRevWalk(Repository repository, IGitCoreCancellationToken cancellationToken) {
+    super(repository);
+    this.cancellationToken = cancellationToken;
+  }
+
+  @UIThreadUnsafe
+  void throwIfCancellationRequested() throws CancelledException {
+    if (cancellationToken.isCancellationRequested()) {
+      throw new CancelledException("Revision walk has been cancelled");
+    }
+  }
+
+  @Override
+  @UIThreadUnsafe
+  public @Nullable RevCommit next() throws IOException {
+    if (++commitsSinceLastCheck >= CANCELLATION_CHECK_INTERVAL) {
+      commitsSinceLastCheck = 0;
+      throwIfCancellationRequested();
+    }
+    return super.next();
+  }
+}
@@ -9,6 +9,7 @@ import static org.eclipse.jgit.lib.ConfigConstants.CONFIG_KEY_REMOTE;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.function.Supplier;
 
 import io.vavr.CheckedFunction1;
 import io.vavr.Tuple;
@@ -23,8 +24,11 @@ import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.ToString;
 import lombok.val;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.common.aliasing.qual.Unique;
+import org.eclipse.jgit.errors.CancelledException;
+import org.eclipse.jgit.errors.RevWalkException;
 import org.eclipse.jgit.errors.RevisionSyntaxException;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
@@ -38,11 +42,14 @@ import org.eclipse.jgit.revwalk.RevWalkUtils;
 import org.eclipse.jgit.revwalk.filter.RevFilter;
 import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
 
+import com.virtuslab.gitcore.api.GitCoreCancelledException;
 import com.virtuslab.gitcore.api.GitCoreCannotAccessGitDirectoryException;
+import com.virtuslab.gitcore.api.GitCoreCommitRange;
 import com.virtuslab.gitcore.api.GitCoreException;
 import com.virtuslab.gitcore.api.GitCoreNoSuchRevisionException;
 import com.virtuslab.gitcore.api.GitCoreRelativeCommitCount;
 import com.virtuslab.gitcore.api.GitCoreRepositoryState;
+import com.virtuslab.gitcore.api.IGitCoreCancellationToken;
 import com.virtuslab.gitcore.api.IGitCoreCommit;
 import com.virtuslab.gitcore.api.IGitCoreHeadSnapshot;
 import com.virtuslab.gitcore.api.IGitCoreLocalBranchSnapshot;
@@ -67,14 +74,25 @@ public final class GitCoreRepository implements IGitCoreRepository {
   // See https://bugs.eclipse.org/bugs/show_bug.cgi?id=477475
   // As a workaround, let's create two separate JGit Repositories:
 
-  // The one for main .git/ directory, used for most purposes, including as the target location for machete file:
+  // The one for main .git/ directory, used for most purposes, including as the target location for machete file.
+  // It is shared between all worktrees of the given repository (see `jgitRepoForMainGitDirCache`),
+  // so that the object database and ref caches are only loaded once for a main .git/ directory:
   private final Repository jgitRepoForMainGitDir;
   // The one for per-worktree .git/worktrees/<worktree> directory,
   // used for HEAD and checking repository state (rebasing/merging etc.):
   private final Repository jgitRepoForWorktreeGitDir;
 
+  private final IGitCoreCancellationToken cancellationToken;
+
   private static final String ORIGIN = "origin";
 
+  private static final IGitCoreCancellationToken NEVER_CANCELLED = () -> false;
+
+  // Only HEAD and repository state (rebasing/merging etc.) are defined on per-worktree basis;
+  // objects, refs and config are common to all worktrees of a repository and can be served by a single JGit Repository.
+  private static final java.util.Map<Path, Repository> jgitRepoForMainGitDirCache =
+      new java.util.concurrent.ConcurrentHashMap<>();
+
   @UIThreadUnsafe
   public GitCoreRepository(Path rootDirectoryPath, Path mainGitDirectoryPath, Path worktreeGitDirectoryPath)
       throws GitCoreException {
@@ -82,12 +100,8 @@ public final class GitCoreRepository implements IGitCoreRepository {
     this.mainGitDirectoryPath = mainGitDirectoryPath;
     this.worktreeGitDirectoryPath = worktreeGitDirectoryPath;
 
-    val builderForMainGitDir = new FileRepositoryBuilder();
-    builderForMainGitDir.setWorkTree(rootDirectoryPath.toFile());
-    builderForMainGitDir.setGitDir(mainGitDirectoryPath.toFile());
-
     try {
-      this.jgitRepoForMainGitDir = builderForMainGitDir.build();
+      this.jgitRepoForMainGitDir = getOrCreateJGitRepoForMainGitDir(mainGitDirectoryPath);
     } catch (IOException e) {
       throw new GitCoreCannotAccessGitDirectoryException("Cannot create a repository object for " +
           "rootDirectoryPath=${rootDirectoryPath}, mainGitDirectoryPath=${mainGitDirectoryPath}", e);
@@ -104,9 +118,56 @@ public final class GitCoreRepository implements IGitCoreRepository {
           "rootDirectoryPath=${rootDirectoryPath}, worktreeGitDirectoryPath=${worktreeGitDirectoryPath}", e);
     }
 
+    this.cancellationToken = NEVER_CANCELLED;
+
     LOG.debug(() -> "Created ${this})");
   }
 
+  private GitCoreRepository(GitCoreRepository repository, IGitCoreCancellationToken cancellationToken) {
+    this.rootDirectoryPath = repository.rootDirectoryPath;
+    this.mainGitDirectoryPath = repository.mainGitDirectoryPath;
+    this.worktreeGitDirectoryPath = repository.worktreeGitDirectoryPath;
+    this.jgitRepoForMainGitDir = repository.jgitRepoForMainGitDir;
+    this.jgitRepoForWorktreeGitDir = repository.jgitRepoForWorktreeGitDir;
+    this.cancellationToken = cancellationToken;
+  }
+
+  @Override
+  public IGitCoreRepository withCancellationToken(IGitCoreCancellationToken cancellationToken) {
+    // JGit repositories are thread-safe, so the view can share them with the original repository.
+    return new GitCoreRepository(/* repository */ this, cancellationToken);
+  }
+
+  @UIThreadUnsafe
+  private static Repository getOrCreateJGitRepoForMainGitDir(Path mainGitDirectoryPath) throws IOException {
+    val key = mainGitDirectoryPath.toAbsolutePath().normalize();
+    val existingRepo = jgitRepoForMainGitDirCache.get(key);
+    // The directory might have been removed (and possibly re-created) since the repository object has been cached.
+    if (existingRepo != null && existingRepo.getDirectory().isDirectory()) {
+      return existingRepo;
+    }
+
+    // Note that the work tree is deliberately NOT set here, since it differs between the worktrees sharing this object.
+    // Nothing that requires a work tree is ever accessed via the repository for the main .git/ directory.
+    val builderForMainGitDir = new FileRepositoryBuilder();
+    builderForMainGitDir.setGitDir(key.toFile());
+    val newRepo = builderForMainGitDir.build();
+
+    // The stale repository object points to a directory that is gone, so there's no point in keeping its resources open
+    // (note that it's only closed by the thread that has actually managed to remove it from the cache).
+    if (existingRepo != null && jgitRepoForMainGitDirCache.remove(key, existingRepo)) {
+      LOG.debug(() -> "Closing the stale JGit repository for main git directory ${key}");
+      existingRepo.close();
+    }
+    val concurrentlyCreatedRepo = jgitRepoForMainGitDirCache.putIfAbsent(key, newRepo);
+    if (concurrentlyCreatedRepo != null) {
+      newRepo.close();
+      return concurrentlyCreatedRepo;
+    }
+    LOG.debug(() -> "Created a JGit repository for main git directory ${key}, shared between all its worktrees");
+    return newRepo;
+  }
+
   @Override
   @UIThreadUnsafe
   public @Nullable String deriveConfigValue(String section, String subsection, String name) {
@@ -128,18 +189,49 @@ public final class GitCoreRepository implements IGitCoreRepository {
   @UIThreadUnsafe
   @SuppressWarnings("IllegalCatch")
   private <T> T withRevWalk(CheckedFunction1<RevWalk, T> fun) throws GitCoreException {
-    try (RevWalk walk = new RevWalk(jgitRepoForMainGitDir)) {
+    try (CancellableRevWalk walk = new CancellableRevWalk(jgitRepoForMainGitDir, cancellationToken)) {
+      // Let's also check before the walk starts, so that a sequence of many short walks is cancelled promptly as well.
+      walk.throwIfCancellationRequested();
       return fun.apply(walk);
     } catch (Throwable e) {
+      if (cancellationToken.isCancellationRequested()) {
+        throw new GitCoreCancelledException(e);
+      }
       throw new GitCoreException(e);
     }
   }
 
+  /**
+   * {@link RevWalk#iterator} wraps any exception thrown by {@link RevWalk#next} (incl. {@link CancelledException})
+   * into an unchecked {@link RevWalkException}, which would slip through the callers' {@code catch (GitCoreException e)}.
+   * Hence, the cancellation is translated back into {@link GitCoreCancelledException} here
+   * (thrown sneakily, since {@link java.util.Iterator} methods can't throw checked exceptions).
+   */
   @UIThreadUnsafe
+  private Iterator<RevCommit> iterateTranslatingCancellation(RevWalk walk) {
+    java.util.Iterator<RevCommit> iterator = translateCancellation(walk::iterator);
+    return new Iterator<RevCommit>() {
+      @Override
+      public boolean hasNext() {
+        return translateCancellation(iterator::hasNext);
+      }
+
+      @Override
+      public RevCommit next() {
+        return translateCancellation(iterator::next);
+      }
+    };
+  }
+
   @SneakyThrows
-  private <T> T withRevWalkUnchecked(CheckedFunction1<RevWalk, T> fun) {
-    try (RevWalk walk = new RevWalk(jgitRepoForMainGitDir)) {
-      return fun.apply(walk);
+  private <T> T translateCancellation(Supplier<T> supplier) {
+    try {
+      return supplier.get();
+    } catch (RevWalkException e) {
+      if (e.getCause() instanceof CancelledException || cancellationToken.isCancellationRequested()) {
+        throw new GitCoreCancelledException(e);
+      }
+      throw e;
     }
   }
 
@@ -206,9 +298,16 @@ public final class GitCoreRepository implements IGitCoreRepository {
   @UIThreadUnsafe
   private @Nullable GitCoreCommit convertRevisionToGitCoreCommit(String revision) throws GitCoreException {
     val objectId = convertRevisionToObjectId(revision);
-    return objectId != null
-        ? Try.of(() -> withRevWalkUnchecked(walk -> new GitCoreCommit(walk.parseCommit(objectId)))).getOrNull()
-        : null;
+    if (objectId == null) {
+      return null;
+    }
+    try {
+      return withRevWalk(walk -> new GitCoreCommit(walk.parseCommit(objectId)));
+    } catch (GitCoreCancelledException e) {
+      throw e;
+    } catch (GitCoreException e) {
+      return null;
+    }
   }
 
   @UIThreadUnsafe
@@ -517,7 +616,9 @@ public final class GitCoreRepository implements IGitCoreRepository {
 
   // Note that this cache can be static since merge-base for the given two commits
   // will never change thanks to git commit graph immutability.
-  private static final java.util.Map<Tuple2<IGitCoreCommit, IGitCoreCommit>, @Nullable GitCoreCommitHash> mergeBaseCache = new java.util.HashMap<>();
+  // It's synchronized since it's shared between all worktrees (and hence, possibly concurrent snapshot builds).
+  private static final java.util.Map<Tuple2<IGitCoreCommit, IGitCoreCommit>, @Nullable GitCoreCommitHash> mergeBaseCache =
+      java.util.Collections.synchronizedMap(new java.util.HashMap<>());
 
   @UIThreadUnsafe
   private @Nullable GitCoreCommitHash deriveMergeBaseIfNeeded(IGitCoreCommit a, IGitCoreCommit b) throws GitCoreException {
@@ -586,7 +687,15 @@ public final class GitCoreRepository implements IGitCoreRepository {
   @UIThreadUnsafe
   public List<IGitCoreCommit> deriveCommitRange(IGitCoreCommit fromInclusive, IGitCoreCommit untilExclusive)
       throws GitCoreException {
-    LOG.debug(() -> "Entering: fromInclusive = '${fromInclusive}', untilExclusive = '${untilExclusive}'");
+    return deriveCommitRange(fromInclusive, untilExclusive, /* maxLoadedCommitCount */ Integer.MAX_VALUE).getLoadedCommits();
+  }
+
+  @Override
+  @UIThreadUnsafe
+  public GitCoreCommitRange deriveCommitRange(IGitCoreCommit fromInclusive, IGitCoreCommit untilExclusive,
+      @NonNegative int maxLoadedCommitCount) throws GitCoreException {
+    LOG.debug(() -> "Entering: fromInclusive = '${fromInclusive}', untilExclusive = '${untilExclusive}', " +
+        "maxLoadedCommitCount = ${maxLoadedCommitCount}");
 
     return withRevWalk(walk -> {
       // Note that `RevSort.COMMIT_TIME_DESC` is compatible with git-machete CLI,
@@ -599,13 +708,27 @@ public final class GitCoreRepository implements IGitCoreRepository {
       walk.markStart(walk.parseCommit(convertGitCoreCommitToObjectId(fromInclusive)));
       walk.markUninteresting(walk.parseCommit(convertGitCoreCommitToObjectId(untilExclusive)));
 
+      String untilExclusiveHash = untilExclusive.getHash().getHashString();
+      java.util.List<IGitCoreCommit> loadedCommits = new java.util.ArrayList<>();
+      @NonNegative int totalCommitCount = 0;
+
       LOG.debug("Starting revwalk");
-      return Iterator.ofAll(walk.iterator())
-          .takeWhile(revCommit -> !revCommit.getId().getName().equals(untilExclusive.getHash().getHashString()))
-          .toJavaStream()
-          .peek(revCommit -> LOG.debug(() -> "* " + revCommit.getId().getName()))
-          .map(GitCoreCommit::new)
-          .collect(List.collector());
+      for (RevCommit revCommit : walk) {
+        if (revCommit.getId().getName().equals(untilExclusiveHash)) {
+          break;
+        }
+        if (totalCommitCount < maxLoadedCommitCount) {
+          loadedCommits.add(new GitCoreCommit(revCommit));
+        } else {
+          // The commits beyond the limit are only counted, so there's no need to keep their messages in memory.
+          revCommit.disposeBody();
+        }
+        totalCommitCount++;
+      }
+
+      int finalTotalCommitCount = totalCommitCount;
+      LOG.debug(() -> "Loaded ${loadedCommits.size()} out of ${finalTotalCommitCount} commit(s)");
+      return GitCoreCommitRange.of(List.ofAll(loadedCommits), totalCommitCount);
     });
   }
 
@@ -628,7 +751,9 @@ public final class GitCoreRepository implements IGitCoreRepository {
   @Override
   @UIThreadUnsafe
   public Stream<IGitCoreCommit> ancestorsOf(IGitCoreCommit commitInclusive) throws GitCoreException {
-    RevWalk walk = new RevWalk(jgitRepoForMainGitDir);
+    // Since the stream is lazy, the cancellation (if requested) surfaces as a (sneakily thrown) GitCoreCancelledException
+    // from the stream's iterator, whenever the stream is consumed.
+    RevWalk walk = new CancellableRevWalk(jgitRepoForMainGitDir, cancellationToken);
     // Note that `RevSort.COMMIT_TIME_DESC` is both:
     // * compatible with git-machete CLI, which relies on vanilla `git log` under the hood,
     //   which by default shows commits in reverse chronological order (https://git-scm.com/docs/git-log#_commit_ordering),
@@ -643,6 +768,6 @@ public final class GitCoreRepository implements IGitCoreRepository {
       throw new GitCoreException(e);
     }
 
-    return Stream.ofAll(walk).map(GitCoreCommit::new);
+    return Stream.ofAll(iterateTranslatingCancellation(walk)).map(GitCoreCommit::new);
   }
 }
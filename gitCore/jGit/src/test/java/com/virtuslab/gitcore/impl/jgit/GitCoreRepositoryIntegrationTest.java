@@ -3,7 +3,9 @@ package com.virtuslab.gitcore.impl.jgit;
 import static com.virtuslab.gitmachete.testcommon.SetupScripts.SETUP_WITH_SINGLE_REMOTE;
 import static com.virtuslab.gitmachete.testcommon.TestFileUtils.cleanUpDir;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -11,12 +13,17 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import lombok.SneakyThrows;
+import lombok.val;
+import org.eclipse.jgit.api.Git;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.simplify4u.slf4jmock.LoggerMock;
 import org.slf4j.Logger;
 
+import com.virtuslab.gitcore.api.GitCoreCancelledException;
 import com.virtuslab.gitmachete.testcommon.TestGitRepository;
 
 public class GitCoreRepositoryIntegrationTest {
@@ -80,4 +87,46 @@ public class GitCoreRepositoryIntegrationTest {
     // Deliberately done in the test and not in an @AfterEach method, so that the directory is retained in case of test failure.
     cleanUpDir(repo.parentDirectoryPath);
   }
+
+  @Test
+  @SneakyThrows
+  public void shouldStopRevisionWalksOnceCancellationIsRequested() {
+    val head = gitCoreRepository.parseRevision("HEAD");
+    assertNotNull(head);
+    val root = gitCoreRepository.ancestorsOf(head).last();
+
+    val cancellableGitCoreRepository = gitCoreRepository.withCancellationToken(() -> true);
+    assertThrows(GitCoreCancelledException.class,
+        () -> cancellableGitCoreRepository.deriveCommitRange(head, root, /* maxLoadedCommitCount */ 1));
+
+    // The original repository is not affected by the token of the view.
+    assertTrue(gitCoreRepository.deriveCommitRange(head, root, /* maxLoadedCommitCount */ 1).getTotalCommitCount() > 0);
+
+    // Deliberately done in the test and not in an @AfterEach method, so that the directory is retained in case of test failure.
+    cleanUpDir(repo.parentDirectoryPath);
+  }
+
+  @Test
+  @SneakyThrows
+  public void shouldStopLazilyConsumedRevisionWalkOnceCancellationIsRequestedPartway() {
+    // The token is only polled every few dozen commits, so let's make the history long enough to be polled multiple times.
+    try (val git = Git.open(repo.rootDirectoryPath.toFile())) {
+      for (int i = 0; i < 200; i++) {
+        git.commit().setAllowEmpty(true).setMessage("Empty commit " + i).call();
+      }
+    }
+    val head = gitCoreRepository.parseRevision("HEAD");
+    assertNotNull(head);
+
+    // Let the walk start, and only request the cancellation once the token has already been polled.
+    val pollCount = new AtomicInteger();
+    val cancellableGitCoreRepository = gitCoreRepository.withCancellationToken(() -> pollCount.incrementAndGet() > 1);
+    val ancestors = cancellableGitCoreRepository.ancestorsOf(head);
+
+    assertThrows(GitCoreCancelledException.class, ancestors::size);
+    assertTrue(pollCount.get() > 1);
+
+    // Deliberately done in the test and not in an @AfterEach method, so that the directory is retained in case of test failure.
+    cleanUpDir(repo.parentDirectoryPath);
+  }
 }
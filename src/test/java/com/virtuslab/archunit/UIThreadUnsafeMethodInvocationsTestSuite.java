@@ -128,14 +128,19 @@ public class UIThreadUnsafeMethodInvocationsTestSuite extends BaseArchUnitTestSu
       "git4idea.fetch.GitFetchSupport.isFetchRunning()",
       "git4idea.push.GitPushSource.create(git4idea.GitLocalBranch)",
       "git4idea.repo.GitRemote.getName()",
+      "git4idea.repo.GitRepoInfo.getCurrentRevision()",
+      "git4idea.repo.GitRepoInfo.getLocalBranchesWithHashes()",
+      "git4idea.repo.GitRepoInfo.getRemoteBranchesWithHashes()",
       "git4idea.repo.GitRepository.getBranches()",
       "git4idea.repo.GitRepository.getCurrentBranch()",
       "git4idea.repo.GitRepository.getCurrentBranchName()",
+      "git4idea.repo.GitRepository.getInfo()",
       "git4idea.repo.GitRepository.getProject()",
       "git4idea.repo.GitRepository.getRemotes()",
       "git4idea.repo.GitRepository.getRoot()",
       "git4idea.repo.GitRepository.getState()",
       "git4idea.repo.GitRepository.getVcs()",
+      "git4idea.repo.GitRepository.isDisposed()",
       "git4idea.ui.ComboBoxWithAutoCompletion.<init>(javax.swing.ComboBoxModel, com.intellij.openapi.project.Project)",
       "git4idea.ui.ComboBoxWithAutoCompletion.addDocumentListener(com.intellij.openapi.editor.event.DocumentListener)",
       "git4idea.ui.ComboBoxWithAutoCompletion.getModel()",
@@ -212,6 +217,8 @@ public class UIThreadUnsafeMethodInvocationsTestSuite extends BaseArchUnitTestSu
       // These two methods have been experimentally verified to be executed by IntelliJ outside of UI thread.
       "com.intellij.codeInsight.completion.CompletionContributor.fillCompletionVariants(com.intellij.codeInsight.completion.CompletionParameters, com.intellij.codeInsight.completion.CompletionResultSet)",
       "com.intellij.lang.annotation.Annotator.annotate(com.intellij.psi.PsiElement, com.intellij.lang.annotation.AnnotationHolder)",
+      // This method is meant to run outside of UI thread by design (as opposed to `collectInformation` and `apply`).
+      "com.intellij.lang.annotation.ExternalAnnotator.doAnnotate(java.lang.Object)",
       // This method (overridden in Backgroundables) is meant to run outside of UI thread by design.
       "com.intellij.openapi.progress.Progressive.run(com.intellij.openapi.progress.ProgressIndicator)",
   };